@@ -0,0 +1,82 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEntrySearchIndexBenchmark
+ *
+ * ✅ 측정 대상
+ * - JournalEntrySearchIndex.search (적요 단어 AND 검색) 지연시간
+ * - rareTerm: 거래처 1곳(전표의 약 0.05%)
+ * - rareAndCommon: 거래처 1곳 AND 매입(전표의 1/3) → 짧은 목록 기준 교집합
+ * - twoCommon: 매입 AND 2025(둘 다 흔한 단어) → 긴 목록끼리 교집합(최악에 가까운 경우)
+ *
+ * ✅ 메모
+ * - 스프링/DB 없이 색인만 만든다(저장소는 null, 기동 시 적재 대신 생성한 요약을 load로 넣음)
+ * - 적요 예: "vendor17 INV-2025-000123 매입"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JournalEntrySearchIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int entryCount;
+
+    private JournalEntrySearchIndex index;
+    private List<String> rareTerm;
+    private List<String> rareAndCommon;
+    private List<String> twoCommon;
+
+    @Setup
+    public void setUp() {
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        index = new JournalEntrySearchIndex(null);
+        index.load(consumer -> {
+            Random random = new Random(42);
+            for (long id = 1; id <= entryCount; id++) {
+                String description = "vendor" + random.nextInt(2000)
+                        + " INV-2025-" + id
+                        + (id % 3 == 0 ? " 매입" : " 매출");
+                consumer.accept(new JournalEntrySummaryResponse(id, date, description, 0L, 0L));
+            }
+        });
+        rareTerm = JournalEntrySearchIndex.tokenize("vendor17");
+        rareAndCommon = JournalEntrySearchIndex.tokenize("vendor17 매입");
+        twoCommon = JournalEntrySearchIndex.tokenize("매입 2025");
+    }
+
+    @Benchmark
+    public JournalEntrySearchIndex.Hits rareTerm() {
+        return index.search(rareTerm, 50);
+    }
+
+    @Benchmark
+    public JournalEntrySearchIndex.Hits rareAndCommon() {
+        return index.search(rareAndCommon, 50);
+    }
+
+    @Benchmark
+    public JournalEntrySearchIndex.Hits twoCommon() {
+        return index.search(twoCommon, 50);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kjm.ledger_lite.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RealtimeBalanceEngineBenchmark
+ *
+ * ✅ 측정 대상
+ * - RealtimeBalanceEngine.post (라인 1줄 전기) 처리량, 4스레드 동시
+ * - accounts=1: 모든 스레드가 한 계정에 몰림(hot → LongAdder 경로)
+ * - accounts=10000: 계정이 넓게 퍼짐(AtomicLongArray CAS 경로)
+ * - snapshot: 전체 계정 누계 복사(대시보드 조회) 비용
+ *
+ * ✅ 메모
+ * - 스프링/DB 없이 엔진만 만든다(기동 시 적재는 호출하지 않으므로 저장소는 null)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RealtimeBalanceEngineBenchmark {
+
+    @Param({"1", "10000"})
+    private int accounts;
+
+    private RealtimeBalanceEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new RealtimeBalanceEngine(null);
+        for (long id = 1; id <= accounts; id++) {
+            engine.post(id, true, 0);
+        }
+    }
+
+    @Benchmark
+    public void post() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        engine.post(1 + random.nextInt(accounts), random.nextBoolean(), 1000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void snapshot(Blackhole blackhole) {
+        blackhole.consume(engine.snapshot());
+    }
+}
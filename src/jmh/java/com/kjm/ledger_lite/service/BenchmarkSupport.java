@@ -0,0 +1,95 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.LedgerLiteApplication;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkSupport
+ *
+ * ✅ 역할
+ * - 벤치마크들이 같은 방식으로 애플리케이션(서비스 + 임베디드 H2)을 띄우고 요청을 만들도록 모아둔 헬퍼
+ *
+ * ✅ 메모
+ * - 웹 서버 없이(WebApplicationType.NONE) 서비스 계층만 측정한다.
+ * - DB는 벤치마크마다 이름이 다른 메모리 H2를 쓴다(파일 DB ./h2db를 건드리지 않음).
+ */
+final class BenchmarkSupport {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    private BenchmarkSupport() {
+    }
+
+    // extraProperties: 벤치마크마다 덧붙일 설정(예: ledger.posting.mode=group-commit)
+    static ConfigurableApplicationContext start(String dbName, String... extraProperties) {
+        return new SpringApplicationBuilder(LedgerLiteApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + dbName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN"
+                )
+                .properties(extraProperties)
+                .run();
+    }
+
+    // data.sql로 시딩되는 계정과목 id 조회
+    static Long accountId(ConfigurableApplicationContext context, String code) {
+        return context.getBean(AccountRepository.class).findByCode(code)
+                .orElseThrow(() -> new IllegalStateException("Seed account not found. code=" + code))
+                .getId();
+    }
+
+    // 차변/대변이 절반씩인 lineCount줄짜리 라인 목록(lineCount는 짝수)
+    static List<JournalEntryCreateRequest.Line> balancedLines(int lineCount, Long debitAccountId, Long creditAccountId) {
+        List<JournalEntryCreateRequest.Line> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount / 2; i++) {
+            lines.add(new JournalEntryCreateRequest.Line("DEBIT", 1_000L + i, debitAccountId));
+            lines.add(new JournalEntryCreateRequest.Line("CREDIT", 1_000L + i, creditAccountId));
+        }
+        return lines;
+    }
+
+    /**
+     * 전표 entryCount건(전표 1건 = 차변/대변 2줄, 금액 1,000)을 JDBC 배치 insert로 직접 넣는다.
+     * - 날짜는 firstDate부터 days일에 걸쳐 고르게 분포
+     * - 서비스를 거치지 않으므로 요약 테이블/집계 테이블은 채워지지 않는다(필요하면 벤치마크에서 재생성)
+     */
+    static void seedTwoLineEntries(JdbcTemplate jdbcTemplate, int entryCount, LocalDate firstDate, int days,
+                                   Long debitAccountId, Long creditAccountId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> entries = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> lines = new ArrayList<>(INSERT_BATCH * 2);
+
+        for (long id = 1; id <= entryCount; id++) {
+            Date entryDate = Date.valueOf(firstDate.plusDays(id % days));
+            entries.add(new Object[]{id, entryDate, "bench entry " + id, now});
+            lines.add(new Object[]{id * 2 - 1, "DEBIT", 1_000L, debitAccountId, id});
+            lines.add(new Object[]{id * 2, "CREDIT", 1_000L, creditAccountId, id});
+
+            if (entries.size() == INSERT_BATCH || id == entryCount) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO journal_entry (id, entry_date, description, created_at) VALUES (?, ?, ?, ?)",
+                        entries);
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO journal_line (id, dc_type, amount, account_id, journal_entry_id) VALUES (?, ?, ?, ?, ?)",
+                        lines);
+                entries.clear();
+                lines.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEntryCreateBenchmark
+ *
+ * ✅ 측정 대상
+ * - JournalEntryService.create 전체 경로
+ *   (검증 → 계정 조회 → 전표/라인 insert → 잔액 집계 → 커밋), 임베디드 H2 기준
+ *
+ * ✅ 메모
+ * - 측정하는 동안 전표가 계속 쌓이므로 후반 iteration일수록 테이블이 크다.
+ *   (insert 비용은 테이블 크기에 거의 영향을 받지 않아 그대로 둔다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalEntryCreateBenchmark {
+
+    @Param({"2", "10", "50"})
+    private int lineCount;
+
+    private ConfigurableApplicationContext context;
+    private JournalEntryService journalEntryService;
+    private JournalEntryCreateRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("bench-create");
+        journalEntryService = context.getBean(JournalEntryService.class);
+
+        Long productId = BenchmarkSupport.accountId(context, "1111");
+        Long cashId = BenchmarkSupport.accountId(context, "1000");
+        request = new JournalEntryCreateRequest(
+                LocalDate.of(2025, 1, 1),
+                "benchmark entry",
+                BenchmarkSupport.balancedLines(lineCount, productId, cashId)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long create() {
+        return journalEntryService.create(request);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryPageResponse;
+import com.kjm.ledger_lite.store.JournalEntrySummaryRebuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEntryListBenchmark
+ *
+ * ✅ 측정 대상
+ * - JournalEntryService.listSummaries (전표 목록 한 페이지, limit=50)
+ * - 원장 크기(라인 1천 / 10만 / 100만 줄)에 따라 페이지 조회 비용이 변하는지 본다.
+ *
+ * ✅ 데이터 준비
+ * - 전표 1건 = 라인 2줄(차변/대변), 날짜는 2020-01-01부터 3년에 걸쳐 고르게 분포
+ * - 서비스로 넣으면 100만 줄 준비에 너무 오래 걸려서 JDBC 배치 insert(BenchmarkSupport)로 직접 넣고,
+ *   목록이 읽는 요약 테이블은 JournalEntrySummaryRebuilder로 채운다(재생성 시간도 로그로 남음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JournalEntryListBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 3 * 365;
+
+    @Param({"1000", "100000", "1000000"})
+    private int lineCount;
+
+    private ConfigurableApplicationContext context;
+    private JournalEntryService journalEntryService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("bench-list");
+        journalEntryService = context.getBean(JournalEntryService.class);
+
+        int entryCount = lineCount / 2;
+        BenchmarkSupport.seedTwoLineEntries(context.getBean(JdbcTemplate.class), entryCount, FIRST_DATE, DAYS,
+                BenchmarkSupport.accountId(context, "1111"),
+                BenchmarkSupport.accountId(context, "1000"));
+        context.getBean(JournalEntrySummaryRebuilder.class).rebuild();
+
+        // 원장 한가운데를 가리키는 커서(깊은 페이지)
+        middleCursor = new JournalEntryCursor(FIRST_DATE.plusDays(DAYS / 2), (long) entryCount / 2).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JournalEntryPageResponse firstPage() {
+        return journalEntryService.listSummaries(PAGE_SIZE, null, null, null);
+    }
+
+    @Benchmark
+    public JournalEntryPageResponse deepPage() {
+        return journalEntryService.listSummaries(PAGE_SIZE, middleCursor, null, null);
+    }
+
+    @Benchmark
+    public JournalEntryPageResponse oneMonth() {
+        return journalEntryService.listSummaries(PAGE_SIZE, null,
+                LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 30));
+    }
+}
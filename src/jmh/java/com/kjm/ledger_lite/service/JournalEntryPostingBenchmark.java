@@ -0,0 +1,73 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEntryPostingBenchmark
+ *
+ * ✅ 측정 대상
+ * - 동시 요청 16개가 JournalEntryPostingPipeline.post로 전표를 등록할 때
+ *   sync(요청마다 커밋) vs group-commit(배치로 모아 커밋)의 처리량과 지연 분포(p99)
+ *
+ * ✅ 메모
+ * - SampleTime 모드라서 결과에 처리량과 함께 p50/p99/p99.9 지연이 같이 나온다.
+ * - 운영에서는 같은 비교를 ledger.posting.latency{mode} 메트릭으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class JournalEntryPostingBenchmark {
+
+    @Param({JournalEntryPostingPipeline.MODE_SYNC, JournalEntryPostingPipeline.MODE_GROUP_COMMIT})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private JournalEntryPostingPipeline pipeline;
+    private JournalEntryCreateRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("bench-posting-" + mode, "ledger.posting.mode=" + mode);
+        pipeline = context.getBean(JournalEntryPostingPipeline.class);
+
+        Long productId = BenchmarkSupport.accountId(context, "1111");
+        Long cashId = BenchmarkSupport.accountId(context, "1000");
+        request = new JournalEntryCreateRequest(
+                LocalDate.of(2025, 1, 1),
+                "benchmark entry",
+                BenchmarkSupport.balancedLines(2, productId, cashId)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long post() {
+        return pipeline.post(request);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEntryValidationBenchmark
+ *
+ * ✅ 측정 대상
+ * - JournalEntryService.validateBalanced (차변/대변 합계 검증 루프)
+ * - DB/스프링 없이 순수 루프 비용만 본다(2 ~ 500줄).
+ *
+ * ✅ 메모
+ * - validateBalanced가 패키지 private이라 같은 패키지(service)에 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalEntryValidationBenchmark {
+
+    @Param({"2", "10", "50", "100", "500"})
+    private int lineCount;
+
+    private List<JournalEntryCreateRequest.Line> lines;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkSupport.balancedLines(lineCount, 1L, 2L);
+    }
+
+    @Benchmark
+    public void validateBalanced() {
+        // 불균형이면 예외를 던지므로 JIT가 호출을 지울 수 없다
+        JournalEntryService.validateBalanced(lines);
+    }
+}
@@ -0,0 +1,80 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrialBalanceBenchmark
+ *
+ * ✅ 측정 대상
+ * - AccountBalanceService.trialBalance(from, to) (라인 id 구간별 병렬 집계 + fork/join 병합)
+ * - 스레드 수(1 / 2 / 4 / 8)에 따라 처리 시간이 얼마나 줄어드는지(확장성) 본다.
+ *
+ * ✅ 데이터 준비
+ * - JournalEntryListBenchmark와 같은 JDBC 배치 insert (라인 100만 / 1000만 줄)
+ * - 1년 기간 조회: 3년치 중 약 1/3 라인이 기간에 걸린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TrialBalanceBenchmark {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 3 * 365;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"1000000", "10000000"})
+    private int lineCount;
+
+    private ConfigurableApplicationContext context;
+    private AccountBalanceService accountBalanceService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("bench-trial-balance",
+                "ledger.trial-balance.threads=" + threads,
+                "spring.datasource.hikari.maximum-pool-size=" + (threads + 2));
+        accountBalanceService = context.getBean(AccountBalanceService.class);
+
+        BenchmarkSupport.seedTwoLineEntries(context.getBean(JdbcTemplate.class), lineCount / 2, FIRST_DATE, DAYS,
+                BenchmarkSupport.accountId(context, "1111"),
+                BenchmarkSupport.accountId(context, "1000"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TrialBalanceResponse oneYear() {
+        return accountBalanceService.trialBalance(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31));
+    }
+
+    @Benchmark
+    public TrialBalanceResponse allPeriods() {
+        return accountBalanceService.trialBalance(null, null);
+    }
+}
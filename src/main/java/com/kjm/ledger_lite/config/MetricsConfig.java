@@ -0,0 +1,32 @@
+package com.kjm.ledger_lite.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 메트릭(Micrometer) 설정
+ *
+ * ✅ 역할
+ * - @Timed가 붙은 서비스 메서드를 타이머로 측정하도록 TimedAspect 등록
+ * - Hibernate가 실행하는 SQL 문장 수를 세는 StatementInspector(SqlStatementCounter) 등록
+ *
+ * ✅ 확인
+ * - GET /actuator/prometheus (Prometheus 스크랩 엔드포인트)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
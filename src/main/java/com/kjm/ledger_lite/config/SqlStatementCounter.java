@@ -0,0 +1,36 @@
+package com.kjm.ledger_lite.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL 문장 카운터 (Hibernate StatementInspector)
+ *
+ * ✅ 역할
+ * - Hibernate가 JDBC 문장을 준비할 때마다 현재 스레드의 카운트를 1 올린다.
+ * - 요청 전후 count() 차이로 "요청 1건당 SQL 몇 번"을 알 수 있다(SqlStatementMetricsFilter).
+ * - 테스트에서는 reset() → 요청 → count()로 쿼리 수 예산(N+1 방지)을 검증한다.
+ *
+ * ✅ 메모
+ * - SQL 자체는 바꾸지 않고 그대로 돌려준다.
+ * - JDBC 배치 insert는 문장 준비 1번으로 센다(실제로 DB 왕복도 배치 단위).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    // 현재 스레드의 카운트를 0으로
+    public static void reset() {
+        COUNT.remove();
+    }
+
+    // 마지막 reset() 이후 현재 스레드에서 준비된 SQL 문장 수
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,62 @@
+package com.kjm.ledger_lite.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 1건당 SQL 문장 수 기록 필터
+ *
+ * ✅ 흐름
+ * 1. 요청 시작 시 현재 스레드의 SqlStatementCounter 값을 기억
+ * 2. 컨트롤러 → 서비스 → JPA 처리
+ * 3. 끝나면 늘어난 만큼을 ledger.http.sql-statements(method, uri 패턴별)에 기록
+ *    - 카운터를 0으로 되돌리지 않고 차이만 쓰므로, 테스트가 요청 전후로 카운터를 직접 읽을 수 있다.
+ *
+ * ✅ 메모
+ * - uri는 실제 경로(/api/journal-entries/17)가 아니라 매핑 패턴(/api/journal-entries/{id})을 써서
+ *   태그 값이 무한히 늘어나지 않게 한다.
+ * - /actuator 요청은 제외
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public SqlStatementMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long before = SqlStatementCounter.count();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                DistributionSummary.builder("ledger.http.sql-statements")
+                        .description("SQL statements prepared per HTTP request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern.toString())
+                        .register(registry)
+                        .record(SqlStatementCounter.count() - before);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kjm.ledger_lite.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryPageResponse;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.service.JournalEntryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시 JIT 예열(warm-up) - readiness가 UP이 되기 전에 전표 hot path를 미리 돌린다
+ *
+ * ✅ 왜 필요?
+ * - 배포/오토스케일 직후 첫 요청들은 JPA(Hibernate 쿼리 계획, 프록시)와 Jackson(직렬화기 생성) 초기화,
+ *   인터프리터 실행 비용을 그대로 맞는다.
+ * - ApplicationRunner는 ApplicationReadyEvent(= readiness ACCEPTING_TRAFFIC) 전에 끝나므로,
+ *   여기서 예열하면 로드밸런서가 트래픽을 보내기 전에 끝난다.
+ *
+ * ✅ 하는 일 (iterations번 반복)
+ * - create → get → listSummaries를 Service로 호출하고, 요청/응답 DTO를 JSON으로 한 번씩 바꿔 본다.
+ * - 반복마다 롤백 전용 트랜잭션 안에서 돌리므로 전표/잔액 집계가 남지 않는다(커밋 후 이벤트도 발행되지 않음)
+ *
+ * ✅ 메모
+ * - ledger.warmup.enabled=true일 때만 등록된다(기본 끔)
+ * - jpa 엔진 전용: mmap 엔진은 롤백해도 저널 파일에 전표 + ABORT 레코드가 쌓이므로 listSummaries만 예열한다.
+ * - 계정과목이 하나도 없으면 create/get은 건너뛴다. 롤백되어도 시퀀스 id는 소모된다(전표 id에 빈 번호가 생김)
+ * - 예열 호출도 ledger.service 타이머/전표 라인 수 메트릭에는 잡힌다.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.warmup.enabled", havingValue = "true")
+public class StartupWarmupRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmupRunner.class);
+
+    private final JournalEntryService journalEntryService;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rollbackOnly;
+    private final int iterations;
+    private final boolean writable;
+
+    private volatile int completedIterations;
+
+    public StartupWarmupRunner(JournalEntryService journalEntryService,
+                               AccountRepository accountRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${ledger.warmup.iterations:200}") int iterations,
+                               @Value("${ledger.storage.engine:jpa}") String engine) {
+        if (iterations < 1) {
+            throw new IllegalStateException("ledger.warmup.iterations must be positive");
+        }
+        this.journalEntryService = journalEntryService;
+        this.accountRepository = accountRepository;
+        this.objectMapper = objectMapper;
+        this.rollbackOnly = new TransactionTemplate(transactionManager);
+        this.iterations = iterations;
+        this.writable = "jpa".equals(engine);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        List<Account> accounts = accountRepository.findAll(PageRequest.of(0, 1)).getContent();
+        Long accountId = writable && !accounts.isEmpty() ? accounts.get(0).getId() : null;
+
+        for (int i = 0; i < iterations; i++) {
+            rollbackOnly.executeWithoutResult(status -> {
+                exercise(accountId);
+                status.setRollbackOnly();
+            });
+            completedIterations = i + 1;
+        }
+        log.info("Warm-up finished: {} iterations in {} ms (create/get {})", iterations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), accountId != null ? "on" : "skipped");
+    }
+
+    // 끝난 반복 수 (기동 측정 테스트에서 확인)
+    public int completedIterations() {
+        return completedIterations;
+    }
+
+    // 반복 1번: create → get → listSummaries + JSON 왕복 (같은 계정의 차변/대변 1줄씩, 차대 일치)
+    private void exercise(Long accountId) {
+        try {
+            if (accountId != null) {
+                JournalEntryCreateRequest req = new JournalEntryCreateRequest(LocalDate.now(), "warm-up", List.of(
+                        new JournalEntryCreateRequest.Line("DEBIT", 1L, accountId),
+                        new JournalEntryCreateRequest.Line("CREDIT", 1L, accountId)
+                ));
+                objectMapper.readValue(objectMapper.writeValueAsBytes(req), JournalEntryCreateRequest.class);
+                Long id = journalEntryService.create(req);
+                objectMapper.writeValueAsBytes(new JournalEntryCreateResponse(id));
+                objectMapper.writeValueAsBytes(journalEntryService.get(id));
+            }
+            JournalEntryPageResponse page = journalEntryService.listSummaries(20, null, null, null);
+            objectMapper.writeValueAsBytes(page);
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up JSON round trip failed", e);
+        }
+    }
+}
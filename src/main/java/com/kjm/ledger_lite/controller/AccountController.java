@@ -1,13 +1,28 @@
 package com.kjm.ledger_lite.controller;
 
+import com.kjm.ledger_lite.controller.dto.AccountBalanceAsOfResponse;
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
 import com.kjm.ledger_lite.controller.dto.AccountCreateRequest;
+import com.kjm.ledger_lite.controller.dto.LiveBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
 import com.kjm.ledger_lite.domain.Account;
 import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.service.AccountBalanceService;
+import com.kjm.ledger_lite.service.AccountLedgerService;
 import com.kjm.ledger_lite.service.AccountService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,14 +45,20 @@ public class AccountController {
      */
 
     private final AccountService accountService;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountLedgerService accountLedgerService;
     /**
      * 생성자 주입(DI)
      * - 스프링이 AccountController를 만들 때, 필요한 부품(AccountRepository)을 찾아서 넣어준다.
      * - 여기서 accountRepository는 "인터페이스"지만,
      *   Spring Data JPA가 런타임에 실제 구현 객체를 만들어준다.
      */
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService,
+                             AccountBalanceService accountBalanceService,
+                             AccountLedgerService accountLedgerService) {
         this.accountService = accountService;
+        this.accountBalanceService = accountBalanceService;
+        this.accountLedgerService = accountLedgerService;
     }
 
     /**
@@ -72,9 +93,83 @@ public class AccountController {
      * 계정과목 목록 조회
      * - GET /api/accounts
      * - DB에서 전체 조회 후 JSON 배열로 반환
+     * - 응답 헤더 ETag = 목록 버전(계정과목 생성 커밋마다 변경), Cache-Control: no-cache
+     * - If-None-Match가 현재 버전과 같으면 조회/직렬화 없이 304 Not Modified
      */
     @GetMapping
-    public List<Account> list() {
-        return accountService.list();
+    public ResponseEntity<List<Account>> list(WebRequest webRequest) {
+        // 조회보다 버전을 먼저 읽는다(조회 도중 생성이 커밋되면 다음 요청에서 200으로 다시 받게)
+        String etag = "\"" + accountService.listVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(accountService.list());
+    }
+
+    /**
+     * 계정과목 잔액 조회
+     * - GET /api/accounts/{id}/balance
+     * - 미리 집계해 둔 AccountBalance에서 읽는다(라인 전체 스캔 없음)
+     */
+    @GetMapping("/{id}/balance")
+    public AccountBalanceResponse balance(@PathVariable Long id) {
+        return accountBalanceService.getBalance(id);
+    }
+
+    /**
+     * 기준일 잔액 조회
+     * - GET /api/accounts/{id}/balance?asOf=2025-03-17
+     * - GET /api/accounts/{id}/balance?from=2025-03-01&asOf=2025-03-17 (기간 발생액)
+     * - 메모리 Fenwick 인덱스에서 O(log 일수)로 계산(DB 스캔 없음)
+     */
+    @GetMapping(value = "/{id}/balance", params = "asOf")
+    public AccountBalanceAsOfResponse balanceAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from
+    ) {
+        return accountBalanceService.getBalanceAsOf(id, from, asOf);
+    }
+
+    /**
+     * 계정별 원장 조회 (라인별 누적 잔액)
+     * - GET /api/accounts/{id}/ledger?from=2025-01-01&to=2025-12-31
+     * - 라인을 모으지 않고 DB에서 읽는 대로 JSON을 써 내려간다(기간이 길어도 메모리 일정)
+     * - 검증(400/404)은 응답을 쓰기 전에 끝나므로 표준 에러 응답으로 나간다.
+     */
+    @GetMapping(value = "/{id}/ledger", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void ledger(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        accountLedgerService.writeLedger(id, from, to, response.getOutputStream());
+    }
+
+    /**
+     * 시산표 조회
+     * - GET /api/accounts/trial-balance
+     * - 전체 계정과목의 차/대 합계와 잔액, 총계
+     */
+    @GetMapping("/trial-balance")
+    public TrialBalanceResponse trialBalance() {
+        return accountBalanceService.trialBalance();
+    }
+
+    /**
+     * 실시간 누계 조회 (대시보드용)
+     * - GET /api/accounts/live-balances
+     * - 메모리 엔진(RealtimeBalanceEngine)에서 바로 읽는다(DB 조회 없음)
+     */
+    @GetMapping("/live-balances")
+    public LiveBalanceResponse liveBalances() {
+        return accountBalanceService.liveBalances();
     }
 }
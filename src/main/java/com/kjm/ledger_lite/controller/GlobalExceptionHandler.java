@@ -1,16 +1,22 @@
 package com.kjm.ledger_lite.controller;
 
 import com.kjm.ledger_lite.controller.dto.ApiErrorResponse;
+import com.kjm.ledger_lite.exceiption.FeatureNotSupportedException;
+import com.kjm.ledger_lite.exceiption.PostingOverloadedException;
 import com.kjm.ledger_lite.exceiption.ResourceNotFoundException;
+import com.kjm.ledger_lite.service.LedgerMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 
@@ -22,6 +28,13 @@ import java.time.LocalDateTime;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+
+    private final LedgerMetrics ledgerMetrics;
+
+    public GlobalExceptionHandler(LedgerMetrics ledgerMetrics) {
+        this.ledgerMetrics = ledgerMetrics;
+    }
+
     // 1. 일부러 던지는 비지니스 예외(계정과목명 중복, 차대 검증 불가 등)
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalArgument(
@@ -29,6 +42,8 @@ public class GlobalExceptionHandler {
             HttpServletRequest request
     ) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
+        // 차대 불일치/dcType 오류로 거절된 전표는 메트릭으로도 센다
+        ledgerMetrics.recordRejected("api", ex.getMessage());
 
         ApiErrorResponse body = new ApiErrorResponse(
                 LocalDateTime.now(),
@@ -82,6 +97,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    // 3-1. 쿼리 파라미터 타입 변환 실패도 400으로 통일(?from=2025-13-40, ?limit=abc 등)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiErrorResponse> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+
+        ApiErrorResponse body = new ApiErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Invalid parameter: " + ex.getName(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+
     // 4. 존재하지 않는 리소스(404) 처리
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handelNotFound(
@@ -100,6 +133,65 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    // 4-1. 전표 등록 대기열(group-commit)이 가득 찬 경우 503 + Retry-After
+    @ExceptionHandler(PostingOverloadedException.class)
+    public ResponseEntity<ApiErrorResponse> handleOverloaded(
+            PostingOverloadedException ex,
+            HttpServletRequest request
+    ) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        ApiErrorResponse body = new ApiErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    // 4-2. 현재 저장소 엔진이 지원하지 않는 기능(mmap 엔진의 기간 마감 등)은 501
+    @ExceptionHandler(FeatureNotSupportedException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnsupported(
+            FeatureNotSupportedException ex,
+            HttpServletRequest request
+    ) {
+        HttpStatus status = HttpStatus.NOT_IMPLEMENTED;
+
+        ApiErrorResponse body = new ApiErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+
+    // 4-3. 커넥션 풀(Hikari)에서 connection-timeout 안에 커넥션을 못 받은 경우 503 + Retry-After
+    // - 가상 스레드 모드에서는 요청 스레드 수 제한이 없으므로 풀 크기가 DB 동시 작업 상한이다
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiErrorResponse> handleConnectionPoolExhausted(
+            CannotCreateTransactionException ex,
+            HttpServletRequest request
+    ) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        ApiErrorResponse body = new ApiErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Database busy, retry later",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     // 5. 계정과목 중복시 409 처리
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT) // ✅ 409
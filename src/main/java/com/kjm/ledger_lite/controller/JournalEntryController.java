@@ -1,12 +1,24 @@
 package com.kjm.ledger_lite.controller;
 
 import com.kjm.ledger_lite.controller.dto.*;
+import com.kjm.ledger_lite.service.JournalEntryBulkImportService;
+import com.kjm.ledger_lite.service.JournalEntryPostingPipeline;
 import com.kjm.ledger_lite.service.JournalEntryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 /**
  * JournalEntryController
@@ -19,9 +31,15 @@ import java.util.List;
 public class JournalEntryController {
 
     private final JournalEntryService journalEntryService;
+    private final JournalEntryBulkImportService journalEntryBulkImportService;
+    private final JournalEntryPostingPipeline journalEntryPostingPipeline;
 
-    public JournalEntryController(JournalEntryService journalEntryService) {
+    public JournalEntryController(JournalEntryService journalEntryService,
+                                  JournalEntryBulkImportService journalEntryBulkImportService,
+                                  JournalEntryPostingPipeline journalEntryPostingPipeline) {
         this.journalEntryService = journalEntryService;
+        this.journalEntryBulkImportService = journalEntryBulkImportService;
+        this.journalEntryPostingPipeline = journalEntryPostingPipeline;
     }
 
     /**
@@ -29,47 +47,102 @@ public class JournalEntryController {
      * Tomcat 수신 -> DispatcherServlet 라우팅
      * @RequestBody로 JSON을 JournalEntryCreateRequest로 변환
      * @Valid로 검증
-     * Service.create(req) 호출
-     *  - 차대검증
-     *  - 계정과목 존재 검증
-     *  - 전표라인 생성
-     *  - 트랜잭션 저장
+     * PostingPipeline.post(req) 호출 (ledger.posting.mode)
+     *  - sync: Service.create(req) - 차대검증, 계정과목 존재 검증, 전표라인 생성, 트랜잭션 저장
+     *  - group-commit: 검증 후 대기열에 넣고 writer 스레드의 배치 커밋을 기다림 (가득 차면 503)
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public JournalEntryCreateResponse create(@Valid @RequestBody JournalEntryCreateRequest req) {
-        // Service가 생성한 전표 id 그대로를 반환
-        Long id =  journalEntryService.create(req);
+        // 저장된 전표 id 그대로를 반환
+        Long id = journalEntryPostingPipeline.post(req);
         // DTO를 통해 JSON 객체 형태로 변환하여 응답
         return new JournalEntryCreateResponse(id);
     }
 
+    /**
+     * POST /api/journal-entries/bulk (Content-Type: application/x-ndjson)
+     * 한 줄에 전표 요청 JSON 1건씩 보내면, 줄마다 결과를 NDJSON으로 스트리밍 응답
+     * - 요청 바디를 한 줄씩 읽으면서 청크 단위 트랜잭션으로 저장
+     * - 건별 실패(차대 불일치, 없는 계정, JSON 오류)는 해당 줄만 REJECTED
+     */
+    @PostMapping(value = "/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        journalEntryBulkImportService.importNdjson(request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * GET /api/journal-entries/{id}
      * 특정 id의 전표를 상세조회
+     * - 응답 헤더 ETag = 전표 버전, Cache-Control: no-cache(브라우저가 항상 If-None-Match로 재검증)
+     * - If-None-Match가 현재 버전과 같으면 버전 컬럼만 읽고 304(상세 조회/직렬화 없음)
+     * - If-None-Match가 없으면 버전 조회 없이 상세 조회 1번
      */
     @GetMapping("/{id}")
-    public JournalEntryDetailResponse get(@PathVariable Long id) {
-        return journalEntryService.get(id);
+    public ResponseEntity<JournalEntryDetailResponse> get(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(etag(journalEntryService.getVersion(id)))) {
+            return null; // 304 Not Modified (checkNotModified가 상태/헤더를 이미 설정)
+        }
+        return withETag(journalEntryService.get(id));
     }
 
     /**
-     * 전표 목록 조회
-     * GET /api/journal-entries
+     * 전표 목록 조회 (키셋 페이지네이션 + 기간 조건)
+     * GET /api/journal-entries?from=2025-01-01&to=2025-03-31&limit=50&cursor=...
+     * - from/to: 전표 날짜 기간(둘 다 포함, 생략 가능)
+     * - limit: 한 페이지 크기(기본 50, 최대 200)
+     * - cursor: 이전 응답의 nextCursor (첫 페이지는 생략)
      */
     @GetMapping
-    public List<JournalEntrySummaryResponse> list() {
-        return journalEntryService.listSummaries();
+    public JournalEntryPageResponse list(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return journalEntryService.listSummaries(limit, cursor, from, to);
+    }
+
+    /**
+     * 전표 적요 검색
+     * GET /api/journal-entries/search?q=대한상사 INV-2025-001&limit=50
+     * - q: 검색어(공백/기호로 나뉜 단어를 모두 포함하는 전표, 대소문자 무시)
+     * - limit: 최대 건수(기본 50, 최대 200), 최근 등록된 전표부터
+     */
+    @GetMapping("/search")
+    public JournalEntrySearchResponse search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return journalEntryService.search(q, limit);
     }
 
     /**
      * id를 routing
      */
     @PatchMapping("/{id}")
-    public JournalEntryDetailResponse updateDescription(
+    public ResponseEntity<JournalEntryDetailResponse> updateDescription(
             @PathVariable Long id,
             @Valid @RequestBody JournalEntryUpdateRequest req
             ) {
-        return journalEntryService.updateDescription(id, req);
+        return withETag(journalEntryService.updateDescription(id, req));
+    }
+
+    private static ResponseEntity<JournalEntryDetailResponse> withETag(JournalEntryDetailResponse detail) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag(detail.version()))
+                .body(detail);
+    }
+
+    // 강한 ETag(따옴표 포함), URL마다 따로 비교되므로 버전만 담는다
+    private static String etag(long version) {
+        return "\"" + version + "\"";
     }
 }
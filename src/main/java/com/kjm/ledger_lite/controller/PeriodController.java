@@ -0,0 +1,37 @@
+package com.kjm.ledger_lite.controller;
+
+import com.kjm.ledger_lite.controller.dto.PeriodCloseRequest;
+import com.kjm.ledger_lite.controller.dto.PeriodCloseResponse;
+import com.kjm.ledger_lite.service.PeriodCloseService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PeriodController
+ * 회계 기간 마감 API
+ * 마감 처리는 Service에 위임하고 HTTP 응답만을 만듦
+ */
+@RestController
+@RequestMapping("/api/periods")
+public class PeriodController {
+
+    private final PeriodCloseService periodCloseService;
+
+    public PeriodController(PeriodCloseService periodCloseService) {
+        this.periodCloseService = periodCloseService;
+    }
+
+    /**
+     * 기간 마감
+     * POST /api/periods/close {"closedThrough":"2025-12-31"}
+     * - closedThrough 이하 전표를 보관 테이블로 옮기고 계정별 개시 전표 1건을 남긴다.
+     * - 이후 closedThrough 이하 날짜로는 전표 등록 불가(400), 마감한 전표도 id로 조회는 가능
+     */
+    @PostMapping("/close")
+    public PeriodCloseResponse close(@Valid @RequestBody PeriodCloseRequest req) {
+        return periodCloseService.close(req.closedThrough());
+    }
+}
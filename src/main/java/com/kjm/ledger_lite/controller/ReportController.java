@@ -0,0 +1,71 @@
+package com.kjm.ledger_lite.controller;
+
+import com.kjm.ledger_lite.controller.dto.AccountRollupResponse;
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
+import com.kjm.ledger_lite.service.AccountBalanceService;
+import com.kjm.ledger_lite.snapshot.JournalLineSnapshotExporter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * ReportController
+ * 재무제표용 집계 조회 (계정과목/전표 단위가 아닌 보고서 단위 API)
+ * 집계는 Service에 위임하고 HTTP 응답만을 만듦
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final AccountBalanceService accountBalanceService;
+    private final JournalLineSnapshotExporter journalLineSnapshotExporter;
+
+    public ReportController(AccountBalanceService accountBalanceService,
+                            JournalLineSnapshotExporter journalLineSnapshotExporter) {
+        this.accountBalanceService = accountBalanceService;
+        this.journalLineSnapshotExporter = journalLineSnapshotExporter;
+    }
+
+    /**
+     * 계정 코드 계층별 합계
+     * GET /api/reports/rollup?level=1
+     * - level: 계정 코드 앞 몇 자리로 묶을지(기본 1: 1xxx 자산, 4xxx 수익 ...)
+     * - 메모리 prefix tree에서 노드 수만큼만 읽는다(라인 스캔/DB 조회 없음)
+     */
+    @GetMapping("/rollup")
+    public AccountRollupResponse rollup(@RequestParam(defaultValue = "1") int level) {
+        return accountBalanceService.rollup(level);
+    }
+
+    /**
+     * 기간 시산표
+     * GET /api/reports/trial-balance?from=2025-01-01&to=2025-12-31
+     * - from/to: 전표일자 기간(둘 다 포함, 생략 가능)
+     * - 라인을 기간으로 다시 집계한다(전표 id 구간별 병렬 읽기). 기간 없는 현재 잔액은 /api/accounts/trial-balance가 더 가볍다.
+     */
+    @GetMapping("/trial-balance")
+    public TrialBalanceResponse trialBalance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return accountBalanceService.trialBalance(from, to);
+    }
+
+    /**
+     * 분개 라인 열 단위 스냅샷 내보내기 요청 (오프라인 분석용)
+     * POST /api/reports/snapshots
+     * - 백그라운드 스레드에서 ledger.snapshot.dir에 파일을 쓰므로 바로 202를 반환한다.
+     */
+    @PostMapping("/snapshots")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void exportSnapshot() {
+        journalLineSnapshotExporter.requestExport();
+    }
+}
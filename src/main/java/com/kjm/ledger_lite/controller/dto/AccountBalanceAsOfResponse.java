@@ -0,0 +1,19 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 기준일 잔액 응답 DTO
+ * - from이 없으면 처음부터 asOf까지의 누적(= asOf 기준 잔액)
+ * - from이 있으면 from ~ asOf 기간의 차/대 발생액
+ */
+public record AccountBalanceAsOfResponse(
+        Long accountId,
+        String accountCode,
+        String accountName,
+        LocalDate from,
+        LocalDate asOf,
+        long debitTotal,
+        long creditTotal,
+        long balance
+) {}
@@ -0,0 +1,22 @@
+package com.kjm.ledger_lite.controller.dto;
+
+/**
+ * 계정과목 잔액 응답 DTO
+ * balance = 차변 합계 - 대변 합계 (자산/비용 계정은 +, 부채/자본/수익 계정은 -로 나옴)
+ */
+public record AccountBalanceResponse(
+        Long accountId,
+        String accountCode,
+        String accountName,
+        long debitTotal,
+        long creditTotal,
+        long balance,
+        long lineCount
+) {
+    // 집계 쿼리(select new)에서 사용: balance는 차/대 합계로 계산
+    public AccountBalanceResponse(Long accountId, String accountCode, String accountName,
+                                  long debitTotal, long creditTotal, long lineCount) {
+        this(accountId, accountCode, accountName, debitTotal, creditTotal,
+                debitTotal - creditTotal, lineCount);
+    }
+}
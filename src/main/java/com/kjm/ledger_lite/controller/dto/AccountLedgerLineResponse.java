@@ -0,0 +1,17 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 계정별 원장 응답의 라인 1줄
+ * - debit / credit: 이 라인의 차변/대변 금액(둘 중 하나는 0)
+ * - balance: 기초 잔액부터 이 라인까지의 누적 잔액(차변 - 대변)
+ */
+public record AccountLedgerLineResponse(
+        Long entryId,
+        LocalDate entryDate,
+        String description,
+        long debit,
+        long credit,
+        long balance
+) {}
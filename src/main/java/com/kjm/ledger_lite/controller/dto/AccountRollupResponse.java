@@ -0,0 +1,24 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.util.List;
+
+/**
+ * 계정 코드 계층별 합계 응답 DTO (재무제표용 분류 합계)
+ * - level: 계정 코드 앞 몇 자리로 묶었는지 (1 = 1xxx 자산, 4xxx 수익 ...)
+ * - groups: 분류별 차/대 합계와 잔액, 코드 순
+ * - debitTotal / creditTotal: 전체 차변/대변 합계 (복식부기라면 항상 같아야 함)
+ */
+public record AccountRollupResponse(
+        int level,
+        List<Group> groups,
+        long debitTotal,
+        long creditTotal
+) {
+    public record Group(
+            String codePrefix,
+            int accountCount,
+            long debitTotal,
+            long creditTotal,
+            long balance
+    ) {}
+}
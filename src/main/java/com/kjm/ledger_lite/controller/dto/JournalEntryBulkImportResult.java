@@ -0,0 +1,22 @@
+package com.kjm.ledger_lite.controller.dto;
+
+/**
+ * 전표 일괄 등록(NDJSON) 결과 1건
+ * 요청 NDJSON의 한 줄(line)마다 결과 한 줄을 NDJSON으로 내려준다.
+ * - CREATED: 저장 성공, id에 생성된 전표 id
+ * - REJECTED: 저장 실패, message에 사유
+ */
+public record JournalEntryBulkImportResult(
+        long line, // 요청 NDJSON의 몇 번째 줄인지(1부터)
+        String status,
+        Long id,
+        String message
+) {
+    public static JournalEntryBulkImportResult created(long line, Long id) {
+        return new JournalEntryBulkImportResult(line, "CREATED", id, null);
+    }
+
+    public static JournalEntryBulkImportResult rejected(long line, String message) {
+        return new JournalEntryBulkImportResult(line, "REJECTED", null, message);
+    }
+}
@@ -1,9 +1,11 @@
 package com.kjm.ledger_lite.controller.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -23,14 +25,15 @@ import java.util.List;
  * }
  *
  * ✅ 검증
- * - entryDate/description: 비어 있으면 안 됨
+ * - entryDate: 필수, ISO 날짜(yyyy-MM-dd)여야 함
+ * - description: 비어 있으면 안 됨
  * - lines: 최소 1줄 이상 있어야 함
- * - line 내부: dcType/amount/accountId 필수
+ * - line 내부: dcType/amount/accountId 필수 (@Valid로 라인까지 검증)
  */
 public record JournalEntryCreateRequest(
-        @NotBlank String entryDate,
+        @NotNull LocalDate entryDate, // "2025-12-16" 형식, 날짜가 아니면 JSON 파싱 단계에서 400
         @NotBlank String description,
-        @NotEmpty List<Line> lines
+        @NotEmpty List<@Valid Line> lines
 ) {
     /**
      * Line (분개 라인 DTO)
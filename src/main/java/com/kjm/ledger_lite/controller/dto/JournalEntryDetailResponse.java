@@ -1,15 +1,18 @@
 package com.kjm.ledger_lite.controller.dto;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * 전표를 조회할 때 필요한 정보만 깨끗한 JSON으로 반환함
  * 엔티티를 그대로 반환하지 않고 DTO로 출력 항목을 통제
+ * version: 전표 변경 버전(응답 헤더 ETag와 같은 값)
  */
 public record JournalEntryDetailResponse(
         Long id,
-        String entryDate,
+        LocalDate entryDate,
         String description,
+        long version,
         List<Line> lines
 ) {
     /**
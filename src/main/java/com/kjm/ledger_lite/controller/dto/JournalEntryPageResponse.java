@@ -0,0 +1,13 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.util.List;
+
+/**
+ * 전표 목록(요약) 한 페이지 응답 DTO
+ * items: 이번 페이지의 요약 목록
+ * nextCursor: 다음 페이지 요청 시 cursor 파라미터로 그대로 넘기는 값(마지막 페이지면 null)
+ */
+public record JournalEntryPageResponse(
+        List<JournalEntrySummaryResponse> items,
+        String nextCursor
+) {}
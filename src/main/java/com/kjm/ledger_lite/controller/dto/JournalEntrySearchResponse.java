@@ -0,0 +1,14 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.util.List;
+
+/**
+ * 전표 적요 검색 응답 DTO
+ * - totalHits: 검색어를 모두 포함하는 전표 수
+ * - items: 그중 최근 등록된(id 큰) 순서로 limit건의 요약
+ */
+public record JournalEntrySearchResponse(
+        String q,
+        long totalHits,
+        List<JournalEntrySummaryResponse> items
+) {}
@@ -0,0 +1,23 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.util.List;
+
+/**
+ * 실시간 누계 응답 DTO (대시보드용, 메모리 엔진에서 바로 읽음)
+ * - accounts: 계정과목 id별 차/대 누계와 잔액
+ * - postedEntries: 서버 기동 후 반영된 전표 수
+ * - 계정명/코드는 담지 않는다(DB를 읽지 않기 위해). 필요하면 /api/accounts 목록과 id로 맞춘다.
+ */
+public record LiveBalanceResponse(
+        List<Account> accounts,
+        long debitTotal,
+        long creditTotal,
+        long postedEntries
+) {
+    public record Account(
+            long accountId,
+            long debitTotal,
+            long creditTotal,
+            long balance
+    ) {}
+}
@@ -0,0 +1,14 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * 기간 마감 요청 DTO
+ * - closedThrough: 이 날짜까지(포함) 마감, 오늘보다 이전이어야 함
+ */
+public record PeriodCloseRequest(
+        @NotNull(message = "closedThrough는 필수입니다.")
+        LocalDate closedThrough
+) {}
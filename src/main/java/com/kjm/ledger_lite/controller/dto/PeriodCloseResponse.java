@@ -0,0 +1,15 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 기간 마감 응답 DTO
+ * - archivedEntries / archivedLines: 보관 테이블로 옮긴 전표/라인 수
+ * - openingEntryId: 마감한 기간의 계정별 차/대 합계를 담은 개시 전표 (옮긴 라인이 없으면 null)
+ */
+public record PeriodCloseResponse(
+        LocalDate closedThrough,
+        long archivedEntries,
+        long archivedLines,
+        Long openingEntryId
+) {}
@@ -0,0 +1,14 @@
+package com.kjm.ledger_lite.controller.dto;
+
+import java.util.List;
+
+/**
+ * 시산표 응답 DTO
+ * - accounts: 계정과목별 잔액
+ * - debitTotal / creditTotal: 전체 차변/대변 합계 (복식부기라면 항상 같아야 함)
+ */
+public record TrialBalanceResponse(
+        List<AccountBalanceResponse> accounts,
+        long debitTotal,
+        long creditTotal
+) {}
@@ -1,6 +1,8 @@
 package com.kjm.ledger_lite.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Account (계정과목) 엔티티
@@ -12,8 +14,13 @@ import jakarta.persistence.*;
  * ✅ 왜 엔티티가 필요?
  * - 우리가 DB에 저장/조회할 데이터 구조를 "자바 코드"로 정의해두면
  *   JPA(Hibernate)가 이 정의를 보고 테이블 생성/쿼리 실행을 도와준다.
+ *
+ * ✅ 2차 캐시(@Cache)
+ * - 계정과목은 만들고 나면 바뀌지 않으므로(setter 없음) READ_ONLY로 Hibernate 2차 캐시(ehcache.xml의 account 영역)에 둔다.
+ * - 세션이 달라도 id로 읽으면 DB 대신 캐시에서 꺼낸다. 새 계정은 insert 커밋 시 캐시에 들어간다.
  */
 @Entity // 이 클래스는 JPA가 관리하는 "테이블 매핑 대상"임을 선언
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "account")
 public class Account {
 
     /**
@@ -69,4 +76,14 @@ public class Account {
     public Long getId() { return id; }
     public String getCode() { return code; }
     public String getName() { return name; }
+
+    /**
+     * ✅ 계정 코드 앞자리 = 상위 분류 (별도 parent 컬럼 없이 코드에서 계층을 얻는다)
+     * - 예: 1111(상품) → level 1: "1"(자산), level 2: "11", level 4: "1111"(자기 자신)
+     * - level이 코드 길이보다 길면 코드 전체를 반환한다.
+     * - getter가 아니므로 JSON 응답에는 나가지 않는다.
+     */
+    public String codePrefix(int level) {
+        return code.substring(0, Math.min(level, code.length()));
+    }
 }
@@ -0,0 +1,114 @@
+package com.kjm.ledger_lite.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * AccountBalance (계정별 잔액 집계) 엔티티 - 조회 전용 모델(read model)
+ *
+ * ✅ 역할
+ * - 계정과목별 차변 합계/대변 합계/라인 수를 미리 더해두는 테이블
+ * - 잔액 조회 시 JournalLine 전체를 훑지 않고 이 테이블만 읽는다. (계정 수에 비례)
+ *
+ * ✅ 왜 계정 하나에 여러 행(stripe)?
+ * - 현금처럼 거의 모든 전표가 건드리는 계정을 한 행으로 두면,
+ *   동시에 들어온 전표들이 그 한 행의 락을 기다리며 줄을 서게 된다.
+ * - 계정마다 STRIPES개의 행을 두고 전표마다 아무 행에나 더하면 락이 분산된다.
+ * - 조회할 때는 그 계정의 행들을 모두 더한다(sum).
+ *
+ * ✅ 갱신 시점
+ * - 전표 저장과 같은 트랜잭션 안에서 JournalEntryService가 갱신한다. (롤백되면 같이 롤백)
+ */
+@Entity
+@IdClass(AccountBalance.Key.class)
+public class AccountBalance implements Persistable<AccountBalance.Key> {
+
+    /** 계정 하나당 행 개수 */
+    public static final int STRIPES = 8;
+
+    /** 계정과목 id (Account와 조인 없이 숫자로만 보관) */
+    @Id
+    private Long accountId;
+
+    /** 0 ~ STRIPES-1 */
+    @Id
+    private int stripe;
+
+    @Column(nullable = false)
+    private long debitTotal;
+
+    @Column(nullable = false)
+    private long creditTotal;
+
+    @Column(nullable = false)
+    private long lineCount;
+
+    /**
+     * 새로 만든 행인지 여부
+     * - id(accountId, stripe)를 직접 정하는 엔티티라 Spring Data가 새 행인지 구분하지 못하고
+     *   save() 때마다 merge(select 후 insert)를 한다. 직접 알려줘서 select 없이 persist 하도록 한다.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /** JPA 기본 생성자(필수) */
+    protected AccountBalance() {}
+
+    public AccountBalance(Long accountId, int stripe, long debitTotal, long creditTotal, long lineCount) {
+        this.accountId = accountId;
+        this.stripe = stripe;
+        this.debitTotal = debitTotal;
+        this.creditTotal = creditTotal;
+        this.lineCount = lineCount;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Key getId() { return new Key(accountId, stripe); }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // ===== Getter =====
+    public Long getAccountId() { return accountId; }
+    public int getStripe() { return stripe; }
+    public long getDebitTotal() { return debitTotal; }
+    public long getCreditTotal() { return creditTotal; }
+    public long getLineCount() { return lineCount; }
+
+    /**
+     * 복합키 클래스 (accountId + stripe)
+     * - @IdClass 규칙: 필드 이름/타입이 엔티티의 @Id 필드와 같아야 하고 equals/hashCode 필수
+     */
+    public static class Key implements Serializable {
+        private Long accountId;
+        private int stripe;
+
+        protected Key() {}
+
+        public Key(Long accountId, int stripe) {
+            this.accountId = accountId;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return stripe == key.stripe && Objects.equals(accountId, key.accountId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, stripe);
+        }
+    }
+}
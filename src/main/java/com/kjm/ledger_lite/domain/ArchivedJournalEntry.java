@@ -0,0 +1,52 @@
+package com.kjm.ledger_lite.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ArchivedJournalEntry (마감된 기간의 전표 헤더) 엔티티 - 보관(cold) 테이블
+ *
+ * ✅ 역할
+ * - 기간 마감(PeriodCloseService) 때 JournalEntry에서 옮겨 온 전표 헤더
+ * - JournalEntry와 같은 id/날짜/적요/생성일시/버전을 그대로 보관한다. (단건 조회가 hot → 보관 순으로 찾음)
+ *
+ * ✅ 왜 따로?
+ * - 조회/등록 트래픽은 대부분 진행 중인 기간에 몰린다.
+ *   지난 기간 행을 hot 테이블(JOURNAL_ENTRY/JOURNAL_LINE)에서 빼서 인덱스와 버퍼 캐시를 작게 유지한다.
+ *
+ * ✅ 메모
+ * - insert ... select(JPQL)로만 채우고 수정하지 않는다(마감된 기간은 변경 불가)
+ * - 라인은 ArchivedJournalLine에 전표 id(숫자)로만 연결한다(연관관계 없음)
+ */
+@Entity
+@Table(name = "journal_entry_archive")
+public class ArchivedJournalEntry {
+
+    /** 원래 JournalEntry의 id (시퀀스를 쓰지 않음) */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate entryDate;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** 옮기기 직전의 변경 버전(ETag 유지) */
+    private Long version;
+
+    /** JPA 기본 생성자(필수) */
+    protected ArchivedJournalEntry() {}
+
+    // ===== Getter =====
+    public Long getId() { return id; }
+    public LocalDate getEntryDate() { return entryDate; }
+    public String getDescription() { return description; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
+}
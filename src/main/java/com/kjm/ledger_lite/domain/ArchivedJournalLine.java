@@ -0,0 +1,46 @@
+package com.kjm.ledger_lite.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * ArchivedJournalLine (마감된 기간의 분개 라인) 엔티티 - 보관(cold) 테이블
+ *
+ * ✅ 역할
+ * - 기간 마감 때 JournalLine에서 옮겨 온 라인
+ * - 전표/계정과목은 FK 연관관계 없이 id 숫자로만 보관한다. (조회는 JPQL join ... on)
+ *
+ * ✅ DB 관점
+ * - 인덱스: journal_entry_id - 보관 전표 단건 조회용
+ */
+@Entity
+@Table(name = "journal_line_archive", indexes = {
+        @Index(name = "idx_journal_line_archive_entry_id", columnList = "journal_entry_id")
+})
+public class ArchivedJournalLine {
+
+    /** 원래 JournalLine의 id */
+    @Id
+    private Long id;
+
+    @Column(name = "journal_entry_id", nullable = false)
+    private Long journalEntryId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private String dcType;
+
+    @Column(nullable = false)
+    private Long amount;
+
+    /** JPA 기본 생성자(필수) */
+    protected ArchivedJournalLine() {}
+
+    // ===== Getter =====
+    public Long getId() { return id; }
+    public Long getJournalEntryId() { return journalEntryId; }
+    public Long getAccountId() { return accountId; }
+    public String getDcType() { return dcType; }
+    public Long getAmount() { return amount; }
+}
@@ -2,6 +2,7 @@ package com.kjm.ledger_lite.domain;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,27 +17,37 @@ import java.util.List;
  * ✅ DB 관점
  * - JOURNAL_ENTRY 테이블로 매핑됨
  * - PK: id
- * - 컬럼: entryDate, description, createdAt ...
+ * - 컬럼: entryDate, description, createdAt, version ...
+ * - 인덱스: (entry_date, id) - 목록 정렬/기간 조회용
  *
  * ✅ 왜 헤더/라인으로 쪼개나?
  * - 회계 전표는 "전표 기본정보(헤더)" + "분개 라인(상세)" 구조가 표준이다.
  * - 실무에서도 이 구조로 조회/수정/승인/집계가 돌아간다.
  */
 @Entity
+@Table(indexes = {
+        // 목록 조회 정렬(entryDate desc, id desc) + 기간 조회(from ~ to)를 인덱스로 처리
+        @Index(name = "idx_journal_entry_date_id", columnList = "entry_date desc, id desc")
+})
 public class JournalEntry {
 
-    /** 전표 PK */
+    /**
+     * 전표 PK
+     * - IDENTITY는 insert를 해야 id를 알 수 있어서 Hibernate가 JDBC 배치 insert를 끈다.
+     * - 시퀀스(pooled, 50개씩 미리 할당)로 id를 먼저 받아두고 insert는 배치로 묶는다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_seq")
+    @SequenceGenerator(name = "journal_entry_seq", sequenceName = "journal_entry_seq", allocationSize = 50)
     private Long id;
 
     /**
-     * 전표 날짜(문자열 버전)
-     * - 예: "2025-12-16"
-     * - 지금은 입문 단계라 LocalDate 대신 String으로 먼저 간다(파싱 난이도↓)
+     * 전표 날짜
+     * - 예: 2025-12-16
+     * - DB에는 DATE 타입으로 저장(기간 조회를 인덱스 범위 스캔으로 처리)
      */
     @Column(nullable = false)
-    private String entryDate;
+    private LocalDate entryDate;
 
     /** 전표 설명(적요) */
     @Column(nullable = false)
@@ -46,6 +57,14 @@ public class JournalEntry {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * 변경 버전(@Version)
+     * - 전표가 바뀔 때마다 1씩 증가 (적요 수정 JPQL update에서도 직접 올린다)
+     * - 단건 조회 응답의 ETag로 쓰여서, 바뀌지 않은 전표는 304 Not Modified로 응답한다.
+     */
+    @Version
+    private Long version;
+
     /**
      * ✅ 전표 1개가 분개 라인 여러 개를 가진다. (1:N)
      *
@@ -67,7 +86,7 @@ public class JournalEntry {
     protected JournalEntry() {}
 
     /** 신규 전표 생성 시 사용하는 생성자 */
-    public JournalEntry(String entryDate, String description) {
+    public JournalEntry(LocalDate entryDate, String description) {
         this.entryDate = entryDate;
         this.description = description;
         this.createdAt = LocalDateTime.now();
@@ -95,8 +114,9 @@ public class JournalEntry {
 
     // ===== Getter =====
     public Long getId() { return id; }
-    public String getEntryDate() { return entryDate; }
+    public LocalDate getEntryDate() { return entryDate; }
     public String getDescription() { return description; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
     public List<JournalLine> getLines() { return lines; }
 }
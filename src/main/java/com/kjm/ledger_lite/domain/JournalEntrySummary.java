@@ -0,0 +1,83 @@
+package com.kjm.ledger_lite.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * JournalEntrySummary (전표 요약) 엔티티 - 목록 조회 전용 모델(read model)
+ *
+ * ✅ 역할
+ * - 전표 1건당 1행: 날짜, 적요, 차변 합계, 대변 합계, 라인 수를 미리 계산해 둔다.
+ * - 전표 목록 API는 이 테이블만 읽는다. (JournalLine join/집계 없음 → 비용이 라인 수가 아니라 전표 수에 비례)
+ *
+ * ✅ 갱신 시점
+ * - 전표 저장 / 적요 수정과 같은 트랜잭션 안에서 JpaJournalEntryStore가 갱신한다. (롤백되면 같이 롤백)
+ * - 어긋났을 때는 JournalEntrySummaryRebuilder가 JournalLine 기준으로 다시 만든다.
+ */
+@Entity
+@Table(indexes = {
+        // 목록 조회 정렬(entryDate desc, id desc) + 기간 조회(from ~ to)를 인덱스로 처리
+        @Index(name = "idx_journal_entry_summary_date_id", columnList = "entry_date desc, id desc")
+})
+public class JournalEntrySummary implements Persistable<Long> {
+
+    /** 전표 id와 같은 값(시퀀스를 따로 쓰지 않음) */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate entryDate;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private long debitTotal;
+
+    @Column(nullable = false)
+    private long creditTotal;
+
+    @Column(nullable = false)
+    private long lineCount;
+
+    /**
+     * 새로 만든 행인지 여부
+     * - id를 직접 정하는 엔티티라 Spring Data가 새 행인지 구분하지 못하고
+     *   save() 때마다 merge(select 후 insert)를 한다. 직접 알려줘서 select 없이 persist 하도록 한다.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /** JPA 기본 생성자(필수) */
+    protected JournalEntrySummary() {}
+
+    public JournalEntrySummary(Long id, LocalDate entryDate, String description,
+                               long debitTotal, long creditTotal, long lineCount) {
+        this.id = id;
+        this.entryDate = entryDate;
+        this.description = description;
+        this.debitTotal = debitTotal;
+        this.creditTotal = creditTotal;
+        this.lineCount = lineCount;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // ===== Getter =====
+    @Override
+    public Long getId() { return id; }
+    public LocalDate getEntryDate() { return entryDate; }
+    public String getDescription() { return description; }
+    public long getDebitTotal() { return debitTotal; }
+    public long getCreditTotal() { return creditTotal; }
+    public long getLineCount() { return lineCount; }
+}
@@ -16,11 +16,19 @@ import jakarta.persistence.*;
  *   2) journal_entry_id -> JournalEntry(전표) 참조
  */
 @Entity
+@Table(indexes = {
+        // 계정별 라인 조회/집계(잔액, 원장)용
+        @Index(name = "idx_journal_line_account_id", columnList = "account_id")
+})
 public class JournalLine {
 
-    /** 분개 라인 PK */
+    /**
+     * 분개 라인 PK
+     * - 전표와 같은 이유로 시퀀스(pooled)를 사용한다. (JDBC 배치 insert 가능)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_line_seq")
+    @SequenceGenerator(name = "journal_line_seq", sequenceName = "journal_line_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -42,15 +50,17 @@ public class JournalLine {
     /**
      * ✅ 분개 라인은 "어떤 계정과목인지"를 반드시 알아야 한다. (N:1)
      * optional=false: 반드시 연결되어야 함(NULL 금지)
+     * LAZY: 라인을 읽을 때 계정과목까지 자동으로 select하지 않음(상세 조회는 DTO 프로젝션으로 한 번에 읽는다)
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Account account;
 
     /**
      * ✅ 분개 라인은 "어떤 전표에 속했는지" 반드시 알아야 한다. (N:1)
      * 이 필드가 FK를 가진 "연관관계의 주인"이다.
+     * LAZY: 라인만 필요할 때 전표를 다시 select하지 않음
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private JournalEntry journalEntry;
 
     /** JPA 기본 생성자(필수) */
@@ -0,0 +1,59 @@
+package com.kjm.ledger_lite.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * PeriodClose (기간 마감 이력) 엔티티
+ *
+ * ✅ 역할
+ * - 마감 1번 = 1행: 어디까지 마감했는지(closedThrough), 보관으로 옮긴 전표/라인 수, 개시 전표 id
+ * - 가장 늦은 closedThrough 이하 날짜로는 전표를 등록할 수 없다. (기동 시 PeriodCloseService가 읽음)
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_period_close_closed_through", columnList = "closed_through", unique = true)
+})
+public class PeriodClose {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 이 날짜까지(포함) 마감 */
+    @Column(nullable = false)
+    private LocalDate closedThrough;
+
+    /** 마감한 기간의 계정별 차/대 합계를 담은 개시 전표 (옮긴 라인이 없으면 null) */
+    private Long openingEntryId;
+
+    @Column(nullable = false)
+    private long archivedEntries;
+
+    @Column(nullable = false)
+    private long archivedLines;
+
+    @Column(nullable = false)
+    private LocalDateTime closedAt;
+
+    /** JPA 기본 생성자(필수) */
+    protected PeriodClose() {}
+
+    public PeriodClose(LocalDate closedThrough, Long openingEntryId, long archivedEntries, long archivedLines) {
+        this.closedThrough = closedThrough;
+        this.openingEntryId = openingEntryId;
+        this.archivedEntries = archivedEntries;
+        this.archivedLines = archivedLines;
+        this.closedAt = LocalDateTime.now();
+    }
+
+    // ===== Getter =====
+    public Long getId() { return id; }
+    public LocalDate getClosedThrough() { return closedThrough; }
+    public Long getOpeningEntryId() { return openingEntryId; }
+    public long getArchivedEntries() { return archivedEntries; }
+    public long getArchivedLines() { return archivedLines; }
+    public LocalDateTime getClosedAt() { return closedAt; }
+}
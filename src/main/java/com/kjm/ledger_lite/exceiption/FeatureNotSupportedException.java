@@ -0,0 +1,11 @@
+package com.kjm.ledger_lite.exceiption;
+
+/**
+ * 현재 설정(저장소 엔진 등)에서 지원하지 않는 기능을 요청했을 때 사용할 예외
+ * 요청 형식은 맞지만 이 서버 구성으로는 처리할 수 없는 상황 → 501
+ */
+public class FeatureNotSupportedException extends RuntimeException {
+    public FeatureNotSupportedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kjm.ledger_lite.exceiption;
+
+/**
+ * 전표 등록 대기열이 가득 찼을 때 사용할 예외
+ * 요청 자체는 정상이지만 지금은 받을 수 없는 상황 → 503 + Retry-After (잠시 후 재시도)
+ */
+public class PostingOverloadedException extends RuntimeException {
+    public PostingOverloadedException(String message) {
+        super(message);
+    }
+}
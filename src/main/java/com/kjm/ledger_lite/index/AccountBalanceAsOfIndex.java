@@ -0,0 +1,135 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.repository.AccountDayTotals;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.service.PeriodClosedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 계정과목별 "기준일 잔액" 메모리 인덱스
+ *
+ * ✅ 역할
+ * - "1000 계정의 2025-03-17 기준 잔액" 같은 질의를 DB 스캔 없이 O(log 일수)로 답한다.
+ * - 계정마다 차변/대변 Fenwick Tree(일자 버킷)를 하나씩 가진다.
+ *
+ * ✅ 갱신
+ * - 기동 시: 저장소의 라인을 계정+일자별로 집계한 결과로 채운다(SmartInitializingSingleton)
+ *   웹 서버가 요청을 받기 전에 끝나므로 적재 도중 커밋된 전표가 이벤트와 저장소 집계로 두 번 더해지지 않는다.
+ * - 전표 저장 시: 트랜잭션 커밋 후(AFTER_COMMIT) 이벤트를 받아 해당 일자 버킷에 더한다.
+ *   (롤백된 전표는 반영되지 않음)
+ * - 기간 마감 시: 커밋 후 마감일 이하 버킷을 계정마다 마감일 버킷 하나로 합친다.
+ *   마감일 날짜의 개시 전표 1건만 남은 저장소로 재기동했을 때와 같은 값이 된다.
+ *
+ * ✅ 동시성
+ * - 계정별로 읽기/쓰기 락을 따로 둔다. 서로 다른 계정끼리는 기다리지 않는다.
+ */
+@Component
+public class AccountBalanceAsOfIndex implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(AccountBalanceAsOfIndex.class);
+
+    private final JournalEntryStore journalEntryStore;
+    private final ConcurrentHashMap<Long, AccountDays> accounts = new ConcurrentHashMap<>();
+
+    public AccountBalanceAsOfIndex(JournalEntryStore journalEntryStore) {
+        this.journalEntryStore = journalEntryStore;
+    }
+
+    /**
+     * 기간 합계 조회
+     * - from이 null이면 처음부터 to까지(= to 기준 잔액)
+     * - 반환: [차변 합계, 대변 합계]
+     */
+    public long[] totals(Long accountId, LocalDate from, LocalDate to) {
+        AccountDays days = accounts.get(accountId);
+        if (days == null) {
+            return new long[]{0L, 0L};
+        }
+        long toDay = to.toEpochDay();
+        days.lock.readLock().lock();
+        try {
+            if (from == null) {
+                return new long[]{days.debit.prefixSum(toDay), days.credit.prefixSum(toDay)};
+            }
+            long fromDay = from.toEpochDay();
+            return new long[]{days.debit.rangeSum(fromDay, toDay), days.credit.rangeSum(fromDay, toDay)};
+        } finally {
+            days.lock.readLock().unlock();
+        }
+    }
+
+    // 커밋된 전표를 일자 버킷에 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPosted(JournalEntryPostedEvent event) {
+        for (JournalEntryPostedEvent.Line line : event.lines()) {
+            if ("DEBIT".equals(line.dcType())) {
+                add(line.accountId(), event.entryDate(), line.amount(), 0L);
+            } else {
+                add(line.accountId(), event.entryDate(), 0L, line.amount());
+            }
+        }
+    }
+
+    // 커밋된 기간 마감 반영: 마감일 이하 버킷 → 마감일 버킷(개시 전표 자리)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPeriodClosed(PeriodClosedEvent event) {
+        long closedThrough = event.closedThrough().toEpochDay();
+        for (AccountDays days : accounts.values()) {
+            days.lock.writeLock().lock();
+            try {
+                days.debit.foldThrough(closedThrough);
+                days.credit.foldThrough(closedThrough);
+            } finally {
+                days.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 기동 시 저장소에서 인덱스 채우기
+     * - 계정+일자별로 미리 집계한 행만 읽으므로 라인 수가 아니라 (계정 x 거래일) 수만큼 더한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        long buckets = 0;
+        for (AccountDayTotals totals : journalEntryStore.sumByAccountAndDay()) {
+            add(totals.accountId(), totals.entryDate(), totals.debitTotal(), totals.creditTotal());
+            buckets++;
+        }
+        log.info("Account as-of balance index loaded: {} accounts, {} day buckets", accounts.size(), buckets);
+    }
+
+    private void add(Long accountId, LocalDate day, long debit, long credit) {
+        AccountDays days = accounts.computeIfAbsent(accountId, id -> new AccountDays());
+        long epochDay = day.toEpochDay();
+        days.lock.writeLock().lock();
+        try {
+            if (debit != 0L) {
+                days.debit.add(epochDay, debit);
+            }
+            if (credit != 0L) {
+                days.credit.add(epochDay, credit);
+            }
+        } finally {
+            days.lock.writeLock().unlock();
+        }
+    }
+
+    // 계정 1개의 일자 버킷(차변/대변)
+    private static final class AccountDays {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final DayBucketFenwickTree debit = new DayBucketFenwickTree();
+        final DayBucketFenwickTree credit = new DayBucketFenwickTree();
+    }
+}
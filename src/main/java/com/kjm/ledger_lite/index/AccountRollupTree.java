@@ -0,0 +1,231 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.service.AccountCache;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 계정 코드 계층(prefix tree)별 차변/대변 누계 - 재무제표용 분류 합계(roll-up)
+ *
+ * ✅ 구조
+ * - 계정 코드 한 글자가 트리 한 단계: "1" → "11" → "111" → "1111"(계정)
+ *   level 1 = 대분류(1xxx 자산, 4xxx 수익 ...), level = 코드 길이면 계정 자신
+ * - 노드마다 하위 계정 전체(subtree)의 차/대 합계를 미리 더해 둔다.
+ *
+ * ✅ 갱신
+ * - 기동 시: 전체 계정과목 + 저장소의 계정별 라인 합계로 채운다(SmartInitializingSingleton)
+ *   웹 서버가 요청을 받기 전에 끝나므로, 적재 전에 온 커밋 이벤트가 계정을 붙여 더한 뒤
+ *   저장소 합계가 같은 전표를 한 번 더 더하는 일이 없다.
+ * - 전표 저장 시: 커밋 후(AFTER_COMMIT) 라인마다 계정 노드 → 루트 경로(코드 길이만큼)만 더한다.
+ * - 기동 후 생긴 계정은 처음 전기될 때 AccountCache로 코드를 찾아 트리에 붙인다.
+ *
+ * ✅ 조회
+ * - 특정 level의 노드만 코드 순으로 모은다. 비용은 노드 수에 비례(라인/DB 조회 없음)
+ * - 읽기/쓰기 락으로 전표 1건이 통째로 반영된 상태만 보이므로 차변 총계 = 대변 총계
+ */
+@Component
+public class AccountRollupTree implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(AccountRollupTree.class);
+
+    private final AccountRepository accountRepository;
+    private final JournalEntryStore journalEntryStore;
+    private final AccountCache accountCache;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 아래 필드는 lock 안에서만 읽고 쓴다
+    private final Node root = new Node("", null);
+    private final Map<Long, Node> accountNodes = new HashMap<>();
+
+    public AccountRollupTree(AccountRepository accountRepository,
+                             JournalEntryStore journalEntryStore,
+                             AccountCache accountCache) {
+        this.accountRepository = accountRepository;
+        this.journalEntryStore = journalEntryStore;
+        this.accountCache = accountCache;
+    }
+
+    // 커밋된 전표의 라인을 계정 → 루트 경로에 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPosted(JournalEntryPostedEvent event) {
+        Set<Long> accountIds = new LinkedHashSet<>();
+        for (JournalEntryPostedEvent.Line line : event.lines()) {
+            accountIds.add(line.accountId());
+        }
+        Collection<Account> newAccounts = findNewAccounts(accountIds);
+
+        lock.writeLock().lock();
+        try {
+            for (Account account : newAccounts) {
+                addAccount(account);
+            }
+            for (JournalEntryPostedEvent.Line line : event.lines()) {
+                Node node = accountNodes.get(line.accountId());
+                if (node == null) {
+                    log.warn("Rollup skipped line for unknown account {}", line.accountId());
+                    continue;
+                }
+                boolean debit = "DEBIT".equals(line.dcType());
+                add(node, debit ? line.amount() : 0L, debit ? 0L : line.amount());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * level 단계의 분류 합계, 코드 순
+     * - 코드가 level보다 짧은 계정은 그 계정 자신의 합계로 넣는다(합계가 전체와 맞도록)
+     */
+    public List<Row> rollup(int level) {
+        lock.readLock().lock();
+        try {
+            List<Row> rows = new ArrayList<>();
+            collect(root, 0, level, rows);
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체 차/대 합계 [차변, 대변] (루트 노드)
+    public long[] totals() {
+        lock.readLock().lock();
+        try {
+            return new long[]{root.debit, root.credit};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 기동 시 계정과목 트리 + 계정별 합계 채우기
+     * - 계정 수만큼만 더한다(라인은 저장소에서 계정별로 이미 집계됨)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        List<Account> accounts = accountRepository.findAll();
+        List<AccountLineTotals> totals = journalEntryStore.sumByAccount();
+
+        lock.writeLock().lock();
+        try {
+            for (Account account : accounts) {
+                addAccount(account);
+            }
+            for (AccountLineTotals t : totals) {
+                Node node = accountNodes.get(t.accountId());
+                if (node == null) {
+                    continue;
+                }
+                add(node, t.debitTotal(), t.creditTotal());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Account rollup tree loaded: {} accounts", accounts.size());
+    }
+
+    // 트리에 아직 없는 계정만 AccountCache로 찾는다(락 밖에서, 대부분 캐시 hit)
+    private Collection<Account> findNewAccounts(Set<Long> accountIds) {
+        List<Long> missing = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : accountIds) {
+                if (!accountNodes.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return missing.isEmpty() ? List.of() : accountCache.getAll(missing).values();
+    }
+
+    // 코드 앞자리마다 노드를 만들며 내려가 계정 노드를 붙인다 (write lock 안에서 호출)
+    private void addAccount(Account account) {
+        if (accountNodes.containsKey(account.getId())) {
+            return;
+        }
+        Node node = root;
+        for (int level = 1; level <= account.getCode().length(); level++) {
+            String prefix = account.codePrefix(level);
+            Node parent = node;
+            node = parent.children.computeIfAbsent(prefix.charAt(level - 1), c -> new Node(prefix, parent));
+        }
+        node.account = true;
+        for (Node n = node; n != null; n = n.parent) {
+            n.accountCount++;
+        }
+        accountNodes.put(account.getId(), node);
+    }
+
+    // 계정 노드 → 루트 경로에만 더한다 (write lock 안에서 호출)
+    private static void add(Node accountNode, long debit, long credit) {
+        accountNode.ownDebit += debit;
+        accountNode.ownCredit += credit;
+        for (Node n = accountNode; n != null; n = n.parent) {
+            n.debit += debit;
+            n.credit += credit;
+        }
+    }
+
+    private static void collect(Node node, int depth, int level, List<Row> rows) {
+        if (depth == level) {
+            rows.add(new Row(node.prefix, node.accountCount, node.debit, node.credit));
+            return;
+        }
+        if (node.account && depth > 0) {
+            rows.add(new Row(node.prefix, 1, node.ownDebit, node.ownCredit));
+        }
+        for (Node child : node.children.values()) {
+            collect(child, depth + 1, level, rows);
+        }
+    }
+
+    /**
+     * 분류 1개의 합계
+     * - codePrefix: 계정 코드 앞자리(분류), accountCount: 그 아래 계정 수
+     */
+    public record Row(String codePrefix, int accountCount, long debitTotal, long creditTotal) {}
+
+    private static final class Node {
+        final String prefix;
+        final Node parent;
+        final TreeMap<Character, Node> children = new TreeMap<>();
+
+        // 하위 계정 전체 합계
+        long debit;
+        long credit;
+        int accountCount;
+
+        // 이 노드가 계정 자신일 때(코드 전체)의 합계
+        boolean account;
+        long ownDebit;
+        long ownCredit;
+
+        Node(String prefix, Node parent) {
+            this.prefix = prefix;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kjm.ledger_lite.index;
+
+/**
+ * 날짜(일) 단위 버킷에 금액을 누적하는 Fenwick Tree(Binary Indexed Tree)
+ *
+ * ✅ 왜 Fenwick Tree?
+ * - "X일까지의 합계(누적합)"를 매번 처음부터 더하면 O(일수)
+ * - Fenwick Tree는 한 날짜에 더하기(add) / X일까지 합계(prefixSum) 모두 O(log 일수)
+ *
+ * ✅ 구조
+ * - 버킷 i = originDay + i 일 (epochDay 기준, 1970-01-01 = 0)
+ * - tree는 1부터 시작하는 배열(Fenwick 표준 형태)
+ * - 처음 들어온 날짜를 가운데 두고 시작해서, 범위를 벗어난 날짜가 오면 2배씩 키운다(재구성 O(n))
+ * - 버킷은 최대 MAX_CAPACITY개(약 11,000년)까지. 전표일자 허용 범위(0001-01-01 ~ 9999-12-31)는 모두 담기고,
+ *   그보다 멀리 떨어진 날짜는 IllegalArgumentException으로 거절한다(배열 크기 int 넘침 방지)
+ *
+ * ✅ 주의
+ * - 동기화하지 않는다. 여러 스레드에서 쓰려면 호출하는 쪽에서 락을 잡는다.
+ */
+public class DayBucketFenwickTree {
+
+    private static final int MIN_CAPACITY = 64;
+    static final int MAX_CAPACITY = 1 << 22;
+
+    private long originDay;
+    private int capacity;
+    private long[] tree; // 크기 capacity + 1, tree[0]은 사용하지 않음
+
+    /**
+     * epochDay 날짜 버킷에 delta를 더한다. O(log n)
+     */
+    public void add(long epochDay, long delta) {
+        ensureCovers(epochDay);
+        for (int i = (int) (epochDay - originDay) + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * epochDay 날짜까지(포함)의 누적 합계. O(log n)
+     */
+    public long prefixSum(long epochDay) {
+        if (tree == null || epochDay < originDay) {
+            return 0L;
+        }
+        long index = Math.min(epochDay - originDay + 1, capacity);
+        long sum = 0L;
+        for (int i = (int) index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * fromDay ~ toDay(둘 다 포함) 구간 합계. O(log n)
+     */
+    public long rangeSum(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            return 0L;
+        }
+        return prefixSum(toDay) - prefixSum(fromDay - 1);
+    }
+
+    /**
+     * epochDay 날짜까지(포함)의 버킷을 모두 epochDay 버킷 하나로 합친다. O(n)
+     * - 누적합은 epochDay 이후로는 그대로, 그 전 날짜는 0이 된다.
+     */
+    public void foldThrough(long epochDay) {
+        if (tree == null || epochDay < originDay) {
+            return;
+        }
+        long sum = prefixSum(epochDay);
+        ensureCovers(epochDay);
+        long[] values = toPointValues();
+        int last = (int) (epochDay - originDay) + 1;
+        for (int i = 1; i < last; i++) {
+            values[i] = 0L;
+        }
+        values[last] = sum;
+        buildInPlace(values, capacity);
+        tree = values;
+    }
+
+    // epochDay가 버킷 범위 안에 들어오도록 필요하면 배열을 키운다
+    private void ensureCovers(long epochDay) {
+        if (tree == null) {
+            capacity = MIN_CAPACITY;
+            originDay = epochDay - capacity / 2;
+            tree = new long[capacity + 1];
+            return;
+        }
+        long end = originDay + capacity; // 미포함
+        if (epochDay >= originDay && epochDay < end) {
+            return;
+        }
+
+        long newStart = Math.min(originDay, epochDay);
+        long newEnd = Math.max(end, epochDay + 1);
+        if (newEnd - newStart > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Date span too wide for day buckets: " + (newEnd - newStart) + " days");
+        }
+        long grown = capacity;
+        while (grown < newEnd - newStart) {
+            grown <<= 1;
+        }
+        int newCapacity = Math.toIntExact(grown);
+        // 왼쪽(과거)으로 넓히는 경우 남는 칸을 왼쪽에 둬서 다음 과거 날짜에도 여유를 준다
+        long newOrigin = epochDay < originDay ? newEnd - newCapacity : originDay;
+
+        long[] values = toPointValues();
+        long[] newTree = new long[newCapacity + 1];
+        int shift = (int) (originDay - newOrigin);
+        for (int i = 1; i <= capacity; i++) {
+            newTree[i + shift] = values[i];
+        }
+        buildInPlace(newTree, newCapacity);
+
+        originDay = newOrigin;
+        capacity = newCapacity;
+        tree = newTree;
+    }
+
+    // Fenwick 배열 -> 날짜별 원래 값(1-based). 선형 구성의 역순으로 O(n)
+    private long[] toPointValues() {
+        long[] values = tree.clone();
+        for (int i = capacity; i >= 1; i--) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                values[parent] -= values[i];
+            }
+        }
+        return values;
+    }
+
+    // 날짜별 값(1-based) -> Fenwick 배열, O(n)
+    private static void buildInPlace(long[] a, int n) {
+        for (int i = 1; i <= n; i++) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                a[parent] += a[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.service.JournalEntryDescriptionChangedEvent;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.service.PeriodClosedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 전표 적요(description) 검색용 메모리 역색인(inverted index)
+ *
+ * ✅ 구조
+ * - 단어(token) → 그 단어가 적요에 들어 있는 전표 id 정렬 목록(PostingList, delta + varint 압축)
+ * - 단어는 글자/숫자가 이어진 덩어리를 소문자로 바꾼 것 ("INV-2025-001 대한상사" → inv, 2025, 001, 대한상사)
+ *
+ * ✅ 검색 (여러 단어는 AND)
+ * - 가장 짧은 목록을 풀어서 후보로 두고, 나머지 목록에 contains(블록 1개만 풀어 봄)로 걸러낸다.
+ *   비용이 전체 전표 수가 아니라 가장 드문 단어의 전표 수에 비례한다.
+ *
+ * ✅ 갱신
+ * - 기동 시: 저장소의 전표 요약(id, 적요)으로 채운다(ApplicationRunner, 요약 재생성 이후에 실행)
+ * - 전표 저장 / 적요 수정 시: 커밋 후(AFTER_COMMIT) 이벤트를 받아 새 단어 목록에 id를 더한다.
+ * - 적요가 바뀐 전표는 옛 단어 목록에서 빼지 않고(압축 목록을 다시 쓰지 않기 위해) 현재 단어들만 따로 기억해 두었다가
+ *   검색 결과에서 걸러낸다. 재기동하면 깨끗하게 다시 만든다.
+ * - 기간 마감 시: 커밋 후 저장소의 (hot) 전표 요약으로 다시 만든다. 보관으로 옮긴 전표가 빠지고 개시 전표가 들어간다.
+ *   마감이 끝날 때까지 전표 등록이 막혀 있으므로(PeriodCloseService 마감 잠금) 그 사이 커밋되는 전표는 없다.
+ *
+ * ✅ 동시성
+ * - 읽기/쓰기 락 하나. 검색끼리는 기다리지 않고, 갱신(전표 1건당 단어 수만큼 add)만 잠깐 막는다.
+ */
+@Component
+public class JournalEntrySearchIndex implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(JournalEntrySearchIndex.class);
+
+    private final JournalEntryStore journalEntryStore;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 아래 두 Map은 lock 안에서만 읽고 쓴다
+    private Map<String, PostingList> terms = new HashMap<>();
+    // 적요가 수정된 전표 id → 현재 적요의 단어들(정렬)
+    private final Map<Long, String[]> changed = new HashMap<>();
+
+    public JournalEntrySearchIndex(JournalEntryStore journalEntryStore) {
+        this.journalEntryStore = journalEntryStore;
+    }
+
+    /**
+     * 적요를 검색 단어로 쪼갠다 (중복 제거, 나온 순서 유지)
+     * - 글자(한글 포함)/숫자가 아닌 문자는 모두 구분자
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * 단어를 모두 포함하는 전표 검색 (AND)
+     * - 반환: 전체 건수 + 최근 등록된(id 큰) 순서로 최대 limit개의 id
+     */
+    public Hits search(Collection<String> tokens, int limit) {
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[tokens.size()];
+            int i = 0;
+            for (String token : tokens) {
+                PostingList list = terms.get(token);
+                if (list == null) {
+                    return new Hits(0, List.of());
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+            long[] candidates = lists[0].toArray();
+            int n = candidates.length;
+            for (int l = 1; l < lists.length && n > 0; l++) {
+                int kept = 0;
+                for (int c = 0; c < n; c++) {
+                    if (lists[l].contains(candidates[c])) {
+                        candidates[kept++] = candidates[c];
+                    }
+                }
+                n = kept;
+            }
+            if (!changed.isEmpty()) {
+                int kept = 0;
+                for (int c = 0; c < n; c++) {
+                    String[] current = changed.get(candidates[c]);
+                    if (current == null || containsAll(current, tokens)) {
+                        candidates[kept++] = candidates[c];
+                    }
+                }
+                n = kept;
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(n, limit));
+            for (int c = n - 1; c >= 0 && ids.size() < limit; c--) {
+                ids.add(candidates[c]);
+            }
+            return new Hits(n, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 커밋된 전표의 적요 단어 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPosted(JournalEntryPostedEvent event) {
+        List<String> tokens = tokenize(event.description());
+        lock.writeLock().lock();
+        try {
+            add(terms, event.entryId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 커밋된 적요 수정 반영: 새 단어 목록에 더하고, 현재 단어들을 기억해 둔다(옛 단어 검색 결과에서 걸러내기용)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDescriptionChanged(JournalEntryDescriptionChangedEvent event) {
+        List<String> tokens = tokenize(event.description());
+        String[] current = tokens.toArray(new String[0]);
+        Arrays.sort(current);
+        lock.writeLock().lock();
+        try {
+            changed.put(event.entryId(), current);
+            add(terms, event.entryId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 커밋된 기간 마감 반영: hot 전표 요약으로 다시 만든다(마감 트랜잭션은 끝났으므로 새 읽기 트랜잭션)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPeriodClosed(PeriodClosedEvent event) {
+        Map<String, PostingList> rebuilt = build(journalEntryStore::forEachSummary);
+        lock.writeLock().lock();
+        try {
+            terms = rebuilt;
+            changed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Journal entry search index rebuilt after period close through {}: {} terms",
+                event.closedThrough(), rebuilt.size());
+    }
+
+    /**
+     * 기동 시 저장소의 전표 요약으로 색인 만들기
+     * - 단어별로 id를 모아서 정렬 후 한 번에 압축한다(1건씩 add하지 않음)
+     * - 적재하는 동안 이벤트로 들어온 전표는 마지막에 합친다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        load(journalEntryStore::forEachSummary);
+    }
+
+    // source: 요약을 하나씩 넘겨주는 순회 함수(기동 시에는 저장소, 벤치마크에서는 생성한 데이터)
+    void load(Consumer<Consumer<JournalEntrySummaryResponse>> source) {
+        long[] entries = new long[1];
+        Map<String, PostingList> loaded = build(summaries -> source.accept(summary -> {
+            summaries.accept(summary);
+            entries[0]++;
+        }));
+        long bytes = 0L;
+        for (PostingList list : loaded.values()) {
+            bytes += list.compressedBytes();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, PostingList> e : terms.entrySet()) {
+                PostingList target = loaded.computeIfAbsent(e.getKey(), t -> new PostingList());
+                for (long id : e.getValue().toArray()) {
+                    target.add(id);
+                }
+            }
+            terms = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Journal entry search index loaded: {} entries, {} terms, ~{} KB postings",
+                entries[0], loaded.size(), bytes / 1024);
+    }
+
+    // 요약들을 단어별 id 목록으로 모아 정렬 후 한 번에 압축(락 밖에서)
+    private static Map<String, PostingList> build(Consumer<Consumer<JournalEntrySummaryResponse>> source) {
+        Map<String, IdBuffer> buffers = new HashMap<>();
+        source.accept(summary -> {
+            for (String token : tokenize(summary.description())) {
+                buffers.computeIfAbsent(token, t -> new IdBuffer()).add(summary.id());
+            }
+        });
+        Map<String, PostingList> built = new HashMap<>(buffers.size() * 2);
+        for (Map.Entry<String, IdBuffer> e : buffers.entrySet()) {
+            built.put(e.getKey(), e.getValue().toPostingList());
+        }
+        return built;
+    }
+
+    private static void add(Map<String, PostingList> target, long entryId, List<String> tokens) {
+        for (String token : tokens) {
+            target.computeIfAbsent(token, t -> new PostingList()).add(entryId);
+        }
+    }
+
+    private static boolean containsAll(String[] sortedTokens, Collection<String> tokens) {
+        for (String token : tokens) {
+            if (Arrays.binarySearch(sortedTokens, token) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 검색 결과
+     * - totalHits: 단어를 모두 포함하는 전표 수
+     * - ids: 그중 최근 등록된 순서로 최대 limit개
+     */
+    public record Hits(long totalHits, List<Long> ids) {}
+
+    // 기동 시 적재용 가변 id 배열
+    private static final class IdBuffer {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        PostingList toPostingList() {
+            Arrays.sort(ids, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+            return PostingList.of(ids, distinct);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.kjm.ledger_lite.index;
+
+import java.util.Arrays;
+
+/**
+ * 전표 id 정렬 목록(posting list) - 블록 단위 delta + varint 압축
+ *
+ * ✅ 구조
+ * - 압축 영역: id를 최대 BLOCK_SIZE개씩 블록으로 나누고, 블록마다 첫 id는 long[]에, 나머지는 앞 id와의 차이(delta)를
+ *   varint(7비트씩, 작은 수는 1바이트)로 byte[]에 이어 쓴다. 연속된 전표 id는 1바이트 안팎으로 저장된다.
+ * - 꼬리(tail): 최근 추가된 id를 정렬된 long[]에 모아 두다가 BLOCK_SIZE개가 차면 압축 영역으로 옮긴다.
+ *   - 꼬리가 전부 압축 영역의 마지막 id보다 크면(보통의 경우) 새 블록으로 뒤에 붙인다. O(BLOCK_SIZE)
+ *   - 아니면(AFTER_COMMIT 순서가 id 순서와 달라 중간 값이 끼어듦) 그 값이 들어갈 블록부터 끝까지만 풀어서 합친 뒤 다시 압축한다.
+ * - 블록 크기는 일정하지 않다(뒤에 붙이기 전 마지막 블록이 덜 찼을 수 있음). 블록마다 끝 위치(누적 개수)를 따로 둔다.
+ *
+ * ✅ 조회
+ * - contains: 블록 첫 id를 이진 탐색 → 그 블록 하나만 풀어 본다. O(log 블록 수 + BLOCK_SIZE)
+ * - toArray: 전체를 풀어 오름차순 long[]로
+ *
+ * ✅ 주의
+ * - 동기화하지 않는다. 여러 스레드에서 쓰려면 호출하는 쪽에서 락을 잡는다.
+ */
+public class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+
+    // 블록 메타데이터, [0 ~ blocks)만 사용(뒤에 붙일 자리를 위해 2배씩 키움)
+    private long[] blockFirst = new long[0];
+    private int[] blockOffset = new int[0];
+    private int[] blockEnd = new int[0]; // 이 블록까지의 누적 id 수
+    private int blocks;
+
+    // delta 바이트, [0 ~ dataSize)만 사용
+    private byte[] data = new byte[0];
+    private int dataSize;
+
+    private int compressedSize;
+    private long lastCompressed;
+
+    private long[] tail = new long[8];
+    private int tailSize;
+
+    /**
+     * 오름차순 + 중복 없는 ids[0 ~ size) 로 바로 압축해서 만든다 (기동 시 일괄 적재용)
+     */
+    public static PostingList of(long[] sortedIds, int size) {
+        PostingList list = new PostingList();
+        list.appendBlocks(sortedIds, size);
+        return list;
+    }
+
+    /**
+     * id 추가, 이미 있으면 false
+     */
+    public boolean add(long id) {
+        if (containsCompressed(id)) {
+            return false;
+        }
+        int pos = Arrays.binarySearch(tail, 0, tailSize, id);
+        if (pos >= 0) {
+            return false;
+        }
+        int insertAt = -pos - 1;
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, tail.length * 2);
+        }
+        System.arraycopy(tail, insertAt, tail, insertAt + 1, tailSize - insertAt);
+        tail[insertAt] = id;
+        tailSize++;
+        if (tailSize == BLOCK_SIZE) {
+            flushTail();
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return containsCompressed(id) || Arrays.binarySearch(tail, 0, tailSize, id) >= 0;
+    }
+
+    public int size() {
+        return compressedSize + tailSize;
+    }
+
+    // 압축 영역 + 꼬리를 합쳐 오름차순 배열로
+    public long[] toArray() {
+        return mergeFrom(0);
+    }
+
+    // fromBlock부터 끝까지의 압축 영역 + 꼬리를 합쳐 오름차순 배열로
+    private long[] mergeFrom(int fromBlock) {
+        long[] out = new long[compressedSize - (fromBlock == 0 ? 0 : blockEnd[fromBlock - 1]) + tailSize];
+        int n = 0;
+        int t = 0;
+        for (int block = fromBlock; block < blocks; block++) {
+            long value = blockFirst[block];
+            int pos = blockOffset[block];
+            int count = blockCount(block);
+            for (int k = 0; k < count; k++) {
+                if (k > 0) {
+                    long delta = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data[pos++];
+                        delta |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    value += delta;
+                }
+                while (t < tailSize && tail[t] < value) {
+                    out[n++] = tail[t++];
+                }
+                out[n++] = value;
+            }
+        }
+        while (t < tailSize) {
+            out[n++] = tail[t++];
+        }
+        return out;
+    }
+
+    // 압축된 바이트 수(블록 헤더 포함), 메모리 사용량 로그용
+    public long compressedBytes() {
+        return dataSize + blocks * (8L + 4L + 4L);
+    }
+
+    private boolean containsCompressed(long id) {
+        if (compressedSize == 0 || id < blockFirst[0] || id > lastCompressed) {
+            return false;
+        }
+        int found = Arrays.binarySearch(blockFirst, 0, blocks, id);
+        if (found >= 0) {
+            return true;
+        }
+        int block = -found - 2; // id보다 작은 첫 id를 가진 마지막 블록
+        long value = blockFirst[block];
+        int pos = blockOffset[block];
+        int count = blockCount(block);
+        for (int k = 1; k < count; k++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            if (value >= id) {
+                return value == id;
+            }
+        }
+        return false;
+    }
+
+    private int blockCount(int block) {
+        return blockEnd[block] - (block == 0 ? 0 : blockEnd[block - 1]);
+    }
+
+    // 가득 찬 꼬리를 압축 영역으로 옮긴다
+    private void flushTail() {
+        if (compressedSize == 0 || tail[0] > lastCompressed) {
+            appendBlocks(tail, tailSize);
+        } else {
+            // 순서가 뒤섞인 id: tail[0]이 들어갈 블록부터 끝까지만 풀어서 꼬리와 합친 뒤 다시 압축
+            int found = Arrays.binarySearch(blockFirst, 0, blocks, tail[0]);
+            int from = found >= 0 ? found : Math.max(0, -found - 2);
+            long[] merged = mergeFrom(from);
+            blocks = from;
+            dataSize = blockOffset[from];
+            compressedSize = from == 0 ? 0 : blockEnd[from - 1];
+            appendBlocks(merged, merged.length);
+        }
+        tail = new long[8];
+        tailSize = 0;
+    }
+
+    // 오름차순 ids[0 ~ size)를 압축 영역 뒤에 BLOCK_SIZE개씩 새 블록으로 붙인다(모두 lastCompressed보다 커야 함)
+    private void appendBlocks(long[] ids, int size) {
+        for (int start = 0; start < size; start += BLOCK_SIZE) {
+            int end = Math.min(start + BLOCK_SIZE, size);
+            if (blocks == blockFirst.length) {
+                int capacity = Math.max(4, blocks * 2);
+                blockFirst = Arrays.copyOf(blockFirst, capacity);
+                blockOffset = Arrays.copyOf(blockOffset, capacity);
+                blockEnd = Arrays.copyOf(blockEnd, capacity);
+            }
+            blockFirst[blocks] = ids[start];
+            blockOffset[blocks] = dataSize;
+            for (int i = start + 1; i < end; i++) {
+                if (dataSize + 10 > data.length) {
+                    data = Arrays.copyOf(data, Math.max(64, Math.max(data.length * 2, (end - i) * 2)));
+                }
+                long delta = ids[i] - ids[i - 1];
+                while ((delta & ~0x7FL) != 0) {
+                    data[dataSize++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                data[dataSize++] = (byte) delta;
+            }
+            compressedSize += end - start;
+            blockEnd[blocks] = compressedSize;
+            blocks++;
+        }
+        if (size > 0) {
+            lastCompressed = ids[size - 1];
+        }
+    }
+}
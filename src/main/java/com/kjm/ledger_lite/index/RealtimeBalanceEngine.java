@@ -0,0 +1,248 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계정과목별 차변/대변 누계 실시간 메모리 엔진 (대시보드용)
+ *
+ * ✅ 구조
+ * - 계정 id → 조밀한 slot 번호(0, 1, 2, ...)를 primitive 해시 테이블(long[] / int[])로 찾는다.
+ * - 누계는 slot 번호로 인덱싱한 AtomicLongArray(CHUNK_SLOTS개 단위 chunk)에 [차변, 대변] 순서로 둔다.
+ *   Long/Map 박싱 없이 CAS 한 번으로 더한다.
+ * - CAS가 실패할 만큼 경합이 생긴 칸(hot 계정)은 그때부터 LongAdder stripe로 넘겨서 더한다.
+ *   (값 = 배열 칸 + LongAdder 합계, 둘 다 더하기만 하므로 언제 읽어도 맞는 값)
+ *
+ * ✅ 갱신
+ * - 기동 시: 저장소의 계정별 라인 합계로 채운다(SmartInitializingSingleton)
+ *   웹 서버가 요청을 받기 전(컨텍스트 refresh 중)에 끝나므로, 적재 도중 커밋된 전표가 이벤트로 한 번,
+ *   저장소 합계로 또 한 번 이중으로 더해지는 일이 없다. (ApplicationRunner는 요청을 받기 시작한 뒤에 돈다)
+ * - 전표 저장 시: 트랜잭션 커밋 후(AFTER_COMMIT) 이벤트를 받아 더한다. (롤백된 전표는 반영되지 않음)
+ *
+ * ✅ 읽기
+ * - 락 없이 volatile 읽기만 한다(wait-free). DB는 전혀 읽지 않는다.
+ * - 칸 하나하나는 항상 커밋된 전표까지의 정확한 값이지만, 여러 계정을 읽는 도중 다른 전표가
+ *   반영되면 그 전표의 일부 라인만 보일 수 있다. (시산표처럼 차/대 일치가 꼭 필요하면 AccountBalance 사용)
+ */
+@Component
+public class RealtimeBalanceEngine implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(RealtimeBalanceEngine.class);
+
+    static final int CHUNK_SLOTS = 1024;
+    private static final long EMPTY = 0L; // 계정 id는 1부터 시작하므로 0은 빈 칸 표시로 쓴다
+
+    private final JournalEntryStore journalEntryStore;
+
+    // 읽기는 volatile 참조 한 번, 새 계정 추가(드묾)만 락 안에서 복사 후 교체(copy-on-write)
+    private volatile SlotTable slots = new SlotTable(16);
+    private volatile Chunk[] chunks = new Chunk[]{new Chunk()};
+    private final ReentrantLock growLock = new ReentrantLock();
+
+    private final LongAdder postedEntries = new LongAdder();
+
+    public RealtimeBalanceEngine(JournalEntryStore journalEntryStore) {
+        this.journalEntryStore = journalEntryStore;
+    }
+
+    // 라인 1줄 반영 (차변이면 debit=true)
+    public void post(long accountId, boolean debit, long amount) {
+        int slot = slotOf(accountId);
+        if (slot < 0) {
+            slot = addSlot(accountId);
+        }
+        chunks[slot / CHUNK_SLOTS].add(((slot % CHUNK_SLOTS) << 1) | (debit ? 0 : 1), amount);
+    }
+
+    // 커밋된 전표를 누계에 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPosted(JournalEntryPostedEvent event) {
+        for (JournalEntryPostedEvent.Line line : event.lines()) {
+            post(line.accountId(), "DEBIT".equals(line.dcType()), line.amount());
+        }
+        postedEntries.increment();
+    }
+
+    /**
+     * 계정 1개의 누계 조회
+     * - 반환: [차변 합계, 대변 합계] (한 번도 전기되지 않은 계정은 0, 0)
+     */
+    public long[] totals(long accountId) {
+        int slot = slotOf(accountId);
+        if (slot < 0) {
+            return new long[]{0L, 0L};
+        }
+        Chunk chunk = chunks[slot / CHUNK_SLOTS];
+        int cell = (slot % CHUNK_SLOTS) << 1;
+        return new long[]{chunk.get(cell), chunk.get(cell + 1)};
+    }
+
+    /**
+     * 전체 계정 누계를 한 번에 복사
+     * - 반환: 계정 id 오름차순 [accountId, 차변, 대변] 배열
+     */
+    public long[][] snapshot() {
+        SlotTable table = slots;
+        Chunk[] current = chunks;
+        long[][] rows = new long[table.size][];
+        int n = 0;
+        for (int i = 0; i < table.keys.length; i++) {
+            long accountId = table.keys[i];
+            if (accountId == EMPTY) {
+                continue;
+            }
+            int slot = table.values[i];
+            Chunk chunk = current[slot / CHUNK_SLOTS];
+            int cell = (slot % CHUNK_SLOTS) << 1;
+            rows[n++] = new long[]{accountId, chunk.get(cell), chunk.get(cell + 1)};
+        }
+        Arrays.sort(rows, 0, n, (a, b) -> Long.compare(a[0], b[0]));
+        return n == rows.length ? rows : Arrays.copyOf(rows, n);
+    }
+
+    // 기동 후 반영된 전표 수
+    public long postedEntries() {
+        return postedEntries.sum();
+    }
+
+    /**
+     * 기동 시 저장소에서 누계 채우기
+     * - 계정별로 미리 집계한 행만 읽으므로 계정 수만큼만 더한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        for (AccountLineTotals totals : journalEntryStore.sumByAccount()) {
+            post(totals.accountId(), true, totals.debitTotal());
+            post(totals.accountId(), false, totals.creditTotal());
+        }
+        log.info("Realtime balance engine loaded: {} accounts", slots.size);
+    }
+
+    private int slotOf(long accountId) {
+        return slots.get(accountId);
+    }
+
+    // 새 계정 slot 배정: 필요한 chunk를 먼저 붙이고 나서 slot 테이블을 공개한다
+    private int addSlot(long accountId) {
+        growLock.lock();
+        try {
+            SlotTable table = slots;
+            int slot = table.get(accountId);
+            if (slot >= 0) {
+                return slot;
+            }
+            slot = table.size;
+            if (slot / CHUNK_SLOTS == chunks.length) {
+                Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+                grown[chunks.length] = new Chunk();
+                chunks = grown;
+            }
+            slots = table.with(accountId, slot);
+            return slot;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    /**
+     * 계정 id → slot 번호 (open addressing, 만든 뒤에는 바꾸지 않는 불변 테이블)
+     */
+    private static final class SlotTable {
+        final long[] keys;
+        final int[] values;
+        final int size;
+
+        SlotTable(int capacity) {
+            this(new long[capacity], new int[capacity], 0);
+        }
+
+        private SlotTable(long[] keys, int[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) {
+                    return values[i];
+                }
+                if (k == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        // 한 칸 추가한 새 테이블 (채움률 50%를 넘으면 2배로)
+        SlotTable with(long key, int value) {
+            int capacity = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+            SlotTable copy = new SlotTable(new long[capacity], new int[capacity], size + 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    copy.put(keys[i], values[i]);
+                }
+            }
+            copy.put(key, value);
+            return copy;
+        }
+
+        private void put(long key, int value) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * slot CHUNK_SLOTS개분의 누계 칸 ([차변, 대변] x slot)
+     * - 평소에는 AtomicLongArray 칸에 CAS로 더하고,
+     *   CAS가 한 번이라도 밀린 칸은 LongAdder를 붙여서 이후로는 그쪽에 더한다.
+     */
+    private static final class Chunk {
+        final AtomicLongArray cells = new AtomicLongArray(CHUNK_SLOTS * 2);
+        final AtomicReferenceArray<LongAdder> hot = new AtomicReferenceArray<>(CHUNK_SLOTS * 2);
+
+        void add(int cell, long amount) {
+            LongAdder adder = hot.get(cell);
+            if (adder == null) {
+                long current = cells.get(cell);
+                if (cells.compareAndSet(cell, current, current + amount)) {
+                    return;
+                }
+                hot.compareAndSet(cell, null, new LongAdder());
+                adder = hot.get(cell);
+            }
+            adder.add(amount);
+        }
+
+        long get(int cell) {
+            LongAdder adder = hot.get(cell);
+            return adder == null ? cells.get(cell) : cells.get(cell) + adder.sum();
+        }
+    }
+}
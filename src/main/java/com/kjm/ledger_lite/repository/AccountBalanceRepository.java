@@ -0,0 +1,112 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
+import com.kjm.ledger_lite.domain.AccountBalance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AccountBalanceRepository
+ *
+ * ✅ 역할
+ * - 계정별 잔액 집계 테이블(AccountBalance)의 증감 갱신 / 조회
+ * - 조회는 계정 수 x STRIPES 행만 읽는다. (JournalLine은 읽지 않음)
+ */
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, AccountBalance.Key> {
+
+    /**
+     * 한 stripe 행에 증감분을 더한다(없으면 증감분으로 새 행을 만든다)
+     * - 엔티티를 읽어서 고치는 대신 H2 MERGE 한 문장으로 처리(읽기 없이 행 락만 잡음)
+     * - (account_id, stripe)로 찾아 있으면 더하고, 없으면 그 자리에서 insert한다.
+     *   (예전의 update → 0건이면 save() 방식은 insert가 커밋 직전 flush까지 미뤄져서,
+     *    그 사이 같은 행을 만든 다른 트랜잭션과 부딪혀 PK 중복(409)으로 전표 전체가 롤백됐다)
+     * - 한계: 행이 없는 계정에 첫 전표 둘이 정말 동시에 들어오면 H2는 늦은 쪽 insert를 여전히 PK 중복으로 거절한다.
+     *   그래서 stripe 행은 data.sql/initAccount가 미리 만들어 두고, 이 insert는 기동 후 SQL로 직접 넣은 계정에만 쓰인다.
+     * - H2 전용 문법(native query), 파라미터 타입은 대상 컬럼에서 정해진다.
+     * - 영향 받는 테이블을 account_balance로 알려 준다. 안 그러면 Hibernate가 native DML마다
+     *   2차 캐시 전체(계정과목 account 영역 포함)를 비운다.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "account_balance"))
+    @Query(nativeQuery = true, value = """
+            merge into account_balance b
+            using (select 1) d
+            on b.account_id = :accountId and b.stripe = :stripe
+            when matched then update set
+                debit_total = b.debit_total + :debit,
+                credit_total = b.credit_total + :credit,
+                line_count = b.line_count + :lineCount
+            when not matched then insert (account_id, stripe, debit_total, credit_total, line_count)
+                values (:accountId, :stripe, :debit, :credit, :lineCount)
+            """)
+    int addDelta(@Param("accountId") Long accountId,
+                 @Param("stripe") int stripe,
+                 @Param("debit") long debit,
+                 @Param("credit") long credit,
+                 @Param("lineCount") long lineCount);
+
+    // 전체 집계를 0으로 초기화(재계산 전에 사용)
+    @Modifying
+    @Query("update AccountBalance b set b.debitTotal = 0, b.creditTotal = 0, b.lineCount = 0")
+    int resetAll();
+
+    // 집계 테이블에 반영된 라인 수 합계(JournalLine 건수와 맞는지 확인용)
+    @Query("select coalesce(sum(b.lineCount), 0L) from AccountBalance b")
+    long sumLineCount();
+
+    /**
+     * 계정별 집계값(stripe 행 합산), Account와 조인하지 않는다
+     * - 기동 시 저장소의 계정별 차/대 합계와 비교하는 용도
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountLineTotals(
+                b.accountId, sum(b.debitTotal), sum(b.creditTotal), sum(b.lineCount)
+            )
+            from AccountBalance b
+            group by b.accountId
+            """)
+    List<AccountLineTotals> sumByAccount();
+
+    /**
+     * 계정과목 1개의 잔액(stripe 행 합산)
+     * - 아직 전표가 없는 계정도 0으로 나오도록 Account 기준 left join
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.AccountBalanceResponse(
+                a.id, a.code, a.name,
+                coalesce(sum(b.debitTotal), 0L),
+                coalesce(sum(b.creditTotal), 0L),
+                coalesce(sum(b.lineCount), 0L)
+            )
+            from Account a
+            left join AccountBalance b on b.accountId = a.id
+            where a.id = :accountId
+            group by a.id, a.code, a.name
+            """)
+    Optional<AccountBalanceResponse> findBalance(@Param("accountId") Long accountId);
+
+    /**
+     * 전체 계정과목의 잔액(시산표용), 계정 코드 순
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.AccountBalanceResponse(
+                a.id, a.code, a.name,
+                coalesce(sum(b.debitTotal), 0L),
+                coalesce(sum(b.creditTotal), 0L),
+                coalesce(sum(b.lineCount), 0L)
+            )
+            from Account a
+            left join AccountBalance b on b.accountId = a.id
+            group by a.id, a.code, a.name
+            order by a.code
+            """)
+    List<AccountBalanceResponse> findAllBalances();
+}
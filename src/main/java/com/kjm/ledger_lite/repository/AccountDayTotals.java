@@ -0,0 +1,13 @@
+package com.kjm.ledger_lite.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 계정과목 + 전표일자별 분개 라인 합계 (집계 쿼리 결과용 프로젝션)
+ */
+public record AccountDayTotals(
+        Long accountId,
+        LocalDate entryDate,
+        long debitTotal,
+        long creditTotal
+) {}
@@ -0,0 +1,15 @@
+package com.kjm.ledger_lite.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 계정별 원장 라인 1줄 (조회 결과용 프로젝션)
+ * - 분개 라인 + 그 라인이 속한 전표의 날짜/적요
+ */
+public record AccountLedgerLine(
+        Long entryId,
+        LocalDate entryDate,
+        String description,
+        String dcType,
+        long amount
+) {}
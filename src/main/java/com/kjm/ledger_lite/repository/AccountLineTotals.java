@@ -0,0 +1,12 @@
+package com.kjm.ledger_lite.repository;
+
+/**
+ * 계정과목별 분개 라인 합계 (집계 쿼리 결과용 프로젝션)
+ * - JournalLine을 계정별로 group by 한 결과 1행
+ */
+public record AccountLineTotals(
+        Long accountId,
+        long debitTotal,
+        long creditTotal,
+        long lineCount
+) {}
@@ -1,8 +1,12 @@
 package com.kjm.ledger_lite.repository;
 
 import com.kjm.ledger_lite.domain.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,7 +25,7 @@ import java.util.Optional;
  * - findById(id): PK로 조회
  * - deleteById(id): 삭제
  */
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
 
     /**
      * ✅ findByCode는 우리가 "직접 SQL을 쓰지 않아도" 동작한다.
@@ -32,6 +36,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      *
      * Optional<Account>를 쓰는 이유?
      * - 결과가 있을 수도/없을 수도 있으니 null 대신 Optional로 안전하게 표현
+     *
+     * 쿼리 캐시(cacheable)
+     * - 결과(계정 id)를 쿼리 캐시에 두고, 엔티티는 2차 캐시에서 꺼낸다.
+     * - account 테이블에 insert가 커밋되면 Hibernate가 이 테이블을 쓰는 쿼리 캐시를 자동으로 무효화한다.
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Account> findByCode(String code);
+
+    // 계정과목 목록(AccountService.list)도 쿼리 캐시 사용
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Account> findAll();
 }
@@ -0,0 +1,21 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.domain.Account;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AccountRepository 확장(직접 구현하는 메서드)
+ * - 구현은 AccountRepositoryImpl (Spring Data가 이름 규칙으로 찾아서 붙여준다)
+ */
+public interface AccountRepositoryCustom {
+
+    /**
+     * 여러 계정과목을 id로 조회하되 2차 캐시를 먼저 본다
+     * - findAllById는 "where id in (...)" 쿼리라서 항상 DB로 간다.
+     * - 여기서는 Hibernate multiLoad로 영속성 컨텍스트 → 2차 캐시 → (없는 것만) DB 순서로 찾는다.
+     * - DB에도 없는 id는 결과에 들어있지 않다.
+     */
+    List<Account> findAllByIdCached(Collection<Long> ids);
+}
@@ -0,0 +1,31 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.domain.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * AccountRepositoryCustom 구현
+ */
+class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Account> findAllByIdCached(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Account.class)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.domain.ArchivedJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ArchivedJournalEntryRepository
+ *
+ * ✅ 역할
+ * - 마감된 기간의 전표/라인(보관 테이블) 조회
+ * - 기간 마감 때 hot 테이블 → 보관 테이블로 옮기는 insert ... select
+ *
+ * ✅ 메모
+ * - "이번에 옮기는 전표" = hot JournalEntry 중 entryDate <= closedThrough 이고 보관 테이블에 들어간 전표
+ *   라인 복사/합계/삭제가 모두 이 조건을 쓴다.
+ * - 마감 중에는 전표 등록이 마감 잠금(PeriodCloseService)에 막히므로, 같은 기간의 전표가 새로 커밋되지 않는다.
+ */
+public interface ArchivedJournalEntryRepository extends JpaRepository<ArchivedJournalEntry, Long> {
+
+    /**
+     * 보관 전표 상세 조회 (JournalEntryRepository.findDetailRows와 같은 행 모양, select 1번)
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.repository.JournalEntryDetailRow(
+                je.id, je.entryDate, je.description, je.version,
+                l.dcType, l.amount, a.id, a.code, a.name
+            )
+            from ArchivedJournalEntry je
+            left join ArchivedJournalLine l on l.journalEntryId = je.id
+            left join Account a on a.id = l.accountId
+            where je.id = :id
+            order by l.id
+            """)
+    List<JournalEntryDetailRow> findDetailRows(@Param("id") Long id);
+
+    @Query("select je.version from ArchivedJournalEntry je where je.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // 1. closedThrough 이하 hot 전표 헤더를 보관 테이블로 복사 (반환값: 복사한 전표 수)
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            insert into ArchivedJournalEntry (id, entryDate, description, createdAt, version)
+            select je.id, je.entryDate, je.description, je.createdAt, je.version
+            from JournalEntry je
+            where je.entryDate <= :closedThrough
+            """)
+    int copyEntriesThrough(@Param("closedThrough") LocalDate closedThrough);
+
+    // 2. 복사된 전표의 라인을 보관 테이블로 복사 (반환값: 복사한 라인 수)
+    @Modifying
+    @Query("""
+            insert into ArchivedJournalLine (id, journalEntryId, accountId, dcType, amount)
+            select l.id, je.id, l.account.id, l.dcType, l.amount
+            from JournalLine l
+            join l.journalEntry je
+            where je.entryDate <= :closedThrough
+              and exists (select 1 from ArchivedJournalEntry ae where ae.id = je.id)
+            """)
+    int copyLinesThrough(@Param("closedThrough") LocalDate closedThrough);
+
+    // 3. 복사된 라인의 계정과목별 차/대 합계와 라인 수 (개시 전표 금액)
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountLineTotals(
+                l.account.id,
+                coalesce(sum(case when l.dcType = 'DEBIT' then l.amount else 0L end), 0L),
+                coalesce(sum(case when l.dcType = 'CREDIT' then l.amount else 0L end), 0L),
+                count(l)
+            )
+            from JournalLine l
+            join l.journalEntry je
+            where je.entryDate <= :closedThrough
+              and exists (select 1 from ArchivedJournalEntry ae where ae.id = je.id)
+            group by l.account.id
+            order by l.account.id
+            """)
+    List<AccountLineTotals> sumCopiedLinesThrough(@Param("closedThrough") LocalDate closedThrough);
+
+    // 4. 복사가 끝난 hot 라인/요약/전표 삭제 (라인 → 요약 → 전표 순, 반환값: 삭제한 행 수)
+    @Modifying
+    @Query("""
+            delete from JournalLine l
+            where l.journalEntry.id in (
+                select je.id from JournalEntry je
+                where je.entryDate <= :closedThrough
+                  and exists (select 1 from ArchivedJournalEntry ae where ae.id = je.id)
+            )
+            """)
+    int deleteCopiedLinesThrough(@Param("closedThrough") LocalDate closedThrough);
+
+    @Modifying
+    @Query("""
+            delete from JournalEntrySummary s
+            where s.entryDate <= :closedThrough
+              and exists (select 1 from ArchivedJournalEntry ae where ae.id = s.id)
+            """)
+    int deleteCopiedSummariesThrough(@Param("closedThrough") LocalDate closedThrough);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            delete from JournalEntry je
+            where je.entryDate <= :closedThrough
+              and exists (select 1 from ArchivedJournalEntry ae where ae.id = je.id)
+            """)
+    int deleteCopiedEntriesThrough(@Param("closedThrough") LocalDate closedThrough);
+}
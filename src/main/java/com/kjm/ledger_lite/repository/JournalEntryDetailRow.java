@@ -0,0 +1,19 @@
+package com.kjm.ledger_lite.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 전표 상세 조회 1행 (전표 헤더 + 라인 1줄 + 계정과목, 조인 프로젝션 결과용)
+ * - 전표 1건 = 라인 수만큼의 행, 라인이 없는 전표는 라인 필드가 null인 1행
+ */
+public record JournalEntryDetailRow(
+        Long id,
+        LocalDate entryDate,
+        String description,
+        Long version,
+        String dcType,
+        Long amount,
+        Long accountId,
+        String accountCode,
+        String accountName
+) {}
@@ -2,9 +2,12 @@ package com.kjm.ledger_lite.repository;
 
 import com.kjm.ledger_lite.domain.JournalEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JournalEntryRepository
@@ -17,21 +20,53 @@ import java.util.List;
  * - Spring Data JPA가 서버 실행 시점에 자동으로 프록시 구현체를 생성한다.
  */
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
     /**
-     * 전표 목록 조회 (라인 + 계정까지 한번에 로딩)
-     *
-     * fetch join
-     * - JournalEntry(부모) -> lines(자식 컬렉션) -> account(계정과목)까지
-     * 목록 조회 시 합계 계산에 필요한 요소들읊 같이 가져온다
+     * 전표 상세 조회 (DTO 프로젝션, select 1번)
      *
-     * distinct로 row 중복을 방지
+     * - 전표 + 라인 + 계정과목을 join해서 라인 1줄당 1행으로 바로 읽는다.
+     * - 엔티티를 만들지 않으므로 지연 로딩(N+1)도, 영속성 컨텍스트에 쌓이는 것도 없다.
+     * - 라인이 없는 전표도 나오도록 left join
      */
     @Query("""
-            select distinct je
+            select new com.kjm.ledger_lite.repository.JournalEntryDetailRow(
+                je.id, je.entryDate, je.description, je.version,
+                l.dcType, l.amount, a.id, a.code, a.name
+            )
             from JournalEntry je
-            left join fetch je.lines l
-            left join fetch l.account a
-            order by je.entryDate desc, je.id desc
+            left join je.lines l
+            left join l.account a
+            where je.id = :id
+            order by l.id
             """)
-    List<JournalEntry> findAllWithLinesAndAccountOrderByEntryDateDesc();
+    List<JournalEntryDetailRow> findDetailRows(@Param("id") Long id);
+
+    /**
+     * 전표 적요만 수정 (JPQL update)
+     *
+     * - 전표/라인을 읽지 않고 update 1번으로 끝낸다.
+     * - 반환값: 수정된 행 수(0이면 없는 전표)
+     * - 영속성 컨텍스트를 거치지 않으므로, 같은 트랜잭션에서 이미 읽어 둔 JournalEntry 엔티티는 옛 적요를 가진다.
+     * - JPQL update는 @Version을 자동으로 올리지 않으므로 version도 함께 올린다(ETag 갱신)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update JournalEntry je set je.description = :description, je.version = je.version + 1 where je.id = :id")
+    int updateDescription(@Param("id") Long id, @Param("description") String description);
+
+    /**
+     * 전표 버전만 조회 (조건부 GET의 If-None-Match 비교용)
+     * - PK로 컬럼 1개만 읽는다(라인/계정 join 없음)
+     */
+    @Query("select je.version from JournalEntry je where je.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * 전표 id 범위 (요약 테이블 재생성, 기간 시산표 병렬 집계에서 구간을 나눌 때 사용)
+     * - PK 인덱스의 양 끝만 읽는다. 전표가 없으면 null
+     */
+    @Query("select min(je.id) from JournalEntry je")
+    Long findMinId();
+
+    @Query("select max(je.id) from JournalEntry je")
+    Long findMaxId();
 }
@@ -0,0 +1,124 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.domain.JournalEntrySummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JournalEntrySummaryRepository
+ *
+ * ✅ 역할
+ * - 전표 요약 테이블(JournalEntrySummary) 조회 / 적요 갱신 / 재생성
+ * - 목록 조회는 이 테이블만 읽는다. (JournalEntry, JournalLine은 읽지 않음)
+ */
+public interface JournalEntrySummaryRepository extends JpaRepository<JournalEntrySummary, Long> {
+
+    /**
+     * 전표 목록 첫 페이지 (키셋 페이지네이션 + 기간 조건)
+     *
+     * - from ~ to(둘 다 포함) 기간의 요약을 (entryDate desc, id desc) 순서로 pageable 크기만큼 가져온다.
+     * - (entry_date, id) 인덱스를 범위 스캔하고, 합계는 이미 계산되어 있으므로 select 1번으로 끝난다.
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse(
+                s.id, s.entryDate, s.description, s.debitTotal, s.creditTotal
+            )
+            from JournalEntrySummary s
+            where s.entryDate between :from and :to
+            order by s.entryDate desc, s.id desc
+            """)
+    List<JournalEntrySummaryResponse> findPage(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               Pageable pageable);
+
+    /**
+     * 커서 다음 페이지 (키셋 페이지네이션 + 기간 조건)
+     *
+     * - 커서(마지막으로 본 전표의 entryDate, id)보다 "뒤"에 있는 요약만 가져온다.
+     * - offset 방식과 달리 앞 페이지들을 건너뛰며 읽지 않으므로 페이지가 깊어져도 비용이 같다.
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse(
+                s.id, s.entryDate, s.description, s.debitTotal, s.creditTotal
+            )
+            from JournalEntrySummary s
+            where s.entryDate between :from and :to
+              and (s.entryDate < :entryDate
+                   or (s.entryDate = :entryDate and s.id < :id))
+            order by s.entryDate desc, s.id desc
+            """)
+    List<JournalEntrySummaryResponse> findPageAfter(@Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("entryDate") LocalDate entryDate,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    // 검색 결과 id들의 요약 (최근 등록 순: id desc)
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse(
+                s.id, s.entryDate, s.description, s.debitTotal, s.creditTotal
+            )
+            from JournalEntrySummary s
+            where s.id in :ids
+            order by s.id desc
+            """)
+    List<JournalEntrySummaryResponse> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 전체 요약을 한 행씩 흘려 읽기 (기동 시 메모리 인덱스 적재용)
+     * - 목록 전체를 List로 만들지 않고 fetch size 단위로 가져온다. 호출하는 쪽 트랜잭션 안에서 닫아야 한다.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse(
+                s.id, s.entryDate, s.description, s.debitTotal, s.creditTotal
+            )
+            from JournalEntrySummary s
+            """)
+    Stream<JournalEntrySummaryResponse> streamAll();
+
+    // 전표 적요 수정에 맞춰 요약의 적요도 수정 (반환값: 수정된 행 수)
+    @Modifying(flushAutomatically = true)
+    @Query("update JournalEntrySummary s set s.description = :description where s.id = :id")
+    int updateDescription(@Param("id") Long id, @Param("description") String description);
+
+    // 요약에 반영된 라인 수 합계(JournalLine 건수와 맞는지 확인용)
+    @Query("select coalesce(sum(s.lineCount), 0L) from JournalEntrySummary s")
+    long sumLineCount();
+
+    /**
+     * 전표 id 구간 [fromId, toId]의 요약을 JournalLine 기준으로 다시 만든다 (insert ... select 1번)
+     *
+     * - 전표별 차/대 합계와 라인 수를 DB에서 바로 계산해서 넣는다(엔티티를 읽지 않음)
+     * - 이미 요약이 있는 전표(재생성 중에 새로 저장된 전표 등)는 건너뛴다.
+     * - 반환값: 새로 넣은 행 수
+     */
+    @Modifying
+    @Query("""
+            insert into JournalEntrySummary (id, entryDate, description, debitTotal, creditTotal, lineCount)
+            select je.id,
+                   je.entryDate,
+                   je.description,
+                   coalesce(sum(case when l.dcType = 'DEBIT' then l.amount else 0L end), 0L),
+                   coalesce(sum(case when l.dcType = 'CREDIT' then l.amount else 0L end), 0L),
+                   count(l)
+            from JournalEntry je
+            left join je.lines l
+            where je.id between :fromId and :toId
+              and not exists (select 1 from JournalEntrySummary s where s.id = je.id)
+            group by je.id, je.entryDate, je.description
+            """)
+    int insertRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
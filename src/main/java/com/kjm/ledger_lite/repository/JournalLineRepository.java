@@ -0,0 +1,116 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.domain.JournalLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JournalLineRepository
+ *
+ * ✅ 역할
+ * - 분개 라인을 계정별로 집계하는 쿼리 모음
+ * - 라인 저장은 JournalEntry의 cascade로 처리되므로 여기서는 "읽기/집계"만 한다.
+ * - 집계 쿼리는 라인 전체를 훑으므로 기동 시 재계산 같은 곳에서만 사용한다. (요청 처리 경로에서는 쓰지 않음)
+ * - 계정별 원장(streamLedger)만 요청 처리 중에 쓰며, 결과를 List로 모으지 않고 흘려 읽는다.
+ * - 라인 스냅샷(streamSnapshotRows)은 백그라운드 내보내기에서만 쓴다.
+ */
+public interface JournalLineRepository extends JpaRepository<JournalLine, Long> {
+
+    /**
+     * 계정과목별 차/대 합계와 라인 수
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountLineTotals(
+                l.account.id,
+                coalesce(sum(case when l.dcType = 'DEBIT' then l.amount else 0L end), 0L),
+                coalesce(sum(case when l.dcType = 'CREDIT' then l.amount else 0L end), 0L),
+                count(l)
+            )
+            from JournalLine l
+            group by l.account.id
+            """)
+    List<AccountLineTotals> sumByAccount();
+
+    /**
+     * 계정과목 + 전표일자별 차/대 합계
+     * - 잔액 기준일 조회용 메모리 인덱스(일자 버킷)를 기동 시 만들 때 사용
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountDayTotals(
+                l.account.id,
+                je.entryDate,
+                coalesce(sum(case when l.dcType = 'DEBIT' then l.amount else 0L end), 0L),
+                coalesce(sum(case when l.dcType = 'CREDIT' then l.amount else 0L end), 0L)
+            )
+            from JournalLine l
+            join l.journalEntry je
+            group by l.account.id, je.entryDate
+            """)
+    List<AccountDayTotals> sumByAccountAndDay();
+
+    /**
+     * 계정별 원장: 한 계정의 from ~ to(둘 다 포함) 라인을 (전표일자, 전표 id, 라인 id) 순서로 흘려 읽기
+     * - fetch size 단위로 가져오고 엔티티를 만들지 않으므로(DTO 프로젝션) 라인 수와 무관하게 메모리가 일정하다.
+     * - 호출하는 쪽 트랜잭션 안에서 닫아야 한다. 중간에 닫으면 남은 결과는 읽지 않는다(쿼리 취소).
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountLedgerLine(
+                je.id, je.entryDate, je.description, l.dcType, l.amount
+            )
+            from JournalLine l
+            join l.journalEntry je
+            where l.account.id = :accountId
+              and je.entryDate between :from and :to
+            order by je.entryDate, je.id, l.id
+            """)
+    Stream<AccountLedgerLine> streamLedger(@Param("accountId") Long accountId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    /**
+     * 전표 id 구간 [fromId, toId] 중 전표일자가 from ~ to(둘 다 포함)인 전표 라인의 계정과목별 차/대 합계
+     * - 기간 시산표를 전표 id 구간으로 나눠 병렬로 집계할 때 구간 1개분 (전표 PK 범위 스캔 + 라인 FK 인덱스)
+     * - 전표 단위로 나누므로 한 전표의 라인이 두 구간에 걸치지 않는다.
+     */
+    @Query("""
+            select new com.kjm.ledger_lite.repository.AccountLineTotals(
+                l.account.id,
+                coalesce(sum(case when l.dcType = 'DEBIT' then l.amount else 0L end), 0L),
+                coalesce(sum(case when l.dcType = 'CREDIT' then l.amount else 0L end), 0L),
+                count(l)
+            )
+            from JournalLine l
+            join l.journalEntry je
+            where je.id between :fromId and :toId
+              and je.entryDate between :from and :to
+            group by l.account.id
+            """)
+    List<AccountLineTotals> sumByAccountInEntryRange(@Param("fromId") long fromId,
+                                                     @Param("toId") long toId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    /**
+     * 전체 라인을 전표일자, 전표 id, 라인 id 순으로 흘려 읽기 (라인 스냅샷 내보내기용)
+     * - streamLedger와 같이 fetch size 단위 DTO 프로젝션, 호출하는 쪽 트랜잭션 안에서 닫아야 한다.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.kjm.ledger_lite.repository.JournalLineSnapshotRow(
+                je.entryDate, l.account.id, l.dcType, l.amount
+            )
+            from JournalLine l
+            join l.journalEntry je
+            order by je.entryDate, je.id, l.id
+            """)
+    Stream<JournalLineSnapshotRow> streamSnapshotRows();
+}
@@ -0,0 +1,14 @@
+package com.kjm.ledger_lite.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 라인 스냅샷(열 단위 파일 내보내기)용 라인 1줄 (조회 결과용 프로젝션)
+ * - 분개 라인 + 그 라인이 속한 전표의 날짜
+ */
+public record JournalLineSnapshotRow(
+        LocalDate entryDate,
+        Long accountId,
+        String dcType,
+        long amount
+) {}
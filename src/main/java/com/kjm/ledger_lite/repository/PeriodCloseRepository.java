@@ -0,0 +1,15 @@
+package com.kjm.ledger_lite.repository;
+
+import com.kjm.ledger_lite.domain.PeriodClose;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * PeriodCloseRepository
+ * - 기간 마감 이력 저장/조회 (가장 최근 마감 = closedThrough가 가장 늦은 행)
+ */
+public interface PeriodCloseRepository extends JpaRepository<PeriodClose, Long> {
+
+    Optional<PeriodClose> findTopByOrderByClosedThroughDesc();
+}
@@ -0,0 +1,307 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.AccountBalanceAsOfResponse;
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.AccountRollupResponse;
+import com.kjm.ledger_lite.controller.dto.LiveBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.domain.AccountBalance;
+import com.kjm.ledger_lite.exceiption.ResourceNotFoundException;
+import com.kjm.ledger_lite.index.AccountBalanceAsOfIndex;
+import com.kjm.ledger_lite.index.AccountRollupTree;
+import com.kjm.ledger_lite.index.RealtimeBalanceEngine;
+import com.kjm.ledger_lite.repository.AccountBalanceRepository;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 계정별 잔액 집계(AccountBalance) 관리
+ *
+ * ✅ 하는 일
+ * - 전표 저장 시 같은 트랜잭션 안에서 계정별 증감분을 집계 테이블에 더한다(apply)
+ * - 계정 잔액 / 시산표 조회 (계정 수에 비례하는 비용, 라인 수와 무관)
+ * - 기간 시산표 조회 (기간으로 라인을 다시 집계, jpa 엔진은 전표 id 구간별 병렬)
+ * - 기준일 잔액 조회 (AccountBalanceAsOfIndex, O(log 일수))
+ * - 실시간 누계 조회 (RealtimeBalanceEngine, DB 조회 없음)
+ * - 계정 코드 계층별 합계 조회 (AccountRollupTree, 노드 수에 비례, DB 조회 없음)
+ * - 기동 시 집계 테이블이 JournalLine과 어긋나 있으면 다시 계산한다(ApplicationRunner)
+ */
+@Service
+public class AccountBalanceService implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(AccountBalanceService.class);
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final JournalEntryStore journalEntryStore;
+    private final AccountBalanceAsOfIndex accountBalanceAsOfIndex;
+    private final RealtimeBalanceEngine realtimeBalanceEngine;
+    private final AccountCache accountCache;
+    private final AccountRollupTree accountRollupTree;
+
+    public AccountBalanceService(AccountBalanceRepository accountBalanceRepository,
+                                 JournalEntryStore journalEntryStore,
+                                 AccountBalanceAsOfIndex accountBalanceAsOfIndex,
+                                 RealtimeBalanceEngine realtimeBalanceEngine,
+                                 AccountCache accountCache,
+                                 AccountRollupTree accountRollupTree) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.journalEntryStore = journalEntryStore;
+        this.accountBalanceAsOfIndex = accountBalanceAsOfIndex;
+        this.realtimeBalanceEngine = realtimeBalanceEngine;
+        this.accountCache = accountCache;
+        this.accountRollupTree = accountRollupTree;
+    }
+
+    /**
+     * 저장된 전표들의 라인을 계정별로 모아서 집계 테이블에 반영
+     * - 호출하는 쪽(JournalEntryService)의 트랜잭션에 참여한다(MANDATORY에 가까운 사용)
+     * - 계정 id 순서로 갱신해서 동시에 들어온 전표끼리 서로 락을 기다리는 교착(deadlock)을 막는다
+     * - 어떤 stripe 행에 더할지는 무작위로 골라 같은 계정의 동시 갱신을 여러 행으로 분산한다
+     */
+    @Transactional
+    public void apply(Collection<JournalEntryPostedEvent> entries) {
+        // accountId -> [차변, 대변, 라인 수]
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (JournalEntryPostedEvent entry : entries) {
+            for (JournalEntryPostedEvent.Line line : entry.lines()) {
+                long[] delta = deltas.computeIfAbsent(line.accountId(), id -> new long[3]);
+                if ("DEBIT".equals(line.dcType())) {
+                    delta[0] += line.amount();
+                } else {
+                    delta[1] += line.amount();
+                }
+                delta[2]++;
+            }
+        }
+
+        for (Map.Entry<Long, long[]> e : deltas.entrySet()) {
+            int stripe = ThreadLocalRandom.current().nextInt(AccountBalance.STRIPES);
+            addDelta(e.getKey(), stripe, e.getValue());
+        }
+    }
+
+    /**
+     * 기간 마감 후 계정별 라인 수만 보정 (accountId -> 증감)
+     * - 마감으로 보관 테이블에 옮긴 라인 수를 빼고 개시 전표의 라인 수를 더한다(차/대 합계는 그대로)
+     * - apply와 같은 순서(계정 id 순)로 갱신한다.
+     */
+    @Transactional
+    public void adjustLineCounts(Map<Long, Long> lineCountDeltas) {
+        for (Map.Entry<Long, Long> e : new TreeMap<>(lineCountDeltas).entrySet()) {
+            if (e.getValue() != 0) {
+                int stripe = ThreadLocalRandom.current().nextInt(AccountBalance.STRIPES);
+                addDelta(e.getKey(), stripe, new long[]{0L, 0L, e.getValue()});
+            }
+        }
+    }
+
+    /**
+     * 신규 계정과목의 stripe 행을 미리 만들어 둔다
+     * - 전표 저장 시에는 update만 하면 되도록(동시 insert 충돌 방지)
+     */
+    @Transactional
+    public void initAccount(Long accountId) {
+        List<AccountBalance> rows = new ArrayList<>(AccountBalance.STRIPES);
+        for (int stripe = 0; stripe < AccountBalance.STRIPES; stripe++) {
+            rows.add(new AccountBalance(accountId, stripe, 0L, 0L, 0L));
+        }
+        accountBalanceRepository.saveAll(rows);
+    }
+
+    // 계정 잔액 1건 조회
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalance(Long accountId) {
+        return accountBalanceRepository.findBalance(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+    }
+
+    /**
+     * 기준일 잔액 조회 (메모리 Fenwick 인덱스, DB 스캔 없음)
+     * - from이 없으면 asOf까지의 누적 잔액
+     * - from이 있으면 from ~ asOf 기간 발생액
+     */
+    public AccountBalanceAsOfResponse getBalanceAsOf(Long accountId, LocalDate from, LocalDate asOf) {
+        if (from != null && from.isAfter(asOf)) {
+            throw new IllegalArgumentException("from must not be after asOf");
+        }
+        Account account = accountCache.getAll(List.of(accountId)).get(accountId);
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountId);
+        }
+        long[] totals = accountBalanceAsOfIndex.totals(accountId, from, asOf);
+        return new AccountBalanceAsOfResponse(
+                account.getId(),
+                account.getCode(),
+                account.getName(),
+                from,
+                asOf,
+                totals[0],
+                totals[1],
+                totals[0] - totals[1]
+        );
+    }
+
+    // 시산표 조회(전체 계정 잔액 + 차/대 총계)
+    @Transactional(readOnly = true)
+    public TrialBalanceResponse trialBalance() {
+        List<AccountBalanceResponse> accounts = accountBalanceRepository.findAllBalances();
+        long debitTotal = 0L;
+        long creditTotal = 0L;
+        for (AccountBalanceResponse account : accounts) {
+            debitTotal += account.debitTotal();
+            creditTotal += account.creditTotal();
+        }
+        return new TrialBalanceResponse(accounts, debitTotal, creditTotal);
+    }
+
+    /**
+     * 기간 시산표 (전표일자 from ~ to, 생략하면 처음부터 / 끝까지)
+     * - 기간 중 라인이 있는 계정만, 계정 코드 순
+     * - 트랜잭션을 잡지 않는다. 저장소가 구간마다 따로 읽으므로 요청 스레드가 커넥션을 붙잡고 기다리지 않게 한다.
+     */
+    public TrialBalanceResponse trialBalance(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<AccountLineTotals> totals = journalEntryStore.sumByAccount(
+                from != null ? from : JournalEntryService.MIN_ENTRY_DATE,
+                to != null ? to : JournalEntryService.MAX_ENTRY_DATE);
+
+        List<Long> accountIds = new ArrayList<>(totals.size());
+        for (AccountLineTotals t : totals) {
+            accountIds.add(t.accountId());
+        }
+        Map<Long, Account> accounts = accountCache.getAll(accountIds);
+
+        List<AccountBalanceResponse> rows = new ArrayList<>(totals.size());
+        long debitTotal = 0L;
+        long creditTotal = 0L;
+        for (AccountLineTotals t : totals) {
+            Account account = accounts.get(t.accountId());
+            rows.add(new AccountBalanceResponse(
+                    t.accountId(),
+                    account != null ? account.getCode() : null,
+                    account != null ? account.getName() : null,
+                    t.debitTotal(),
+                    t.creditTotal(),
+                    t.lineCount()
+            ));
+            debitTotal += t.debitTotal();
+            creditTotal += t.creditTotal();
+        }
+        rows.sort(Comparator.comparing(AccountBalanceResponse::accountCode,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return new TrialBalanceResponse(rows, debitTotal, creditTotal);
+    }
+
+    /**
+     * 실시간 누계 조회 (메모리 엔진, 락/DB 조회 없음)
+     * - 커밋 직후 반영되므로 AccountBalance보다 가볍지만,
+     *   동시에 저장 중인 전표가 일부 계정에만 보일 수 있어 차/대 총계가 잠깐 어긋날 수 있다.
+     */
+    public LiveBalanceResponse liveBalances() {
+        long[][] rows = realtimeBalanceEngine.snapshot();
+        List<LiveBalanceResponse.Account> accounts = new ArrayList<>(rows.length);
+        long debitTotal = 0L;
+        long creditTotal = 0L;
+        for (long[] row : rows) {
+            accounts.add(new LiveBalanceResponse.Account(row[0], row[1], row[2], row[1] - row[2]));
+            debitTotal += row[1];
+            creditTotal += row[2];
+        }
+        return new LiveBalanceResponse(accounts, debitTotal, creditTotal, realtimeBalanceEngine.postedEntries());
+    }
+
+    /**
+     * 계정 코드 계층별 합계 (메모리 prefix tree, DB 조회 없음)
+     * - level: 계정 코드 앞 몇 자리로 묶을지(1 이상)
+     */
+    public AccountRollupResponse rollup(int level) {
+        if (level < 1) {
+            throw new IllegalArgumentException("level must be at least 1");
+        }
+        List<AccountRollupResponse.Group> groups = new ArrayList<>();
+        for (AccountRollupTree.Row row : accountRollupTree.rollup(level)) {
+            groups.add(new AccountRollupResponse.Group(
+                    row.codePrefix(),
+                    row.accountCount(),
+                    row.debitTotal(),
+                    row.creditTotal(),
+                    row.debitTotal() - row.creditTotal()
+            ));
+        }
+        long[] totals = accountRollupTree.totals();
+        return new AccountRollupResponse(level, groups, totals[0], totals[1]);
+    }
+
+    /**
+     * 기동 시 정합성 확인
+     * - 집계 테이블이 저장소의 실제 라인과 다르면(기능 도입 전 데이터, 수동으로 고친 데이터 등)
+     *   라인 기준으로 다시 계산한다.
+     * - 라인 수 합계를 먼저 보고, 같으면 계정별 차/대 합계와 라인 수까지 비교한다.
+     *   (금액만 고친 라인, 계정만 바꾼 라인은 라인 수 합계로는 드러나지 않는다)
+     * - 계정별 비교는 저장소의 라인 전체를 한 번 집계하므로 기동 시간이 라인 수에 비례해 늘어난다.
+     */
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        long lineCount = journalEntryStore.lineCount();
+        if (accountBalanceRepository.sumLineCount() != lineCount) {
+            log.info("AccountBalance is out of sync with JournalLine ({} lines). Rebuilding.", lineCount);
+            rebuild();
+        } else if (!totalsMatch()) {
+            log.info("AccountBalance totals differ from JournalLine per account. Rebuilding.");
+            rebuild();
+        }
+    }
+
+    // 계정별 차/대 합계와 라인 수가 저장소와 같은지(라인이 없는 계정의 0 행은 건너뜀)
+    private boolean totalsMatch() {
+        Map<Long, AccountLineTotals> expected = new HashMap<>();
+        for (AccountLineTotals t : journalEntryStore.sumByAccount()) {
+            expected.put(t.accountId(), t);
+        }
+        for (AccountLineTotals actual : accountBalanceRepository.sumByAccount()) {
+            AccountLineTotals t = expected.remove(actual.accountId());
+            if (t == null) {
+                if (actual.debitTotal() != 0 || actual.creditTotal() != 0 || actual.lineCount() != 0) {
+                    return false;
+                }
+            } else if (!t.equals(actual)) {
+                return false;
+            }
+        }
+        return expected.isEmpty();
+    }
+
+    // 집계 테이블을 저장소의 라인 기준으로 다시 계산
+    @Transactional
+    public void rebuild() {
+        accountBalanceRepository.resetAll();
+        for (AccountLineTotals totals : journalEntryStore.sumByAccount()) {
+            addDelta(totals.accountId(), 0,
+                    new long[]{totals.debitTotal(), totals.creditTotal(), totals.lineCount()});
+        }
+    }
+
+    // stripe 행에 증감분 반영, 행이 없는 계정이면(기동 후 SQL로 직접 넣은 계정 등) 같은 문장에서 새로 만든다
+    private void addDelta(Long accountId, int stripe, long[] delta) {
+        accountBalanceRepository.addDelta(accountId, stripe, delta[0], delta[1], delta[2]);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계정과목 인메모리 캐시 (전표 등록 hot path용)
+ *
+ * ✅ 왜 필요?
+ * - 계정과목은 거의 바뀌지 않는 기준 데이터인데, 전표 라인마다 DB에서 다시 읽고 있었다.
+ * - 한 번 읽은 계정은 메모리에 두고, 없는 것만 findAllByIdCached 한 번으로 모아서 조회한다.
+ *   (Hibernate 2차 캐시를 먼저 보므로 캐시에서 밀려난 계정도 대부분 DB까지 가지 않는다)
+ *
+ * ✅ 규칙
+ * - 최대 maxSize개까지만 보관하고, 넘치면 가장 오래 안 쓴 계정부터 제거(LRU)
+ * - 계정과목은 만들어진 뒤 바뀌지 않으므로 따로 비우지 않는다.
+ *   없는 id는 캐시에 넣지 않으므로, 새로 생성된 계정은 처음 쓰일 때 조회되어 들어간다.
+ * - hit/miss 횟수를 세어서 캐시가 실제로 효과가 있는지 확인할 수 있게 한다.
+ *   (메트릭 ledger.account-cache.hits / ledger.account-cache.misses, /actuator/metrics에서 조회)
+ */
+@Component
+public class AccountCache {
+
+    private final AccountRepository accountRepository;
+    private final int maxSize;
+
+    // accessOrder=true: 조회할 때마다 뒤로 이동 → 맨 앞이 가장 오래 안 쓴 항목
+    private final LinkedHashMap<Long, Account> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AccountCache(AccountRepository accountRepository,
+                        MeterRegistry registry,
+                        @Value("${ledger.account-cache.max-size:10000}") int maxSize) {
+        this.accountRepository = accountRepository;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Account> eldest) {
+                return size() > AccountCache.this.maxSize;
+            }
+        };
+
+        FunctionCounter.builder("ledger.account-cache.hits", this, AccountCache::hitCount)
+                .description("Account lookups served from the in-memory cache")
+                .register(registry);
+        FunctionCounter.builder("ledger.account-cache.misses", this, AccountCache::missCount)
+                .description("Account lookups that had to be loaded from the repository")
+                .register(registry);
+    }
+
+    /**
+     * 여러 계정과목을 한 번에 조회
+     * - 캐시에 있는 것은 바로 반환(hit)
+     * - 없는 것만 모아서 findAllByIdCached 한 번으로 조회(miss) 후 캐시에 넣는다
+     * - DB에도 없는 id는 결과 Map에 들어있지 않다(호출하는 쪽에서 404 처리)
+     */
+    public Map<Long, Account> getAll(Collection<Long> ids) {
+        Map<Long, Account> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        lock.lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                Account account = entries.get(id);
+                if (account != null) {
+                    found.put(id, account);
+                    hits.increment();
+                } else {
+                    missing.add(id);
+                    misses.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        // 락 밖에서 DB 조회(다른 요청이 캐시를 읽는 동안 기다리지 않게)
+        List<Account> loaded = accountRepository.findAllByIdCached(missing);
+
+        lock.lock();
+        try {
+            for (Account account : loaded) {
+                found.put(account.getId(), account);
+                entries.put(account.getId(), account);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return found;
+    }
+
+    // ===== 통계 =====
+    public long hitCount() { return hits.sum(); }
+    public long missCount() { return misses.sum(); }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kjm.ledger_lite.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.controller.dto.AccountLedgerLineResponse;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.exceiption.ResourceNotFoundException;
+import com.kjm.ledger_lite.index.AccountBalanceAsOfIndex;
+import com.kjm.ledger_lite.repository.AccountLedgerLine;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 계정별 원장(general ledger) 스트리밍
+ *
+ * ✅ 흐름
+ * 1) 계정 존재 / 기간 검증 (응답을 쓰기 전에 끝내서 400/404를 그대로 내려줄 수 있게)
+ * 2) 기초 잔액(from 전날까지) = 기준일 잔액 인덱스(AccountBalanceAsOfIndex)에서 O(log 일수)
+ * 3) 저장소의 원장 Stream을 한 줄씩 읽으며 누적 잔액을 더하고, JSON으로 바로 써 내려간다.
+ *
+ * ✅ 메모리
+ * - 라인을 List로 모으지 않는다. 읽은 줄은 JsonGenerator 버퍼 → 응답 버퍼를 거쳐 바로 나가므로 기간이 길어도 일정하다.
+ *
+ * ✅ 클라이언트 연결 끊김
+ * - 응답 쓰기에서 IOException이 나면 try-with-resources가 Stream을 닫아 DB 커서(쿼리)를 바로 정리한다.
+ * - 실패 시에는 JsonGenerator를 닫지 않는다. (닫으면 열린 배열/객체를 자동으로 닫아서 잘린 원장이 완전한 JSON처럼 보인다)
+ */
+@Service
+public class AccountLedgerService {
+
+    private final JournalEntryStore journalEntryStore;
+    private final AccountCache accountCache;
+    private final AccountBalanceAsOfIndex accountBalanceAsOfIndex;
+    private final ObjectMapper objectMapper;
+
+    public AccountLedgerService(JournalEntryStore journalEntryStore,
+                                AccountCache accountCache,
+                                AccountBalanceAsOfIndex accountBalanceAsOfIndex,
+                                ObjectMapper objectMapper) {
+        this.journalEntryStore = journalEntryStore;
+        this.accountCache = accountCache;
+        this.accountBalanceAsOfIndex = accountBalanceAsOfIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 원장을 out에 JSON으로 쓴다
+     * {"accountId":..,"accountCode":..,"accountName":..,"from":..,"to":..,"openingBalance":..,
+     *  "lines":[{...,"balance":..}, ...],"debitTotal":..,"creditTotal":..,"closingBalance":..}
+     * - from/to 생략 시 처음부터 / 끝까지
+     */
+    @Timed(value = "ledger.service", histogram = true)
+    @Transactional(readOnly = true)
+    public void writeLedger(Long accountId, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Account account = accountCache.getAll(List.of(accountId)).get(accountId);
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountId);
+        }
+
+        long openingBalance = 0L;
+        if (from != null) {
+            long[] before = accountBalanceAsOfIndex.totals(accountId, null, from.minusDays(1));
+            openingBalance = before[0] - before[1];
+        }
+
+        JsonGenerator json = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+        json.writeStartObject();
+        json.writeNumberField("accountId", account.getId());
+        json.writeStringField("accountCode", account.getCode());
+        json.writeStringField("accountName", account.getName());
+        json.writeObjectField("from", from);
+        json.writeObjectField("to", to);
+        json.writeNumberField("openingBalance", openingBalance);
+
+        long balance = openingBalance;
+        long debitTotal = 0L;
+        long creditTotal = 0L;
+        json.writeArrayFieldStart("lines");
+        try (Stream<AccountLedgerLine> lines = journalEntryStore.streamLedger(accountId,
+                from != null ? from : JournalEntryService.MIN_ENTRY_DATE,
+                to != null ? to : JournalEntryService.MAX_ENTRY_DATE)) {
+            Iterator<AccountLedgerLine> it = lines.iterator();
+            while (it.hasNext()) {
+                AccountLedgerLine line = it.next();
+                boolean isDebit = "DEBIT".equals(line.dcType());
+                long debit = isDebit ? line.amount() : 0L;
+                long credit = isDebit ? 0L : line.amount();
+                balance += debit - credit;
+                debitTotal += debit;
+                creditTotal += credit;
+                json.writeObject(new AccountLedgerLineResponse(
+                        line.entryId(), line.entryDate(), line.description(), debit, credit, balance));
+            }
+        }
+        json.writeEndArray();
+
+        json.writeNumberField("debitTotal", debitTotal);
+        json.writeNumberField("creditTotal", creditTotal);
+        json.writeNumberField("closingBalance", balance);
+        json.writeEndObject();
+        json.flush();
+    }
+}
@@ -3,25 +3,40 @@ package com.kjm.ledger_lite.service;
 import com.kjm.ledger_lite.controller.dto.AccountCreateRequest;
 import com.kjm.ledger_lite.domain.Account;
 import com.kjm.ledger_lite.repository.AccountRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 사용자로부터 입력을 받아, DB에 계정과목을 생성
+ *
+ * ✅ 목록 버전(listVersion)
+ * - 계정과목 생성이 커밋될 때마다 1씩 올라가는 메모리 카운터
+ * - GET /api/accounts 의 ETag로 쓰여서, 목록이 안 바뀌었으면 조회/직렬화 없이 304로 응답한다.
+ * - 재기동하면 0부터 다시 세므로 ETag에는 기동 시각(startedAt)을 함께 넣는다.
  */
 @Service
 public class AccountService {
     private final AccountRepository accountRepository;
+    private final AccountBalanceService accountBalanceService;
 
-    public AccountService(AccountRepository accountRepository) {
-        this.accountRepository = accountRepository;
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong listVersion = new AtomicLong();
 
+    public AccountService(AccountRepository accountRepository,
+                          AccountBalanceService accountBalanceService) {
+        this.accountRepository = accountRepository;
+        this.accountBalanceService = accountBalanceService;
     }
 
     // 계정과목 생성 메서드
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional
     public void create(AccountCreateRequest req) {
         // 계정과목 코드는 중복될 수 없음
@@ -31,9 +46,24 @@ public class AccountService {
 
         Account account = new Account(req.code(), req.name());
         accountRepository.save(account);
+        // 잔액 집계 행을 미리 만들어 둠
+        accountBalanceService.initAccount(account.getId());
+        // 목록 버전은 커밋된 뒤에 올린다(커밋 전에 올리면 새 버전으로 옛 목록이 캐시될 수 있음)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                listVersion.incrementAndGet();
+            }
+        });
+    }
+
+    // 계정과목 목록 ETag 값: "기동 시각-목록 버전"
+    public String listVersion() {
+        return startedAt + "-" + listVersion.get();
     }
 
     // 전체 계정과목 조회 메서드
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional(readOnly = true)
     public List<Account> list() {
         return accountRepository.findAll();
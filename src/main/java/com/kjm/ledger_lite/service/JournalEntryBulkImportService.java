@@ -0,0 +1,137 @@
+package com.kjm.ledger_lite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.controller.dto.JournalEntryBulkImportResult;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 전표 일괄 등록(NDJSON) 처리
+ *
+ * ✅ 흐름
+ * 1) 요청 바디를 한 줄씩 읽는다(전체를 메모리에 올리지 않음)
+ * 2) 줄마다 JSON 파싱 + @Valid와 같은 DTO 검증
+ * 3) CHUNK_SIZE건이 모이면 JournalEntryService.importChunk로 한 트랜잭션에 저장(JDBC 배치)
+ * 4) 청크가 끝날 때마다 줄별 결과를 NDJSON으로 바로 써서 클라이언트가 진행 상황을 받아볼 수 있게 한다
+ */
+@Service
+public class JournalEntryBulkImportService {
+    private static final Logger log = LoggerFactory.getLogger(JournalEntryBulkImportService.class);
+
+    // 한 트랜잭션에서 저장할 전표 수
+    static final int CHUNK_SIZE = 500;
+
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final JournalEntryService journalEntryService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public JournalEntryBulkImportService(JournalEntryService journalEntryService,
+                                         ObjectMapper objectMapper,
+                                         Validator validator) {
+        this.journalEntryService = journalEntryService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public void importNdjson(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        // 저장 대기 중인 요청(줄 번호 -> 요청)과, 파싱/검증 단계에서 이미 실패한 결과
+        Map<Long, JournalEntryCreateRequest> chunk = new LinkedHashMap<>();
+        List<JournalEntryBulkImportResult> rejected = new ArrayList<>();
+
+        long lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            JournalEntryCreateRequest req;
+            try {
+                req = objectMapper.readValue(line, JournalEntryCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                rejected.add(JournalEntryBulkImportResult.rejected(lineNo, "Invalid JSON"));
+                continue;
+            }
+
+            Set<ConstraintViolation<JournalEntryCreateRequest>> violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                // 단건 등록과 마찬가지로 대표 메시지 하나만 내려준다
+                ConstraintViolation<JournalEntryCreateRequest> first = violations.iterator().next();
+                rejected.add(JournalEntryBulkImportResult.rejected(lineNo,
+                        first.getPropertyPath() + " " + first.getMessage()));
+                continue;
+            }
+
+            chunk.put(lineNo, req);
+            if (chunk.size() >= CHUNK_SIZE) {
+                flushChunk(chunk, rejected, out);
+            }
+        }
+        flushChunk(chunk, rejected, out);
+    }
+
+    /**
+     * 청크 저장 + 결과 출력
+     * - 저장 결과와 앞서 실패한 결과를 줄 번호 순으로 합쳐서 쓴다.
+     * - 청크 트랜잭션이 롤백되면(DB 오류든 그 밖의 런타임 예외든) 그 청크의 모든 줄을 REJECTED로 내려주고
+     *   다음 청크를 계속 처리한다. 예외가 밖으로 나가면 이미 응답 중인 스트림이 중간에 끊기기 때문
+     * - DB 오류가 아닌 예외는 내부 메시지를 내려주지 않고 로그로만 남긴다.
+     */
+    private void flushChunk(Map<Long, JournalEntryCreateRequest> chunk,
+                            List<JournalEntryBulkImportResult> rejected,
+                            OutputStream out) throws IOException {
+        List<JournalEntryBulkImportResult> results = new ArrayList<>(rejected);
+        if (!chunk.isEmpty()) {
+            try {
+                results.addAll(journalEntryService.importChunk(chunk));
+            } catch (DataAccessException e) {
+                log.warn("Bulk import chunk of {} entries rolled back: database error", chunk.size(), e);
+                rejectAll(chunk, "Chunk rolled back: database error", results);
+            } catch (RuntimeException e) {
+                log.error("Bulk import chunk of {} entries rolled back: unexpected error", chunk.size(), e);
+                rejectAll(chunk, "Chunk rolled back: unexpected error", results);
+            }
+        }
+        results.sort(Comparator.comparingLong(JournalEntryBulkImportResult::line));
+
+        for (JournalEntryBulkImportResult result : results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEW_LINE);
+        }
+        out.flush();
+
+        chunk.clear();
+        rejected.clear();
+    }
+
+    private static void rejectAll(Map<Long, JournalEntryCreateRequest> chunk, String message,
+                                  List<JournalEntryBulkImportResult> results) {
+        for (Long lineNo : chunk.keySet()) {
+            results.add(JournalEntryBulkImportResult.rejected(lineNo, message));
+        }
+    }
+}
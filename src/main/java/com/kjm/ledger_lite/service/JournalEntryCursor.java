@@ -0,0 +1,40 @@
+package com.kjm.ledger_lite.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 전표 목록 키셋 페이지네이션 커서
+ *
+ * - 마지막으로 내려준 전표의 (entryDate, id)를 담는다.
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출해서 내부 구조에 의존하지 않게 한다(opaque).
+ */
+record JournalEntryCursor(LocalDate entryDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    // 커서 -> 문자열
+    String encode() {
+        String raw = entryDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 문자열 -> 커서 (형식이 깨졌으면 400으로 응답되도록 IllegalArgumentException)
+    static JournalEntryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new JournalEntryCursor(LocalDate.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 디코딩 실패, 날짜/숫자 파싱 실패(NumberFormatException) 모두 여기로 온다
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
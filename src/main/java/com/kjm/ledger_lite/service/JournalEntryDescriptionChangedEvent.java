@@ -0,0 +1,12 @@
+package com.kjm.ledger_lite.service;
+
+/**
+ * 전표 적요 수정 이벤트
+ *
+ * - JournalEntryService가 적요를 수정할 때 발행한다.
+ * - 적요 검색 인덱스처럼 "커밋된 변경만" 반영해야 하는 곳은 AFTER_COMMIT으로 받는다.
+ */
+public record JournalEntryDescriptionChangedEvent(
+        Long entryId,
+        String description
+) {}
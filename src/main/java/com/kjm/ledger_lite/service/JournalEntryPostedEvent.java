@@ -0,0 +1,40 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 전표 저장 이벤트
+ *
+ * - JournalEntryService가 전표를 저장할 때 발행한다.
+ * - 메모리 인덱스처럼 "커밋된 전표만" 반영해야 하는 곳은
+ *   @TransactionalEventListener(phase = AFTER_COMMIT)로 받는다. (롤백된 전표는 전달되지 않음)
+ * - 엔티티 대신 필요한 값만 복사해서 담는다(커밋 후에는 영속성 컨텍스트가 닫혀 있으므로)
+ */
+public record JournalEntryPostedEvent(
+        Long entryId,
+        LocalDate entryDate,
+        String description,
+        List<Line> lines
+) {
+    public record Line(
+            Long accountId,
+            String dcType,
+            long amount
+    ) {}
+
+    // 저장소가 부여한 id + 저장한 요청으로 이벤트 생성
+    public static JournalEntryPostedEvent of(Long entryId, JournalEntryCreateRequest req) {
+        List<Line> lines = req.lines().stream()
+                .map(line -> new Line(line.accountId(), line.dcType(), line.amount()))
+                .toList();
+        return new JournalEntryPostedEvent(
+                entryId,
+                req.entryDate(),
+                req.description(),
+                lines
+        );
+    }
+}
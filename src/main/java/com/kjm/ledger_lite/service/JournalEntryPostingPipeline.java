@@ -0,0 +1,276 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.exceiption.PostingOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 전표 단건 등록 경로 선택 (ledger.posting.mode)
+ *
+ * ✅ sync (기본)
+ * - 요청 스레드마다 JournalEntryService.create → 트랜잭션/flush/커밋 1번씩
+ *
+ * ✅ group-commit
+ * - 검증(차대 일치, 계정 존재)은 요청 스레드에서 끝내고(실패는 바로 400/404),
+ *   통과한 전표만 크기가 정해진 큐(capacity)에 넣는다.
+ * - writer 스레드 1개가 큐에서 최대 batch-size건 또는 max-wait-ms 동안 모인 만큼 꺼내서
+ *   한 트랜잭션으로 저장(JDBC 배치 insert + 잔액 집계 1번 + 커밋 1번)하고, 요청마다 부여된 id로 응답을 깨운다.
+ * - 큐가 가득 차면 기다리지 않고 PostingOverloadedException(503 + Retry-After)
+ * - 배치 트랜잭션이 실패하면 그 배치를 1건씩 다시 커밋한다. 잘못된 1건(검증 뒤에 마감된 날짜 등)이
+ *   같은 배치의 다른 요청까지 실패시키지 않고, 그 요청만 자기 예외를 받는다.
+ *
+ * ✅ 실패/종료
+ * - writer 스레드가 예상 못한 오류(Error 포함)로 죽으면 running=false로 바꾸고,
+ *   꺼내 둔 배치와 큐에 남은 요청을 모두 실패 처리한다(요청 스레드가 영원히 기다리지 않게)
+ * - 요청 스레드는 timeout-ms까지만 기다린다. 그때까지 writer가 꺼내 가지 않았으면 큐에서 빼고 503,
+ *   이미 커밋 중이었다면 결과를 알 수 없으므로 500(저장되었을 수 있음)
+ * - 큐에 넣은 직후 running을 다시 확인해서, 종료/중단과 겹쳐 아무도 꺼내지 않을 요청은 바로 503
+ *
+ * ✅ 메트릭
+ * - ledger.posting.latency{mode}: 요청 1건이 id를 받기까지 걸린 시간(두 모드 p99 비교용)
+ * - ledger.posting.queue.size / ledger.posting.batch.size: group-commit 큐 적재량, 배치 크기
+ */
+@Component
+public class JournalEntryPostingPipeline {
+    private static final Logger log = LoggerFactory.getLogger(JournalEntryPostingPipeline.class);
+
+    static final String MODE_SYNC = "sync";
+    static final String MODE_GROUP_COMMIT = "group-commit";
+
+    private final JournalEntryService journalEntryService;
+    private final boolean groupCommit;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long timeoutMillis;
+    private final BlockingQueue<Pending> queue;
+
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public JournalEntryPostingPipeline(JournalEntryService journalEntryService,
+                                       MeterRegistry registry,
+                                       @Value("${ledger.posting.mode:sync}") String mode,
+                                       @Value("${ledger.posting.group-commit.capacity:4096}") int capacity,
+                                       @Value("${ledger.posting.group-commit.batch-size:64}") int batchSize,
+                                       @Value("${ledger.posting.group-commit.max-wait-ms:2}") long maxWaitMs,
+                                       @Value("${ledger.posting.group-commit.timeout-ms:30000}") long timeoutMs) {
+        if (!MODE_SYNC.equals(mode) && !MODE_GROUP_COMMIT.equals(mode)) {
+            throw new IllegalStateException("ledger.posting.mode must be sync or group-commit: " + mode);
+        }
+        this.journalEntryService = journalEntryService;
+        this.groupCommit = MODE_GROUP_COMMIT.equals(mode);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.timeoutMillis = timeoutMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.latency = Timer.builder("ledger.posting.latency")
+                .description("Time until a posted journal entry gets its id")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("ledger.posting.batch.size")
+                .description("Journal entries committed per group-commit transaction")
+                .baseUnit("entries")
+                .register(registry);
+        Gauge.builder("ledger.posting.queue.size", queue, BlockingQueue::size)
+                .description("Journal entries waiting for the group-commit writer")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!groupCommit) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "journal-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Group-commit posting enabled: capacity={}, batchSize={}, maxWait={}us",
+                queue.remainingCapacity(), batchSize, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+    }
+
+    /**
+     * 전표 1건 등록 후 id 반환
+     * - sync: 이 스레드에서 바로 저장
+     * - group-commit: 검증 후 큐에 넣고, writer가 배치를 커밋할 때까지(최대 timeout-ms) 기다린다
+     */
+    public Long post(JournalEntryCreateRequest req) {
+        long start = System.nanoTime();
+        try {
+            if (!groupCommit) {
+                return journalEntryService.create(req);
+            }
+            journalEntryService.validate(req);
+            Pending pending = new Pending(req, new CompletableFuture<>());
+            if (!running || !queue.offer(pending)) {
+                throw new PostingOverloadedException("Posting queue is full");
+            }
+            // 넣는 사이에 writer가 멈췄으면(종료/중단) 아무도 꺼내지 않는다 → 아직 큐에 있으면 빼고 실패
+            if (!running && queue.remove(pending)) {
+                throw new PostingOverloadedException("Posting pipeline is not running");
+            }
+            return await(pending);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // writer의 결과를 기다린다. writer 스레드에서 난 예외는 그대로 다시 던져서 전역 핸들러가 처리하게 한다
+    private Long await(Pending pending) {
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group-commit posting failed", e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new PostingOverloadedException("Posting queue did not drain within " + timeoutMillis + " ms");
+            }
+            throw new IllegalStateException("Group-commit writer did not answer within " + timeoutMillis
+                    + " ms; the entry may have been committed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    /**
+     * writer 스레드: 배치 모으기 → 커밋 → 응답 깨우기 반복
+     * - 첫 건이 올 때까지는 기다리고, 첫 건 이후로는 max-wait-ms까지만 더 모은다.
+     * - 종료(running=false) 후에도 큐에 남은 요청은 마저 저장한다.
+     * - 예상 못한 오류로 루프가 끝나면 running=false, 꺼내 둔 배치와 큐에 남은 요청은 모두 실패 처리
+     */
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            drain(batch);
+        } catch (Throwable t) {
+            log.error("Group-commit writer stopped unexpectedly", t);
+            running = false;
+            for (Pending pending : batch) {
+                pending.result().completeExceptionally(t);
+            }
+            failQueued("Posting pipeline stopped");
+            if (t instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private void drain(List<Pending> batch) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // 인터럽트는 종료 요청으로 본다: 모아둔 배치와 큐에 남은 요청은 마저 저장하고 끝낸다
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 1개 커밋
+     * - 실패하면 1건씩 다시 커밋해서 실패 원인인 요청만 예외를 받게 한다(배치가 1건이면 그대로 실패)
+     */
+    private void commit(List<Pending> batch) {
+        List<JournalEntryCreateRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request());
+        }
+        try {
+            List<Long> ids = journalEntryService.postValidated(requests);
+            batchSizes.record(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(ids.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group-commit batch of {} entries failed, retrying one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    Long id = journalEntryService.postValidated(List.of(pending.request())).get(0);
+                    batchSizes.record(1);
+                    pending.result().complete(id);
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    // 큐에 남은 요청을 기다리지 않게 실패 처리
+    private void failQueued(String message) {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new PostingOverloadedException(message));
+        }
+    }
+
+    // 새 요청은 받지 않고, 큐에 남은 요청을 저장한 뒤 writer 종료
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // writer가 끝난 뒤에 들어온 요청은 기다리지 않게 실패 처리
+        failQueued("Posting pipeline is shutting down");
+    }
+
+    private record Pending(JournalEntryCreateRequest request, CompletableFuture<Long> result) {}
+}
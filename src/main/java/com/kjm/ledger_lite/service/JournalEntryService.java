@@ -1,21 +1,29 @@
 package com.kjm.ledger_lite.service;
 
+import com.kjm.ledger_lite.controller.dto.JournalEntryBulkImportResult;
 import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
 import com.kjm.ledger_lite.controller.dto.JournalEntryDetailResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryPageResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySearchResponse;
 import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
 import com.kjm.ledger_lite.controller.dto.JournalEntryUpdateRequest;
 import com.kjm.ledger_lite.domain.Account;
-import com.kjm.ledger_lite.domain.JournalEntry;
-import com.kjm.ledger_lite.domain.JournalLine;
 import com.kjm.ledger_lite.exceiption.ResourceNotFoundException;
-import com.kjm.ledger_lite.repository.AccountRepository;
-import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import com.kjm.ledger_lite.index.JournalEntrySearchIndex;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 회계 규칙(차변합 = 대변합) 같은 비즈니스 로직을 Controller 밖으로 분리
@@ -23,161 +31,318 @@ import java.util.List;
  */
 @Service
 public class JournalEntryService {
-    private final JournalEntryRepository journalEntryRepository;
-    private final AccountRepository accountRepository;
+    // 목록 조회 한 페이지의 최대 크기
+    static final int MAX_PAGE_SIZE = 200;
+    // 전표일자 허용 범위 = 기간 조건을 생략했을 때 쓰는 양 끝 날짜
+    // (범위 밖 날짜를 받으면 잔액 집계에는 잡히는데 목록/원장/기간 시산표에서는 안 보이게 된다)
+    static final LocalDate MIN_ENTRY_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate MAX_ENTRY_DATE = LocalDate.of(9999, 12, 31);
+    static final String ENTRY_DATE_RANGE_MESSAGE = "entryDate must be between " + MIN_ENTRY_DATE + " and " + MAX_ENTRY_DATE;
+    // 차대 검증 실패 메시지(거절 메트릭에서 사유 구분에 사용)
+    static final String UNBALANCED_MESSAGE = "Debit sum must equal credit sum";
+    static final String INVALID_DC_TYPE_MESSAGE = "dcType must be DEBIT or CREDIT";
+
+    private final JournalEntryStore journalEntryStore;
+    private final AccountCache accountCache;
+    private final AccountBalanceService accountBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerMetrics ledgerMetrics;
+    private final JournalEntrySearchIndex journalEntrySearchIndex;
+    private final PeriodCloseService periodCloseService;
     
-    public JournalEntryService(JournalEntryRepository journalEntryRepository,
-                               AccountRepository accountRepository) {
-        this.journalEntryRepository = journalEntryRepository;
-        this.accountRepository = accountRepository;
+    public JournalEntryService(JournalEntryStore journalEntryStore,
+                               AccountCache accountCache,
+                               AccountBalanceService accountBalanceService,
+                               ApplicationEventPublisher eventPublisher,
+                               LedgerMetrics ledgerMetrics,
+                               JournalEntrySearchIndex journalEntrySearchIndex,
+                               PeriodCloseService periodCloseService) {
+        this.journalEntryStore = journalEntryStore;
+        this.accountCache = accountCache;
+        this.accountBalanceService = accountBalanceService;
+        this.eventPublisher = eventPublisher;
+        this.ledgerMetrics = ledgerMetrics;
+        this.journalEntrySearchIndex = journalEntrySearchIndex;
+        this.periodCloseService = periodCloseService;
     }
     
     // 전표 저장 메서드
     // 이 메서드 안의 DB 작업을 하나의 트렌잭션으로 묶음
     // 중간에 DB 관련 에러가 발생해도 저장이 모두 롤백되어 데이터가 꼬이지 않음
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional
     public Long create(JournalEntryCreateRequest req) {
+        // 1~3. 차대 검증 + 계정과목 존재 검증
+        validate(req);
+
+        // 4~5. 저장 + 잔액 집계 갱신 + 저장 이벤트 발행
+        // 생성된 전표 id 반환
+        return postValidated(List.of(req)).get(0);
+    }
+
+    /**
+     * 전표 1건 검증 (저장 없음)
+     * 0. 전표일자가 허용 범위(MIN_ENTRY_DATE ~ MAX_ENTRY_DATE) 안인지, 마감된 기간의 날짜인지 검증
+     * 1~2. 차변/대변 합계 계산 및 dcType, 차대 일치 검증
+     * 3. 요청에 등장하는 계정과목을 한 번에 조회(캐시 → 없는 것만 2차 캐시/DB에서 1번) + 존재 검증
+     * group-commit 모드에서는 요청 스레드가 이것만 하고, 저장은 writer 스레드가 모아서 한다.
+     */
+    public void validate(JournalEntryCreateRequest req) {
+        validateEntryDate(req.entryDate());
+        periodCloseService.requireOpen(req.entryDate());
+        validateBalanced(req.lines());
+        Map<Long, Account> accounts = accountCache.getAll(collectAccountIds(List.of(req)));
+        validateAccounts(req.lines(), accounts);
+    }
+
+    /**
+     * 검증이 끝난 전표들을 한 트랜잭션으로 저장 (요청 순서대로 id 반환)
+     * 3-1. 마감 잠금(읽기)을 잡고 마감일을 다시 확인(검증과 저장 사이에 마감이 커밋됐을 수 있음)
+     * 4. 저장소(JPA/저널 파일)에 한 번에 저장(JPA: JDBC 배치 insert)
+     * 5. 잔액 집계 갱신(계정별 1번) + 저장 이벤트 발행
+     */
+    @Transactional
+    public List<Long> postValidated(List<JournalEntryCreateRequest> reqs) {
+        periodCloseService.lockForPosting();
+        for (JournalEntryCreateRequest req : reqs) {
+            periodCloseService.requireOpen(req.entryDate());
+        }
+        List<Long> ids = journalEntryStore.appendAll(reqs);
+        List<JournalEntryPostedEvent> events = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            events.add(JournalEntryPostedEvent.of(ids.get(i), reqs.get(i)));
+        }
+        posted(events);
+        return ids;
+    }
+
+    /**
+     * 전표 일괄 등록 (청크 1개 = 트랜잭션 1개)
+     *
+     * - key: 요청 NDJSON의 줄 번호, value: 전표 요청
+     * - 청크 안의 계정과목은 AccountCache로 한 번에 조회(라인마다 select 하지 않음)
+     * - 차대 불일치/없는 계정 같은 건별 오류는 해당 건만 REJECTED로 돌려주고 나머지는 저장
+     * - 통과한 전표들은 저장소에 한 번에 넘긴다(JPA: JDBC 배치 insert, 저널: fsync 1번)
+     */
+    @Transactional
+    public List<JournalEntryBulkImportResult> importChunk(Map<Long, JournalEntryCreateRequest> chunk) {
+        // 0. 마감과 겹치지 않게 잠금(읽기)을 먼저 잡는다 → 아래 건별 마감일 검증이 커밋된 최신 마감일 기준
+        periodCloseService.lockForPosting();
+
+        // 1. 청크에 등장하는 계정과목을 한 번에 조회
+        Map<Long, Account> accounts = accountCache.getAll(collectAccountIds(chunk.values()));
+
+        // 2. 건별 검증
+        List<JournalEntryBulkImportResult> results = new ArrayList<>(chunk.size());
+        List<Long> acceptedLineNos = new ArrayList<>(chunk.size());
+        List<JournalEntryCreateRequest> accepted = new ArrayList<>(chunk.size());
+        for (Map.Entry<Long, JournalEntryCreateRequest> item : chunk.entrySet()) {
+            long lineNo = item.getKey();
+            JournalEntryCreateRequest req = item.getValue();
+            try {
+                validateEntryDate(req.entryDate());
+                periodCloseService.requireOpen(req.entryDate());
+                validateBalanced(req.lines());
+                validateAccounts(req.lines(), accounts);
+                acceptedLineNos.add(lineNo);
+                accepted.add(req);
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                ledgerMetrics.recordRejected("bulk", e.getMessage());
+                results.add(JournalEntryBulkImportResult.rejected(lineNo, e.getMessage()));
+            }
+        }
+
+        // 3. 통과한 전표를 한 번에 저장
+        List<Long> ids = journalEntryStore.appendAll(accepted);
+        List<JournalEntryPostedEvent> events = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(JournalEntryBulkImportResult.created(acceptedLineNos.get(i), ids.get(i)));
+            events.add(JournalEntryPostedEvent.of(ids.get(i), accepted.get(i)));
+        }
+
+        // 4. 청크 전체의 계정별 증감분을 한 번에 잔액 집계에 반영 + 이벤트 발행
+        posted(events);
+
+        results.sort(Comparator.comparingLong(JournalEntryBulkImportResult::line));
+        return results;
+    }
+
+    /**
+     * 저장된 전표들의 후처리
+     * - 같은 트랜잭션 안에서 계정별 잔액 집계 갱신
+     * - 저장 이벤트 발행(메모리 인덱스들은 커밋 후에 반영)
+     */
+    private void posted(List<JournalEntryPostedEvent> events) {
+        accountBalanceService.apply(events);
+        for (JournalEntryPostedEvent event : events) {
+            eventPublisher.publishEvent(event);
+            ledgerMetrics.recordPosted(event.lines().size());
+        }
+    }
+
+    // 요청들에 등장하는 계정과목 id 모으기(중복 제거)
+    private Set<Long> collectAccountIds(Collection<JournalEntryCreateRequest> reqs) {
+        Set<Long> accountIds = new HashSet<>();
+        for (JournalEntryCreateRequest req : reqs) {
+            for (JournalEntryCreateRequest.Line line : req.lines()) {
+                accountIds.add(line.accountId());
+            }
+        }
+        return accountIds;
+    }
+
+    // 라인의 계정과목이 모두 존재하는지 검증 (미리 조회해 둔 계정 Map 사용)
+    private void validateAccounts(List<JournalEntryCreateRequest.Line> lines,
+                                  Map<Long, Account> accounts) {
+        for (JournalEntryCreateRequest.Line line : lines) {
+            if (!accounts.containsKey(line.accountId())) {
+                throw new ResourceNotFoundException("Account not found: " + line.accountId());
+            }
+        }
+    }
+
+    // 전표일자 허용 범위 검증 (null은 DTO 검증(@NotNull)에서 걸러진다)
+    static void validateEntryDate(LocalDate entryDate) {
+        if (entryDate != null && (entryDate.isBefore(MIN_ENTRY_DATE) || entryDate.isAfter(MAX_ENTRY_DATE))) {
+            throw new IllegalArgumentException(ENTRY_DATE_RANGE_MESSAGE);
+        }
+    }
+
+    /**
+     * 차변/대변 합계 계산 및 검증
+     * - dcType은 DEBIT/CREDIT만 허용
+     * - 차변합과 대변합이 일치해야 함
+     * 단건 등록/일괄 등록이 같은 규칙을 쓰도록 한 곳에 둔다.
+     */
+    static void validateBalanced(List<JournalEntryCreateRequest.Line> lines) {
         // 1. 차번/대변 합계 계산 밑 dcType 유효성 검증
         long debitSum = 0;
         long creditSum = 0;
 
-        for (JournalEntryCreateRequest.Line line : req.lines()) {
+        for (JournalEntryCreateRequest.Line line : lines) {
             if ("DEBIT".equals(line.dcType())) {
                 debitSum += line.amount();
             } else if ("CREDIT".equals(line.dcType())) {
                 creditSum += line.amount();
             } else {
                 // 차변 대변을 잘못 기입한 경우
-                throw new IllegalArgumentException("dcType must be DEBIT or CREDIT");
+                throw new IllegalArgumentException(INVALID_DC_TYPE_MESSAGE);
             }
         }
 
         // 2. 차변합과 대변합이 일치하는지 검증
         if (debitSum != creditSum) {
-            throw new IllegalArgumentException("Debit sum must equal credit sum");
+            throw new IllegalArgumentException(UNBALANCED_MESSAGE);
         }
-
-        // 3. 전표 엔티티 생성
-        JournalEntry entry = new JournalEntry(req.entryDate(), req.description());
-
-        // 4. 라인 생성 + 계정과목 존재 검증 + 전표에 연결
-        for (JournalEntryCreateRequest.Line line: req.lines()) {
-            // accountId로 계정과목 조회
-            Account account = accountRepository.findById(line.accountId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + line.accountId()));
-
-            JournalLine journalLine = new JournalLine(line.dcType(), line.amount(), account);
-            // 전표에 분개 라인 추가
-            entry.addLine(journalLine);
-        }
-        // 5. 저장. save 호출
-        JournalEntry saved = journalEntryRepository.save(entry);
-        // 생성된 전표 id 반환
-
-        return saved.getId();
     }
 
     /**
      * 전표 단건 조회
-     * 1. findById로 전표 조회
+     * 1. 저장소에서 전표 + 라인 + 계정과목 조회(JPA: DTO 프로젝션 select 1번)
      * 없으면 전역 핸들러가 404 반환
-     * 있으면 DTO로 변환하여 응답
+     * 있으면 Detail DTO로 응답
      */
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional(readOnly = true)
     public JournalEntryDetailResponse get(Long id) {
-        // 조회 할 전표 할당
-        JournalEntry entry = journalEntryRepository.findById(id)
+        return journalEntryStore.findDetail(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JournalEntry not found: " + id));
-        // 엔티티 -> DTO 변환
-        List<JournalEntryDetailResponse.Line> lines = entry.getLines().stream()
-                .map(this::toLineDto)
-                .toList();
-
-        return new JournalEntryDetailResponse(
-                entry.getId(),
-                entry.getEntryDate(),
-                entry.getDescription(),
-                lines
-        );
     }
+
     /**
-     * JournalLine 엔티티를 Line DTO로 변환하는 메서드
+     * 전표 변경 버전 조회 (조건부 GET: If-None-Match 비교용)
+     * - 상세(라인 + 계정 join) 대신 버전 컬럼 하나만 읽는다.
+     * 없으면 404
      */
-    private JournalEntryDetailResponse.Line toLineDto(JournalLine line) {
-        return new JournalEntryDetailResponse.Line(
-                line.getDcType(),
-                line.getAmount(),
-                line.getAccount().getId(),
-                line.getAccount().getCode(),
-                line.getAccount().getName()
-        );
+    @Transactional(readOnly = true)
+    public long getVersion(Long id) {
+        return journalEntryStore.findVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("JournalEntry not found: " + id));
     }
 
     /**
-     * 전표 목록 (요약)조회
-     * 
+     * 전표 목록 (요약)조회 - 키셋(커서) 페이지네이션 + 기간(from ~ to) 조건
+     *
      * Controller에서 이 메서드 호출
-     * Repository가 전표 + 라인 + 계정까지 fetch join을 통해 가져옴
-     * Service가 각 전표의 라인을 순회하며 차/대 합계를 계산
-     * Summary DTO 리스트를 만들어 반환
+     * 1. from ~ to 기간에서 (entryDate desc, id desc) 기준으로 한 페이지 분량(limit + 1)을 저장소에서 조회
+     *    - from/to가 없으면 전체 기간
+     *    - limit + 1개를 읽어서 다음 페이지가 있는지 판단
+     *    - JPA 저장소는 차/대 합계를 미리 계산해 둔 요약 테이블(journal_entry_summary)만 읽는다(라인 join/집계 없음)
+     * 2. 마지막 전표로 다음 페이지 커서를 만들어 함께 반환
      */
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional(readOnly = true)
-    public List<JournalEntrySummaryResponse> listSummaries() {
-        // 1. 전표 목록을 DB에서 조회
-        List<JournalEntry> entries =
-                journalEntryRepository.findAllWithLinesAndAccountOrderByEntryDateDesc();
-        // 2. 엔티티 -> 요약 DTO로 변환
-        List<JournalEntrySummaryResponse> result = new ArrayList<>();
-
-        for (JournalEntry je : entries) {
-            long debitTotal = 0L;
-            long creditTotal = 0L;
-
-            // 라인들을 순회하며 차/대 합계 계산
-            for (JournalLine line : je.getLines()) {
-                if ("DEBIT".equals(line.getDcType())) {
-                    debitTotal += line.getAmount();
-                } else if ("CREDIT".equals(line.getDcType())) {
-                    creditTotal += line.getAmount();
-                }
-            }
-            // LocalData 형식으로 변환
-            LocalDate entryDate = LocalDate.parse(je.getEntryDate());
-            result.add(new JournalEntrySummaryResponse(
-                    je.getId(),
-                    entryDate,
-                    je.getDescription(),
-                    debitTotal,
-                    creditTotal
-            ));
-        }
-        return result;
+    public JournalEntryPageResponse listSummaries(int limit, String cursor, LocalDate from, LocalDate to) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDate fromDate = from != null ? from : MIN_ENTRY_DATE;
+        LocalDate toDate = to != null ? to : MAX_ENTRY_DATE;
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        // 1. 이번 페이지 조회(limit + 1건)
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            JournalEntryCursor after = JournalEntryCursor.decode(cursor);
+            afterDate = after.entryDate();
+            afterId = after.id();
+        }
+        List<JournalEntrySummaryResponse> page =
+                journalEntryStore.findSummaries(fromDate, toDate, afterDate, afterId, limit + 1);
+
+        boolean hasNext = page.size() > limit;
+        List<JournalEntrySummaryResponse> result = hasNext ? page.subList(0, limit) : page;
+
+        // 2. 다음 페이지가 있으면 마지막 전표 기준으로 커서 생성
+        String nextCursor = null;
+        if (hasNext) {
+            JournalEntrySummaryResponse last = result.get(result.size() - 1);
+            nextCursor = new JournalEntryCursor(last.entryDate(), last.id()).encode();
+        }
+        return new JournalEntryPageResponse(result, nextCursor);
+    }
+
+    /**
+     * 전표 적요 검색 (단어 AND)
+     *
+     * 1. 검색어를 단어로 쪼갠다(글자/숫자가 아닌 문자는 구분자, 대소문자 무시)
+     * 2. 메모리 역색인에서 모든 단어를 포함하는 전표 id를 찾는다(DB 조회 없음)
+     * 3. 최근 등록된 limit건만 저장소에서 요약으로 읽는다(JPA: 요약 테이블 PK in 조회 1번)
+     */
+    @Timed(value = "ledger.service", histogram = true)
+    @Transactional(readOnly = true)
+    public JournalEntrySearchResponse search(String q, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<String> tokens = JournalEntrySearchIndex.tokenize(q);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("q must contain at least one word");
+        }
+        JournalEntrySearchIndex.Hits hits = journalEntrySearchIndex.search(tokens, limit);
+        return new JournalEntrySearchResponse(q, hits.totalHits(), journalEntryStore.findSummariesByIds(hits.ids()));
     }
 
     /**
      * 전표 적요 수정
      * Controller가 id, req를 받아 Service 호출
-     * Service가 전표 조회
-     * 엔티티의 description 변경
-     * 트랜잭션 커밋 시점에 JPA Dirty Checking으로 UPDATE 반영
-     * 수정된 전표를 Detail DTO로 만들어 반환
+     * 1. 저장소에서 적요만 수정(JPA: JPQL update, 저널: 적요 수정 레코드 추가)
+     *    - 없는 전표면 404, 마감되어 보관 테이블로 옮긴 전표면 400
+     * 2. 적요 수정 이벤트 발행(검색 인덱스는 커밋 후에 반영)
+     * 3. 응답에 라인이 필요하므로 상세 조회로 Detail DTO를 만들어 반환
      */
+    @Timed(value = "ledger.service", histogram = true)
     @Transactional
     public JournalEntryDetailResponse updateDescription(Long id, JournalEntryUpdateRequest req) {
-        // 수정할 대상 전표 조회
-        JournalEntry entry = journalEntryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("JournalEntry not found"));
-        // 엔티티 상태 변경(Dirty Check 대상)
-        entry.changeDescription(req.description());
-        // 수정된 엔티티 -> DTO 변환
-        List<JournalEntryDetailResponse.Line> lines = entry.getLines().stream()
-                .map(this::toLineDto)
-                .toList();
-        return new JournalEntryDetailResponse(
-                entry.getId(),
-                entry.getEntryDate(),
-                entry.getDescription(),
-                lines
-        );
+        if (!journalEntryStore.updateDescription(id, req.description())) {
+            if (journalEntryStore.findVersion(id).isPresent()) {
+                throw new IllegalArgumentException("JournalEntry is in a closed period: " + id);
+            }
+            throw new ResourceNotFoundException("JournalEntry not found");
+        }
+        eventPublisher.publishEvent(new JournalEntryDescriptionChangedEvent(id, req.description()));
+        return get(id);
     }
 }
@@ -0,0 +1,56 @@
+package com.kjm.ledger_lite.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전표 관련 업무 메트릭
+ *
+ * ✅ 항목
+ * - ledger.journal-entry.lines: 저장된 전표 1건당 라인 수(히스토그램)
+ * - ledger.journal-entry.rejected: 회계 규칙 위반으로 거절된 전표 수
+ *   - reason: unbalanced(차대 불일치) / dc-type(DEBIT/CREDIT 아님)
+ *   - source: api(단건 등록) / bulk(NDJSON 일괄 등록)
+ */
+@Component
+public class LedgerMetrics {
+
+    private final DistributionSummary linesPerEntry;
+    private final MeterRegistry registry;
+
+    public LedgerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.linesPerEntry = DistributionSummary.builder("ledger.journal-entry.lines")
+                .description("Lines per posted journal entry")
+                .baseUnit("lines")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordPosted(int lineCount) {
+        linesPerEntry.record(lineCount);
+    }
+
+    /**
+     * 거절 사유가 회계 규칙 위반(validateBalanced)이면 카운트
+     * - 그 밖의 400(잘못된 커서/limit 등)은 전표 거절이 아니므로 세지 않는다.
+     */
+    public void recordRejected(String source, String message) {
+        String reason;
+        if (JournalEntryService.UNBALANCED_MESSAGE.equals(message)) {
+            reason = "unbalanced";
+        } else if (JournalEntryService.INVALID_DC_TYPE_MESSAGE.equals(message)) {
+            reason = "dc-type";
+        } else {
+            return;
+        }
+        Counter.builder("ledger.journal-entry.rejected")
+                .description("Journal entries rejected by debit/credit validation")
+                .tag("reason", reason)
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+}
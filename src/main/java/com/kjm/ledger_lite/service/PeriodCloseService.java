@@ -0,0 +1,196 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.PeriodCloseResponse;
+import com.kjm.ledger_lite.domain.PeriodClose;
+import com.kjm.ledger_lite.exceiption.FeatureNotSupportedException;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.PeriodCloseRepository;
+import com.kjm.ledger_lite.store.ArchivedPeriod;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 기간 마감 (hot/cold 분리)
+ *
+ * ✅ 왜 필요?
+ * - 전표/라인 테이블이 계속 커지면 목록/기간 집계/기동 시 정합성 확인이 모두 지난 기간까지 읽는다.
+ * - 마감한 기간의 전표는 바뀌지 않으므로 보관 테이블(journal_entry_archive / journal_line_archive)로 옮기고,
+ *   hot 테이블에는 그 기간의 계정별 차/대 합계를 담은 개시 전표 1건만 남긴다.
+ *
+ * ✅ 마감 1번 (트랜잭션 1개)
+ * 0. 마감 잠금(쓰기)을 잡는다: 진행 중인 전표 등록 트랜잭션이 끝날 때까지 기다리고, 마감이 커밋/롤백될 때까지 새 등록을 막는다.
+ * 1. closedThrough 이하 전표/라인을 보관 테이블로 복사하고 hot 테이블에서 지운다(저장소, JPQL 일괄 처리)
+ * 2. 옮긴 라인의 계정별 합계로 개시 전표 1건을 closedThrough 날짜로 저장한다(계정마다 차변/대변 라인, 차대 일치)
+ *    - 차/대 합계가 마감 전과 같으므로 잔액 집계/메모리 인덱스에는 저장 이벤트를 보내지 않고 라인 수만 보정한다.
+ * 3. 마감 이력(PeriodClose) 저장 + PeriodClosedEvent 발행. 커밋 후(AFTER_COMMIT)
+ *    - closedThrough 이하 날짜로는 전표 등록을 막는다.
+ *    - 기준일 잔액 인덱스는 마감일 이하 버킷을 마감일 하나로 합치고, 검색 색인은 hot 전표로 다시 만든다(재기동 후와 같은 모양)
+ *
+ * ✅ 등록과 마감의 직렬화
+ * - 전표 등록 트랜잭션은 저장 전에 마감 잠금(읽기)을 잡고 트랜잭션이 끝날 때 놓는다(lockForPosting).
+ *   등록끼리는 동시에 진행되고, 마감과는 겹치지 않는다.
+ * - 마감일(closedThrough)은 마감 커밋 직후(afterCommit), 쓰기 잠금을 놓기 전에 바뀐다.
+ *   그래서 잠금을 잡은 뒤 requireOpen으로 다시 확인하면 항상 커밋된 최신 마감일과 비교한다.
+ * - DB 행 잠금(select ... for update)은 H2에 공유 잠금이 없어 등록끼리도 줄 세우므로 쓰지 않는다.
+ *   (인스턴스 1개 전제: 메모리 인덱스들과 같음)
+ *
+ * ✅ 메모
+ * - 마감한 전표도 id로 상세/버전 조회는 된다(보관 테이블). 적요 수정은 400
+ * - 목록/검색/기준일 잔액은 hot 데이터 기준: 마감일 이전 날짜의 기준일 잔액은 개시 전표에 합쳐진다.
+ * - jpa 엔진만 지원: mmap 엔진이면 아무것도 하기 전에 FeatureNotSupportedException(501)
+ */
+@Service
+public class PeriodCloseService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(PeriodCloseService.class);
+
+    private final JournalEntryStore journalEntryStore;
+    private final PeriodCloseRepository periodCloseRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean supported;
+
+    // 가장 최근에 커밋된 마감일 (없으면 null)
+    private volatile LocalDate closedThrough;
+    // 등록(읽기) / 마감(쓰기) 잠금, 트랜잭션이 끝날 때까지 잡고 있는다
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    public PeriodCloseService(JournalEntryStore journalEntryStore,
+                              PeriodCloseRepository periodCloseRepository,
+                              AccountBalanceService accountBalanceService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${ledger.storage.engine:jpa}") String engine) {
+        this.journalEntryStore = journalEntryStore;
+        this.periodCloseRepository = periodCloseRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.eventPublisher = eventPublisher;
+        this.supported = "jpa".equals(engine);
+    }
+
+    /**
+     * 마감된 날짜로 전표를 등록하려 하면 400
+     * - 전표 검증(JournalEntryService)에서 건마다 호출한다(메모리 비교만, DB 조회 없음)
+     * - 저장 직전 lockForPosting 뒤에 한 번 더 호출한다(검증 후 커밋된 마감 반영)
+     */
+    public void requireOpen(LocalDate entryDate) {
+        LocalDate through = closedThrough;
+        if (through != null && entryDate != null && !entryDate.isAfter(through)) {
+            throw new IllegalArgumentException("Period is closed through " + through);
+        }
+    }
+
+    /**
+     * 전표 등록 트랜잭션 안에서 저장 전에 호출: 이 트랜잭션이 끝날 때까지 마감과 겹치지 않게 한다
+     * - 잡은 뒤 요청 날짜를 requireOpen으로 다시 확인해야 한다(검증과 잠금 사이에 마감이 커밋됐을 수 있음)
+     */
+    public void lockForPosting() {
+        holdUntilCompletion(closeLock.readLock());
+    }
+
+    // 트랜잭션이 끝날 때(커밋/롤백 모두) 놓는다. afterCommit 리스너들(onClosed 포함)이 끝난 뒤다.
+    private static void holdUntilCompletion(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Period close lock requires an active transaction");
+        }
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * closedThrough까지(포함) 기간 마감
+     * - 이미 마감한 날짜 이하, 오늘 이후 날짜는 400
+     * - jpa 엔진이 아니면 501
+     */
+    @Timed(value = "ledger.service", histogram = true)
+    @Transactional
+    public PeriodCloseResponse close(LocalDate through) {
+        if (!supported) {
+            throw new FeatureNotSupportedException("Period close requires ledger.storage.engine=jpa");
+        }
+        if (through == null) {
+            throw new IllegalArgumentException("closedThrough must not be null");
+        }
+        if (!through.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("closedThrough must be before today");
+        }
+        // 0. 진행 중인 등록이 끝나길 기다리고, 끝날 때까지 새 등록/마감을 막는다
+        holdUntilCompletion(closeLock.writeLock());
+        periodCloseRepository.findTopByOrderByClosedThroughDesc().ifPresent(last -> {
+            if (!through.isAfter(last.getClosedThrough())) {
+                throw new IllegalArgumentException("Period already closed through " + last.getClosedThrough());
+            }
+        });
+
+        // 1. 보관 테이블로 옮기기
+        ArchivedPeriod archived = journalEntryStore.archiveThrough(through);
+
+        // 2. 개시 전표 + 라인 수 보정
+        Long openingEntryId = null;
+        Map<Long, Long> lineCountDeltas = new HashMap<>();
+        List<JournalEntryCreateRequest.Line> lines = new ArrayList<>();
+        for (AccountLineTotals t : archived.totals()) {
+            long openingLines = 0;
+            if (t.debitTotal() > 0) {
+                lines.add(new JournalEntryCreateRequest.Line("DEBIT", t.debitTotal(), t.accountId()));
+                openingLines++;
+            }
+            if (t.creditTotal() > 0) {
+                lines.add(new JournalEntryCreateRequest.Line("CREDIT", t.creditTotal(), t.accountId()));
+                openingLines++;
+            }
+            lineCountDeltas.put(t.accountId(), openingLines - t.lineCount());
+        }
+        if (!lines.isEmpty()) {
+            openingEntryId = journalEntryStore.appendAll(List.of(new JournalEntryCreateRequest(
+                    through, "Opening balance (closed through " + through + ")", lines))).get(0);
+        }
+        accountBalanceService.adjustLineCounts(lineCountDeltas);
+
+        // 3. 마감 이력
+        periodCloseRepository.save(new PeriodClose(through, openingEntryId, archived.entryCount(), archived.lineCount()));
+        eventPublisher.publishEvent(new PeriodClosedEvent(through));
+        log.info("Period closed through {} ({} entries, {} lines archived)",
+                through, archived.entryCount(), archived.lineCount());
+        return new PeriodCloseResponse(through, archived.entryCount(), archived.lineCount(), openingEntryId);
+    }
+
+    // 커밋된 마감만 등록 차단 기준에 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onClosed(PeriodClosedEvent event) {
+        closedThrough = event.closedThrough();
+    }
+
+    // 기동 시 가장 최근 마감일을 읽어 둔다
+    // 웹 서버가 요청을 받기 전에 읽어야 그 사이 마감된 날짜로 들어온 등록을 막을 수 있다(ApplicationRunner는 너무 늦음)
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        closedThrough = periodCloseRepository.findTopByOrderByClosedThroughDesc()
+                .map(PeriodClose::getClosedThrough)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kjm.ledger_lite.service;
+
+import java.time.LocalDate;
+
+/**
+ * 기간 마감 이벤트
+ *
+ * - PeriodCloseService가 마감을 저장할 때 발행한다.
+ * - 마감일 이하 전표 등록을 막는 기준(closedThrough)은 커밋된 마감만 반영해야 하므로 AFTER_COMMIT으로 받는다.
+ * - 기준일 잔액 인덱스 / 검색 색인도 AFTER_COMMIT으로 받아 보관으로 옮긴 전표를 개시 전표로 바꿔 반영한다.
+ */
+public record PeriodClosedEvent(
+        LocalDate closedThrough
+) {}
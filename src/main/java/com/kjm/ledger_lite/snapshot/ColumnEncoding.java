@@ -0,0 +1,91 @@
+package com.kjm.ledger_lite.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 열 단위 라인 파일의 값 인코딩 모음 (varint, zigzag, bit packing)
+ *
+ * ✅ 메모
+ * - varint: 7비트씩 끊어 하위 비트부터, 최상위 비트 1 = 다음 바이트가 이어짐 (작은 수일수록 짧다)
+ * - zigzag: 음수를 작은 양수로 바꿔서(0, -1, 1, -2 → 0, 1, 2, 3) varint로 짧게 쓴다.
+ * - bit packing: 0 이상 값을 bitWidth 비트씩 이어 붙인다(하위 비트부터, 바이트 경계 무시)
+ */
+final class ColumnEncoding {
+
+    private ColumnEncoding() {
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // 0 ~ maxValue를 담는 데 필요한 비트 수 (maxValue = 0이면 0비트: 값을 쓰지 않는다)
+    static int bitWidth(int maxValue) {
+        return 32 - Integer.numberOfLeadingZeros(maxValue);
+    }
+
+    static int packedBytes(int count, int bitWidth) {
+        return (int) (((long) count * bitWidth + 7) / 8);
+    }
+
+    static void packBits(ByteBuffer buffer, int[] values, int count, int bitWidth) {
+        long acc = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            acc |= (long) values[i] << bits;
+            bits += bitWidth;
+            while (bits >= 8) {
+                buffer.put((byte) acc);
+                acc >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            buffer.put((byte) acc);
+        }
+    }
+
+    static void unpackBits(ByteBuffer buffer, int[] values, int count, int bitWidth) {
+        if (bitWidth == 0) {
+            Arrays.fill(values, 0, count, 0);
+            return;
+        }
+        long mask = (1L << bitWidth) - 1;
+        long acc = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            while (bits < bitWidth) {
+                acc |= (long) (buffer.get() & 0xFF) << bits;
+                bits += 8;
+            }
+            values[i] = (int) (acc & mask);
+            acc >>>= bitWidth;
+            bits -= bitWidth;
+        }
+    }
+}
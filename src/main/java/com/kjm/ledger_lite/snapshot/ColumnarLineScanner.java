@@ -0,0 +1,236 @@
+package com.kjm.ledger_lite.snapshot;
+
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 분개 라인 열 단위 파일 읽기/집계 (DB를 전혀 쓰지 않는 분석용 스캔 API)
+ *
+ * ✅ 조건 내려보내기(predicate pushdown)
+ * - row group 헤더의 최소/최대 전표일자, 최소/최대 계정 id로 조건에 맞는 행이 있을 수 없으면 본문을 읽지 않고 건너뛴다.
+ * - 본문을 읽어도 계정 사전에 찾는 계정이 하나도 없으면 나머지 열은 풀지 않는다.
+ * - 남은 row group만 열을 풀어 행마다 조건을 확인한다.
+ *
+ * ✅ 메모
+ * - 파일 형식은 ColumnarLineWriter 참고
+ * - 본문마다 CRC를 확인하므로 손상된 파일은 IllegalStateException
+ */
+public final class ColumnarLineScanner {
+
+    private ColumnarLineScanner() {
+    }
+
+    /**
+     * 조건에 맞는 행을 파일 순서대로 visitor에 넘긴다.
+     */
+    public static ScanStats scan(Path file, ScanFilter filter, LineVisitor visitor) {
+        int fromDay = filter.from() != null ? Math.toIntExact(filter.from().toEpochDay()) : Integer.MIN_VALUE;
+        int toDay = filter.to() != null ? Math.toIntExact(filter.to().toEpochDay()) : Integer.MAX_VALUE;
+        Set<Long> accountIds = filter.accountIds();
+
+        int rowGroups = 0;
+        int skipped = 0;
+        long matched = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer fileHeader = readFully(channel, ByteBuffer.allocate(8));
+            if (fileHeader.getInt() != ColumnarLineWriter.MAGIC || fileHeader.getInt() != ColumnarLineWriter.VERSION) {
+                throw new IllegalStateException("Not a journal line snapshot file: " + file);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(ColumnarLineWriter.GROUP_HEADER_BYTES);
+            ByteBuffer body = ByteBuffer.allocate(0);
+            RowGroup group = new RowGroup();
+            while (true) {
+                header.clear().limit(4);
+                int bodyLength = readFully(channel, header).getInt();
+                if (bodyLength == 0) {
+                    // 끝 표시: [long 전체 행 수][int MAGIC]
+                    ByteBuffer trailer = readFully(channel, ByteBuffer.allocate(12));
+                    trailer.getLong();
+                    if (trailer.getInt() != ColumnarLineWriter.MAGIC) {
+                        throw new IllegalStateException("Snapshot file trailer mismatch: " + file);
+                    }
+                    break;
+                }
+                header.limit(header.capacity());
+                readFully(channel, header);
+                header.position(4);
+                int crc = header.getInt();
+                int rowCount = header.getInt();
+                int minDay = header.getInt();
+                int maxDay = header.getInt();
+                long minAccountId = header.getLong();
+                long maxAccountId = header.getLong();
+                rowGroups++;
+
+                // 1. 통계만으로 건너뛰기
+                if (maxDay < fromDay || minDay > toDay
+                        || (accountIds != null && noneBetween(accountIds, minAccountId, maxAccountId))) {
+                    channel.position(channel.position() + bodyLength);
+                    skipped++;
+                    continue;
+                }
+
+                if (body.capacity() < bodyLength) {
+                    body = ByteBuffer.allocate(bodyLength);
+                }
+                body.clear().limit(bodyLength);
+                readFully(channel, body);
+                CRC32 checksum = new CRC32();
+                checksum.update(body.duplicate());
+                if ((int) checksum.getValue() != crc) {
+                    throw new IllegalStateException("Snapshot row group checksum mismatch: " + file);
+                }
+
+                // 2. 계정 사전만 보고 건너뛰기
+                if (!group.readDictionary(body, accountIds)) {
+                    skipped++;
+                    continue;
+                }
+
+                // 3. 열을 풀어 행마다 조건 확인
+                group.readColumns(body, rowCount, minDay);
+                for (int i = 0; i < rowCount; i++) {
+                    int day = group.days[i];
+                    int index = group.indexes[i];
+                    if (day < fromDay || day > toDay || !group.dictionaryMatch[index]) {
+                        continue;
+                    }
+                    visitor.accept(day, group.dictionary[index], group.credits[i] == 0, group.amounts[i]);
+                    matched++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot file " + file, e);
+        }
+        return new ScanStats(rowGroups, skipped, matched);
+    }
+
+    /**
+     * 조건에 맞는 행의 계정과목별 차/대 합계와 라인 수 (계정 id 순)
+     */
+    public static List<AccountLineTotals> sumByAccount(Path file, ScanFilter filter) {
+        // accountId -> [차변, 대변, 라인 수]
+        Map<Long, long[]> totals = new TreeMap<>();
+        scan(file, filter, (epochDay, accountId, debit, amount) -> {
+            long[] t = totals.computeIfAbsent(accountId, k -> new long[3]);
+            t[debit ? 0 : 1] += amount;
+            t[2]++;
+        });
+        List<AccountLineTotals> result = new ArrayList<>(totals.size());
+        totals.forEach((accountId, t) -> result.add(new AccountLineTotals(accountId, t[0], t[1], t[2])));
+        return result;
+    }
+
+    private static boolean noneBetween(Set<Long> accountIds, long min, long max) {
+        for (Long id : accountIds) {
+            if (id >= min && id <= max) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalStateException("Truncated snapshot file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * 스캔 조건 (null이면 조건 없음)
+     * - from/to: 전표일자(둘 다 포함), accountIds: 이 계정들의 라인만
+     */
+    public record ScanFilter(LocalDate from, LocalDate to, Set<Long> accountIds) {
+        public ScanFilter {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new IllegalArgumentException("from must not be after to");
+            }
+            accountIds = accountIds != null ? Set.copyOf(accountIds) : null;
+        }
+
+        public static ScanFilter all() {
+            return new ScanFilter(null, null, null);
+        }
+    }
+
+    /**
+     * 조건에 맞는 행 1개 (entryDate는 epochDay, LocalDate.ofEpochDay로 변환)
+     */
+    @FunctionalInterface
+    public interface LineVisitor {
+        void accept(int epochDay, long accountId, boolean debit, long amount);
+    }
+
+    /**
+     * 스캔 결과 통계
+     * - rowGroups: 전체 row group 수, rowGroupsSkipped: 열을 풀지 않고 건너뛴 수, rowsMatched: 조건에 맞은 행 수
+     */
+    public record ScanStats(int rowGroups, int rowGroupsSkipped, long rowsMatched) {}
+
+    // row group 1개를 푸는 데 쓰는 배열 (row group마다 재사용)
+    private static final class RowGroup {
+        long[] dictionary = new long[0];
+        boolean[] dictionaryMatch = new boolean[0];
+        int[] indexes = new int[0];
+        int[] days = new int[0];
+        int[] credits = new int[0];
+        long[] amounts = new long[0];
+        int dictionaryBitWidth;
+
+        // 사전을 읽고, 찾는 계정이 하나라도 있으면 true
+        boolean readDictionary(ByteBuffer body, Set<Long> accountIds) {
+            int count = Math.toIntExact(ColumnEncoding.getVarLong(body));
+            if (dictionary.length < count) {
+                dictionary = new long[count];
+                dictionaryMatch = new boolean[count];
+            }
+            boolean any = false;
+            long id = 0;
+            for (int i = 0; i < count; i++) {
+                id += ColumnEncoding.unzigzag(ColumnEncoding.getVarLong(body));
+                dictionary[i] = id;
+                dictionaryMatch[i] = accountIds == null || accountIds.contains(id);
+                any |= dictionaryMatch[i];
+            }
+            dictionaryBitWidth = ColumnEncoding.bitWidth(count - 1);
+            return any;
+        }
+
+        void readColumns(ByteBuffer body, int rowCount, int minDay) {
+            if (indexes.length < rowCount) {
+                indexes = new int[rowCount];
+                days = new int[rowCount];
+                credits = new int[rowCount];
+                amounts = new long[rowCount];
+            }
+            ColumnEncoding.unpackBits(body, indexes, rowCount, dictionaryBitWidth);
+            int day = minDay;
+            for (int i = 0; i < rowCount; i++) {
+                day += (int) ColumnEncoding.unzigzag(ColumnEncoding.getVarLong(body));
+                days[i] = day;
+            }
+            ColumnEncoding.unpackBits(body, credits, rowCount, 1);
+            for (int i = 0; i < rowCount; i++) {
+                amounts[i] = ColumnEncoding.unzigzag(ColumnEncoding.getVarLong(body));
+            }
+        }
+    }
+}
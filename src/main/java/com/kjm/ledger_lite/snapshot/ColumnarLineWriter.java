@@ -0,0 +1,167 @@
+package com.kjm.ledger_lite.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * 분개 라인 열 단위(columnar) 파일 쓰기
+ *
+ * ✅ 파일 구조
+ * - [int MAGIC][int VERSION] 다음에 row group이 이어지고, 끝에 [int 0][long 전체 행 수][int MAGIC]
+ * - row group = 행 rowGroupSize개씩 (마지막은 더 적을 수 있음)
+ *   - 헤더(52바이트): [int 본문 길이][int CRC32(본문)][int 행 수]
+ *                    [int 최소/최대 전표일자(epochDay)][long 최소/최대 계정 id][long 최소/최대 금액]
+ *   - 본문(열마다 이어서):
+ *     1. 계정 사전: varint 개수, 정렬된 계정 id(첫 값, 이후 차이를 varint)
+ *     2. 계정: 행마다 사전 번호, bitWidth(개수 - 1)비트로 bit packing
+ *     3. 전표일자: 앞 행과의 일수 차이(첫 행은 최소 일자와의 차이), zigzag varint
+ *     4. 차/대: 행마다 1비트(0 = DEBIT, 1 = CREDIT)
+ *     5. 금액: zigzag varint
+ *
+ * ✅ 메모
+ * - 라인을 전표일자 순으로 넣으면 일자 차이가 대부분 0이라 1바이트, row group별 일자 범위도 겹치지 않아
+ *   기간 조건으로 row group을 통째로 건너뛸 수 있다(ColumnarLineScanner)
+ * - 헤더의 최소/최대 값(통계)만 읽으면 본문을 읽지 않고 건너뛸 수 있도록 본문 길이를 헤더에 둔다.
+ */
+public final class ColumnarLineWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4C4C4331; // "LLC1"
+    static final int VERSION = 1;
+    static final int GROUP_HEADER_BYTES = 4 * 5 + 8 * 4;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+
+    // 현재 row group에 모으는 중인 행 (열마다 배열 1개)
+    private final int[] days;
+    private final long[] accountIds;
+    private final int[] credits;
+    private final long[] amounts;
+    private int size;
+
+    private final ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_BYTES);
+    private final ByteBuffer body;
+    private final int[] dictionaryIndexes;
+    private long rowCount;
+
+    public ColumnarLineWriter(Path file, int rowGroupSize) {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("rowGroupSize must be positive");
+        }
+        this.rowGroupSize = rowGroupSize;
+        this.days = new int[rowGroupSize];
+        this.accountIds = new long[rowGroupSize];
+        this.credits = new int[rowGroupSize];
+        this.amounts = new long[rowGroupSize];
+        this.dictionaryIndexes = new int[rowGroupSize];
+        // 최악의 경우(varint 최대 길이) 본문 크기
+        this.body = ByteBuffer.allocate(32 + rowGroupSize * (10 + 4 + 10 + 10) + rowGroupSize / 8 + 1);
+        try {
+            this.out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+            ByteBuffer fileHeader = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+            out.write(fileHeader.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open snapshot file " + file, e);
+        }
+    }
+
+    public void add(LocalDate entryDate, long accountId, String dcType, long amount) {
+        days[size] = Math.toIntExact(entryDate.toEpochDay());
+        accountIds[size] = accountId;
+        credits[size] = "DEBIT".equals(dcType) ? 0 : 1;
+        amounts[size] = amount;
+        size++;
+        rowCount++;
+        if (size == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    // 남은 행을 row group으로 쓰고 끝 표시를 붙인다
+    @Override
+    public void close() {
+        try (OutputStream stream = out) {
+            flushRowGroup();
+            ByteBuffer trailer = ByteBuffer.allocate(16).putInt(0).putLong(rowCount).putInt(MAGIC);
+            stream.write(trailer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close snapshot file", e);
+        }
+    }
+
+    private void flushRowGroup() {
+        if (size == 0) {
+            return;
+        }
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        long minAmount = Long.MAX_VALUE;
+        long maxAmount = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minDay = Math.min(minDay, days[i]);
+            maxDay = Math.max(maxDay, days[i]);
+            minAmount = Math.min(minAmount, amounts[i]);
+            maxAmount = Math.max(maxAmount, amounts[i]);
+        }
+        long[] dictionary = Arrays.stream(accountIds, 0, size).sorted().distinct().toArray();
+
+        body.clear();
+        // 1. 계정 사전
+        ColumnEncoding.putVarLong(body, dictionary.length);
+        long previousId = 0;
+        for (long id : dictionary) {
+            ColumnEncoding.putVarLong(body, ColumnEncoding.zigzag(id - previousId));
+            previousId = id;
+        }
+        // 2. 계정 사전 번호
+        for (int i = 0; i < size; i++) {
+            dictionaryIndexes[i] = Arrays.binarySearch(dictionary, accountIds[i]);
+        }
+        ColumnEncoding.packBits(body, dictionaryIndexes, size, ColumnEncoding.bitWidth(dictionary.length - 1));
+        // 3. 전표일자 차이
+        int previousDay = minDay;
+        for (int i = 0; i < size; i++) {
+            ColumnEncoding.putVarLong(body, ColumnEncoding.zigzag(days[i] - previousDay));
+            previousDay = days[i];
+        }
+        // 4. 차/대
+        ColumnEncoding.packBits(body, credits, size, 1);
+        // 5. 금액
+        for (int i = 0; i < size; i++) {
+            ColumnEncoding.putVarLong(body, ColumnEncoding.zigzag(amounts[i]));
+        }
+        body.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        header.clear();
+        header.putInt(body.remaining())
+                .putInt((int) crc.getValue())
+                .putInt(size)
+                .putInt(minDay)
+                .putInt(maxDay)
+                .putLong(dictionary[0])
+                .putLong(dictionary[dictionary.length - 1])
+                .putLong(minAmount)
+                .putLong(maxAmount);
+        try {
+            out.write(header.array());
+            out.write(body.array(), 0, body.limit());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot row group", e);
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kjm.ledger_lite.snapshot;
+
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 분개 라인 열 단위 스냅샷 내보내기 (오프라인 분석용)
+ *
+ * ✅ 왜 필요?
+ * - 분석용 임시 집계를 운영 DB(./h2db)에 직접 돌리면 전표 등록 지연이 늘어난다.
+ * - 라인 전체를 한 번 흘려 읽어 열 단위 파일(ColumnarLineWriter)로 떨궈 두고,
+ *   분석은 그 파일을 ColumnarLineScanner로 읽는다(DB 조회 없음).
+ *
+ * ✅ 언제
+ * - interval-minutes > 0이면 백그라운드 스레드 1개가 주기적으로 내보낸다(0이면 끔)
+ * - POST /api/reports/snapshots로 바로 요청할 수 있다. 이미 도는 중이면 그 실행에 합쳐진다.
+ *
+ * ✅ 파일
+ * - dir 아래 journal-lines-yyyyMMdd-HHmmss-SSS.lcol (이름 순 = 시간 순), 최근 retain개만 남긴다.
+ * - 임시 파일에 다 쓴 뒤 이름을 바꾸므로 쓰는 중인 파일은 보이지 않는다.
+ * - 읽기 전용 트랜잭션 1개로 읽으므로 파일 1개는 한 시점의 라인이다(커밋된 라인만)
+ */
+@Component
+public class JournalLineSnapshotExporter {
+    private static final Logger log = LoggerFactory.getLogger(JournalLineSnapshotExporter.class);
+
+    private static final String PREFIX = "journal-lines-";
+    private static final String SUFFIX = ".lcol";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JournalEntryStore journalEntryStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int rowGroupSize;
+    private final int retain;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    // 내보내기는 한 번에 1개 (synchronized 대신 Lock: JDBC로 기다리는 동안 가상 스레드가 carrier를 붙잡지 않게)
+    private final ReentrantLock exportLock = new ReentrantLock();
+
+    public JournalLineSnapshotExporter(JournalEntryStore journalEntryStore,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${ledger.snapshot.dir:./snapshots}") Path directory,
+                                       @Value("${ledger.snapshot.row-group-size:65536}") int rowGroupSize,
+                                       @Value("${ledger.snapshot.retain:3}") int retain,
+                                       @Value("${ledger.snapshot.interval-minutes:0}") long intervalMinutes) {
+        if (rowGroupSize < 1 || retain < 1) {
+            throw new IllegalStateException("ledger.snapshot row-group-size and retain must be positive");
+        }
+        this.journalEntryStore = journalEntryStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = directory;
+        this.rowGroupSize = rowGroupSize;
+        this.retain = retain;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "line-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::exportQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 백그라운드 내보내기 요청 (바로 반환)
+     * - 아직 시작 안 한 요청이 있으면 새로 쌓지 않는다.
+     */
+    public void requestExport() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                exportQuietly();
+            });
+        }
+    }
+
+    /**
+     * 지금 라인 전체를 새 스냅샷 파일로 쓰고 그 경로를 반환 (호출한 스레드에서 실행)
+     */
+    public Path export() {
+        exportLock.lock();
+        try {
+            return exportLocked();
+        } finally {
+            exportLock.unlock();
+        }
+    }
+
+    // export() 본문 (exportLock을 잡은 상태에서만 호출)
+    private Path exportLocked() {
+        long started = System.nanoTime();
+        Path target = directory.resolve(PREFIX + LocalDateTime.now().format(NAME_FORMAT) + SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (ColumnarLineWriter writer = new ColumnarLineWriter(temp, rowGroupSize)) {
+                readOnlyTransaction.executeWithoutResult(status -> journalEntryStore.forEachLine(row ->
+                        writer.add(row.entryDate(), row.accountId(), row.dcType(), row.amount())));
+                rows = writer.rowCount();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Journal line snapshot written: {} ({} lines, {} bytes, {} ms)",
+                    target, rows, Files.size(target), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            prune();
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write journal line snapshot " + target, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary snapshot file {}", temp, e);
+            }
+        }
+    }
+
+    // 가장 최근 스냅샷 파일 (없으면 empty)
+    public Optional<Path> latest() {
+        List<Path> files = list();
+        return files.isEmpty() ? Optional.empty() : Optional.of(files.get(files.size() - 1));
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (RuntimeException e) {
+            log.error("Journal line snapshot failed", e);
+        }
+    }
+
+    // 최근 retain개만 남기고 지운다
+    private void prune() throws IOException {
+        List<Path> files = list();
+        for (int i = 0; i < files.size() - retain; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    // 스냅샷 파일 목록, 오래된 순
+    private List<Path> list() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshot directory " + directory, e);
+        }
+        files.sort(null);
+        return files;
+    }
+}
@@ -0,0 +1,12 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+
+import java.util.List;
+
+/**
+ * 기간 마감으로 보관 테이블에 옮긴 결과
+ * - entryCount / lineCount: 옮긴 전표/라인 수
+ * - totals: 옮긴 라인의 계정과목별 차/대 합계와 라인 수 (계정 id 순, 개시 전표 금액)
+ */
+public record ArchivedPeriod(long entryCount, long lineCount, List<AccountLineTotals> totals) {}
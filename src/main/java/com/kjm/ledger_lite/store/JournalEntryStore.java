@@ -0,0 +1,99 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntryDetailResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.repository.AccountDayTotals;
+import com.kjm.ledger_lite.repository.AccountLedgerLine;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.JournalLineSnapshotRow;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 전표 저장소(스토리지 엔진) 인터페이스
+ *
+ * ✅ 역할
+ * - JournalEntryService가 전표를 "어디에 어떻게" 저장/조회하는지 몰라도 되도록 분리한다.
+ * - 회계 규칙 검증(차대 일치, 계정 존재)은 Service가 끝낸 뒤에 호출된다.
+ *
+ * ✅ 구현체 (ledger.storage.engine)
+ * - jpa (기본): JpaJournalEntryStore - Hibernate + H2 테이블
+ * - mmap: MappedFileJournalEntryStore - 메모리 매핑 append-only 저널 파일
+ * - 엔진끼리 데이터를 옮겨주지 않으므로, 운영 중에 엔진을 바꾸면 기존 전표는 보이지 않는다.
+ */
+public interface JournalEntryStore {
+
+    /**
+     * 검증이 끝난 전표들을 저장하고, 요청 순서대로 부여된 id를 반환
+     * - 전부 저장되거나 예외가 나거나 둘 중 하나(일부만 저장되지 않음)
+     * - 호출한 트랜잭션이 롤백되면 저장한 전표도 함께 없어져야 한다(재기동 후에도)
+     */
+    List<Long> appendAll(List<JournalEntryCreateRequest> entries);
+
+    // 전표 상세(라인 + 계정과목 포함) 조회
+    Optional<JournalEntryDetailResponse> findDetail(Long id);
+
+    /**
+     * 전표 요약 한 페이지 조회 (entryDate desc, id desc)
+     * - from ~ to 기간(둘 다 포함)
+     * - afterDate/afterId가 있으면 그 전표 "뒤"부터(키셋 커서), 없으면 처음부터
+     */
+    List<JournalEntrySummaryResponse> findSummaries(LocalDate from, LocalDate to,
+                                                    LocalDate afterDate, Long afterId,
+                                                    int limit);
+
+    // 주어진 id들의 전표 요약 (최근 등록 순: id desc, 없는 id는 빠진다)
+    List<JournalEntrySummaryResponse> findSummariesByIds(Collection<Long> ids);
+
+    // 적요 수정(버전 +1), 없는 전표면 false
+    boolean updateDescription(Long id, String description);
+
+    // 전표 변경 버전만 조회(조건부 GET용, 상세 조회보다 가벼워야 한다)
+    Optional<Long> findVersion(Long id);
+
+    /**
+     * 계정별 원장 라인 (전표일자, 전표 id 순서, from ~ to 둘 다 포함)
+     * - 결과 전체를 메모리에 올리지 않는 Stream이므로 호출하는 쪽에서 try-with-resources로 닫는다.
+     */
+    Stream<AccountLedgerLine> streamLedger(Long accountId, LocalDate from, LocalDate to);
+
+    /**
+     * 전표일자 closedThrough 이하 전표/라인을 보관 테이블로 옮긴다 (기간 마감)
+     * - hot 테이블에서는 지우고, 보관된 전표도 findDetail/findVersion으로 그대로 읽힌다.
+     * - 요약(목록/검색용)은 지운다. 마감된 기간은 id로만 조회한다.
+     * - 호출하는 쪽 트랜잭션 안에서 실행한다. mmap 엔진은 지원하지 않는다(PeriodCloseService가 먼저 막음)
+     */
+    ArchivedPeriod archiveThrough(LocalDate closedThrough);
+
+    // ===== 기동 시 파생 데이터(잔액 집계, 기준일 인덱스) 재계산용 =====
+
+    // 저장된 전체 라인 수
+    long lineCount();
+
+    // 계정과목별 차/대 합계와 라인 수
+    List<AccountLineTotals> sumByAccount();
+
+    /**
+     * 전표일자 from ~ to(둘 다 포함) 라인의 계정과목별 차/대 합계와 라인 수 (기간 시산표용, 계정 id 순)
+     * - 라인 전체를 훑을 수 있는 무거운 집계다. jpa 엔진은 구간별 병렬 읽기(별도 트랜잭션)로 처리한다.
+     */
+    List<AccountLineTotals> sumByAccount(LocalDate from, LocalDate to);
+
+    // 계정과목 + 전표일자별 차/대 합계
+    List<AccountDayTotals> sumByAccountAndDay();
+
+    // 전체 전표 요약 순회 (적요 검색 인덱스 적재용, 순서 없음)
+    void forEachSummary(Consumer<JournalEntrySummaryResponse> consumer);
+
+    /**
+     * 전체 라인 순회, 전표일자 → 전표 id 순 (라인 스냅샷 내보내기용)
+     * - jpa 엔진은 호출하는 쪽 트랜잭션 안에서 흘려 읽는다(라인 수와 무관하게 메모리 일정).
+     */
+    void forEachLine(Consumer<JournalLineSnapshotRow> consumer);
+}
@@ -0,0 +1,165 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import com.kjm.ledger_lite.repository.JournalEntrySummaryRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전표 요약 테이블(JournalEntrySummary) 재생성 - JPA 엔진 전용
+ *
+ * ✅ 언제
+ * - 기동 시 요약 행 수 / 라인 수 합계가 전표·라인과 다르면 자동으로 (기능 도입 전 데이터, SQL로 직접 넣은 전표 등)
+ * - 강제로: ./gradlew bootRun --args='--rebuild-journal-summary'
+ *
+ * ✅ 방법
+ * - 기동 시 자동(어긋남 감지): 지우지 않고 빠진 요약만 채운다(fillMissing). 채우는 동안에도 목록/검색이 비지 않는다.
+ *   채운 뒤에도 어긋나 있으면(요약 값 자체가 틀림, 전표 없는 요약 등) 경고만 남긴다 → --rebuild-journal-summary로 전체 재생성
+ * - 강제(rebuild): 요약 전체 삭제(트랜잭션 1개) 후 다시 채운다. 그동안 목록이 비거나 일부만 보인다.
+ * - 채우기는 전표 id 범위를 chunk-size개씩 구간으로 나눠
+ *   threads개 스레드가 구간마다 insert ... select(JournalLine 집계) 1번씩을 각자의 트랜잭션으로 실행한다.
+ * - 구간끼리 겹치지 않으므로 락 경합이 없고, 실패한 구간이 있으면 예외로 알린다(다시 실행하면 빠진 전표만 채운다).
+ * - 재생성 중에 새로 저장된 전표는 저장 트랜잭션이 요약을 직접 넣으므로 insert에서 건너뛴다(not exists).
+ * - 요약을 읽어서 적재하는 메모리 인덱스(적요 검색)보다 먼저 실행되도록 가장 앞 순서로 둔다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "ledger.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JournalEntrySummaryRebuilder implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(JournalEntrySummaryRebuilder.class);
+
+    static final String REBUILD_OPTION = "rebuild-journal-summary";
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalLineRepository journalLineRepository;
+    private final JournalEntrySummaryRepository journalEntrySummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int threads;
+
+    public JournalEntrySummaryRebuilder(JournalEntryRepository journalEntryRepository,
+                                        JournalLineRepository journalLineRepository,
+                                        JournalEntrySummaryRepository journalEntrySummaryRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${ledger.journal-summary.rebuild.chunk-size:10000}") int chunkSize,
+                                        @Value("${ledger.journal-summary.rebuild.threads:4}") int threads) {
+        if (chunkSize < 1 || threads < 1) {
+            throw new IllegalStateException("ledger.journal-summary.rebuild chunk-size and threads must be positive");
+        }
+        this.journalEntryRepository = journalEntryRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.journalEntrySummaryRepository = journalEntrySummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    /**
+     * 기동 시 정합성 확인 (또는 --rebuild-journal-summary 옵션이면 무조건 재생성)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            log.info("Rebuilding journal_entry_summary from journal_line.");
+            rebuild();
+            return;
+        }
+        if (inSync()) {
+            return;
+        }
+        log.info("journal_entry_summary is out of sync. Filling missing rows from journal_line.");
+        fillMissing();
+        if (!inSync()) {
+            log.warn("journal_entry_summary still differs from journal_line after filling missing rows. "
+                    + "Restart with --{} to rebuild it.", REBUILD_OPTION);
+        }
+    }
+
+    // 요약 행 수 = 전표 수, 요약 라인 수 합계 = 라인 수
+    public boolean inSync() {
+        Boolean inSync = transactionTemplate.execute(status ->
+                journalEntrySummaryRepository.count() == journalEntryRepository.count()
+                        && journalEntrySummaryRepository.sumLineCount() == journalLineRepository.count());
+        return Boolean.TRUE.equals(inSync);
+    }
+
+    /**
+     * 요약 테이블 전체 재생성(전부 지우고 다시 채움)
+     * - 반환값: 새로 넣은 요약 행 수
+     */
+    public long rebuild() {
+        return fill(true);
+    }
+
+    /**
+     * 요약이 없는 전표만 채운다(기존 요약은 그대로)
+     * - 반환값: 새로 넣은 요약 행 수
+     */
+    public long fillMissing() {
+        return fill(false);
+    }
+
+    private long fill(boolean deleteFirst) {
+        long startedAt = System.nanoTime();
+        Long[] range = transactionTemplate.execute(status -> {
+            if (deleteFirst) {
+                journalEntrySummaryRepository.deleteAllInBatch();
+            }
+            return new Long[]{journalEntryRepository.findMinId(), journalEntryRepository.findMaxId()};
+        });
+        if (range == null || range[0] == null) {
+            return 0L;
+        }
+
+        List<long[]> chunks = new ArrayList<>();
+        for (long from = range[0]; from <= range[1]; from += chunkSize) {
+            chunks.add(new long[]{from, Math.min(from + chunkSize - 1, range[1])});
+        }
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunks.size()), task -> {
+            Thread thread = new Thread(task, "journal-summary-rebuild-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Integer>> results = new ArrayList<>(chunks.size());
+            for (long[] chunk : chunks) {
+                results.add(executor.submit(() -> transactionTemplate.execute(status ->
+                        journalEntrySummaryRepository.insertRange(chunk[0], chunk[1]))));
+            }
+            long inserted = 0L;
+            for (Future<Integer> result : results) {
+                inserted += result.get();
+            }
+            log.info("journal_entry_summary {}: {} entries, {} chunks, {} ms", deleteFirst ? "rebuilt" : "filled",
+                    inserted, chunks.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return inserted;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Journal summary rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Journal summary rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntryDetailResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.domain.JournalEntry;
+import com.kjm.ledger_lite.domain.JournalEntrySummary;
+import com.kjm.ledger_lite.domain.JournalLine;
+import com.kjm.ledger_lite.repository.AccountDayTotals;
+import com.kjm.ledger_lite.repository.AccountLedgerLine;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.ArchivedJournalEntryRepository;
+import com.kjm.ledger_lite.repository.JournalEntryDetailRow;
+import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import com.kjm.ledger_lite.repository.JournalEntrySummaryRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import com.kjm.ledger_lite.repository.JournalLineSnapshotRow;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * JPA(Hibernate + H2) 전표 저장소 - 기본 엔진
+ *
+ * ✅ 특징
+ * - 호출한 Service의 트랜잭션에 참여한다(전표 insert와 잔액 집계 갱신이 함께 커밋/롤백)
+ * - 라인의 계정과목은 getReference로 연결한다(존재 확인은 Service가 AccountCache로 이미 끝냄 → select 없음)
+ * - 전표 요약 테이블(JournalEntrySummary)을 저장/적요 수정과 같은 트랜잭션에서 함께 갱신하고, 목록은 그 테이블만 읽는다.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaJournalEntryStore implements JournalEntryStore {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalLineRepository journalLineRepository;
+    private final JournalEntrySummaryRepository journalEntrySummaryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final ParallelTrialBalanceEngine parallelTrialBalanceEngine;
+    private final EntityManager entityManager;
+
+    public JpaJournalEntryStore(JournalEntryRepository journalEntryRepository,
+                                JournalLineRepository journalLineRepository,
+                                JournalEntrySummaryRepository journalEntrySummaryRepository,
+                                ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                ParallelTrialBalanceEngine parallelTrialBalanceEngine,
+                                EntityManager entityManager) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.journalEntrySummaryRepository = journalEntrySummaryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.parallelTrialBalanceEngine = parallelTrialBalanceEngine;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 전표/라인/요약 엔티티를 만들어 persist 후 flush
+     * - id는 시퀀스(pooled)에서 미리 받아오므로 persist 시점에 정해지고,
+     *   insert는 flush에서 JDBC 배치로 묶여 나간다.
+     * - 요약의 차/대 합계는 요청 라인으로 계산한다(저장한 라인을 다시 읽지 않음)
+     */
+    @Override
+    public List<Long> appendAll(List<JournalEntryCreateRequest> entries) {
+        List<JournalEntry> saved = new ArrayList<>(entries.size());
+        List<JournalEntrySummary> summaries = new ArrayList<>(entries.size());
+        for (JournalEntryCreateRequest req : entries) {
+            JournalEntry entry = new JournalEntry(req.entryDate(), req.description());
+            long debitTotal = 0L;
+            long creditTotal = 0L;
+            for (JournalEntryCreateRequest.Line line : req.lines()) {
+                Account account = entityManager.getReference(Account.class, line.accountId());
+                entry.addLine(new JournalLine(line.dcType(), line.amount(), account));
+                if ("DEBIT".equals(line.dcType())) {
+                    debitTotal += line.amount();
+                } else {
+                    creditTotal += line.amount();
+                }
+            }
+            saved.add(journalEntryRepository.save(entry));
+            summaries.add(new JournalEntrySummary(entry.getId(), req.entryDate(), req.description(),
+                    debitTotal, creditTotal, req.lines().size()));
+        }
+        journalEntrySummaryRepository.saveAll(summaries);
+        journalEntryRepository.flush();
+        return saved.stream().map(JournalEntry::getId).toList();
+    }
+
+    /**
+     * 전표 + 라인 + 계정과목을 DTO 프로젝션 select 1번으로 읽고, 행들(라인 1줄 = 1행)을 Detail DTO로 묶는다
+     * - 헤더(id/날짜/적요)는 모든 행에 같으므로 첫 행에서 꺼낸다.
+     * - 라인이 없는 전표는 라인 필드가 null인 1행만 오므로 건너뛴다.
+     * - hot 테이블에 없으면 마감된 기간의 보관 테이블에서 같은 모양으로 읽는다(select 1번 더)
+     */
+    @Override
+    public Optional<JournalEntryDetailResponse> findDetail(Long id) {
+        List<JournalEntryDetailRow> rows = journalEntryRepository.findDetailRows(id);
+        if (rows.isEmpty()) {
+            rows = archivedJournalEntryRepository.findDetailRows(id);
+        }
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        JournalEntryDetailRow header = rows.get(0);
+        List<JournalEntryDetailResponse.Line> lines = new ArrayList<>(rows.size());
+        for (JournalEntryDetailRow row : rows) {
+            if (row.dcType() == null) {
+                continue;
+            }
+            lines.add(new JournalEntryDetailResponse.Line(
+                    row.dcType(),
+                    row.amount(),
+                    row.accountId(),
+                    row.accountCode(),
+                    row.accountName()
+            ));
+        }
+        return Optional.of(new JournalEntryDetailResponse(
+                header.id(),
+                header.entryDate(),
+                header.description(),
+                header.version(),
+                lines
+        ));
+    }
+
+    /**
+     * 요약 테이블의 (entry_date, id) 인덱스로 한 페이지를 DTO로 바로 조회 (select 1번)
+     * - 차/대 합계는 저장 시점에 계산해 두었으므로 JournalLine을 읽지 않는다.
+     */
+    @Override
+    public List<JournalEntrySummaryResponse> findSummaries(LocalDate from, LocalDate to,
+                                                           LocalDate afterDate, Long afterId,
+                                                           int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return afterDate == null
+                ? journalEntrySummaryRepository.findPage(from, to, pageable)
+                : journalEntrySummaryRepository.findPageAfter(from, to, afterDate, afterId, pageable);
+    }
+
+    @Override
+    public List<JournalEntrySummaryResponse> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return journalEntrySummaryRepository.findByIdIn(ids);
+    }
+
+    // 전표와 요약의 적요를 같은 트랜잭션에서 함께 수정
+    @Override
+    public boolean updateDescription(Long id, String description) {
+        if (journalEntryRepository.updateDescription(id, description) == 0) {
+            return false;
+        }
+        journalEntrySummaryRepository.updateDescription(id, description);
+        return true;
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return journalEntryRepository.findVersionById(id)
+                .or(() -> archivedJournalEntryRepository.findVersionById(id));
+    }
+
+    /**
+     * 기간 마감: 헤더 복사 → 라인 복사 → 계정별 합계 → hot 라인/요약/전표 삭제 (JPQL 일괄 처리, 엔티티를 읽지 않음)
+     */
+    @Override
+    public ArchivedPeriod archiveThrough(LocalDate closedThrough) {
+        int entries = archivedJournalEntryRepository.copyEntriesThrough(closedThrough);
+        int lines = archivedJournalEntryRepository.copyLinesThrough(closedThrough);
+        List<AccountLineTotals> totals = archivedJournalEntryRepository.sumCopiedLinesThrough(closedThrough);
+        archivedJournalEntryRepository.deleteCopiedLinesThrough(closedThrough);
+        archivedJournalEntryRepository.deleteCopiedSummariesThrough(closedThrough);
+        archivedJournalEntryRepository.deleteCopiedEntriesThrough(closedThrough);
+        return new ArchivedPeriod(entries, lines, totals);
+    }
+
+    @Override
+    public long lineCount() {
+        return journalLineRepository.count();
+    }
+
+    @Override
+    public Stream<AccountLedgerLine> streamLedger(Long accountId, LocalDate from, LocalDate to) {
+        return journalLineRepository.streamLedger(accountId, from, to);
+    }
+
+    @Override
+    public List<AccountLineTotals> sumByAccount() {
+        return journalLineRepository.sumByAccount();
+    }
+
+    // 호출한 쪽 트랜잭션과 무관하게 전표 id 구간별 병렬 읽기(커밋된 전표만)
+    @Override
+    public List<AccountLineTotals> sumByAccount(LocalDate from, LocalDate to) {
+        return parallelTrialBalanceEngine.sumByAccount(from, to);
+    }
+
+    @Override
+    public List<AccountDayTotals> sumByAccountAndDay() {
+        return journalLineRepository.sumByAccountAndDay();
+    }
+
+    @Override
+    public void forEachSummary(Consumer<JournalEntrySummaryResponse> consumer) {
+        try (Stream<JournalEntrySummaryResponse> summaries = journalEntrySummaryRepository.streamAll()) {
+            summaries.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void forEachLine(Consumer<JournalLineSnapshotRow> consumer) {
+        try (Stream<JournalLineSnapshotRow> rows = journalLineRepository.streamSnapshotRows()) {
+            rows.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,784 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntryDetailResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.exceiption.FeatureNotSupportedException;
+import com.kjm.ledger_lite.repository.AccountDayTotals;
+import com.kjm.ledger_lite.repository.AccountLedgerLine;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.repository.JournalLineSnapshotRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑 append-only 전표 저널 (ledger.storage.engine=mmap)
+ *
+ * ✅ 왜 필요?
+ * - JPA 엔진은 전표 1건마다 Hibernate 엔티티 + H2 행 insert를 거쳐서 등록 처리량에 한계가 있다.
+ * - 이 엔진은 균형이 맞는 전표를 고정 레이아웃 바이너리 레코드로 파일 끝에 덧붙이기만 한다.
+ *
+ * ✅ 파일 구조
+ * - 디렉터리 안에 segment-000000.log, segment-000001.log ... (각 segmentSize 바이트, 미리 0으로 채워진 파일)
+ * - 레코드: [int 길이(type + body)][int CRC32(type + body)][byte type][body]
+ *   - ENTRY(1): long id, int entryDate(epochDay), short 적요 길이, 적요(UTF-8),
+ *               int 라인 수, 라인마다 [long accountId, byte 차/대(0/1), long amount]
+ *   - DESCRIPTION(2): long id, short 적요 길이, 적요(UTF-8)   (적요 수정은 덮어쓰지 않고 레코드를 추가)
+ *   - ABORT(3): int 전표 수, long id...   (앞서 쓴 전표들의 트랜잭션이 롤백됨 → 복구 때 없는 전표로 친다)
+ * - 길이가 0인 자리가 데이터의 끝, 레코드가 세그먼트에 안 들어가면 다음 세그먼트로 넘어간다(roll)
+ *
+ * ✅ 내구성 (group fsync)
+ * - 쓰기는 writeLock 안에서 매핑된 버퍼에 복사만 하고, 반환 전에 force(fsync)가 끝날 때까지 기다린다.
+ * - fsync는 한 스레드(leader)만 하고, 그동안 도착한 다른 쓰기들은 다음 fsync 한 번에 같이 묶인다.
+ *
+ * ✅ 트랜잭션 (Service 트랜잭션과 all or nothing)
+ * - appendAll은 레코드를 디스크에 내린 뒤, 조회 인덱스 반영은 호출한 트랜잭션이 커밋된 뒤(afterCommit)로 미룬다.
+ * - 커밋되지 않으면(잔액 집계 갱신 실패, 커밋 실패 등) ABORT 레코드를 남겨서 조회에도, 재기동 후 복구에도 보이지 않게 한다.
+ * - 트랜잭션 밖에서 호출하면 바로 조회에 보인다.
+ *
+ * ✅ 복구
+ * - 기동 시 모든 세그먼트를 처음부터 읽어 메모리 인덱스(id → 파일 위치, 목록용 요약)를 다시 만든다.
+ * - 마지막 세그먼트 끝에서 CRC가 안 맞는 레코드(쓰다가 죽은 흔적)를 만나면 그 뒤를 0으로 지우고 거기서부터 이어 쓴다.
+ *
+ * ✅ 메모
+ * - 잔액 집계(AccountBalance)는 여전히 DB에 있고 Service 트랜잭션 안에서 갱신된다.
+ *   ABORT 레코드를 쓰기 전에 프로세스가 죽어 저널과 DB가 어긋나면 기동 시 라인 수 비교로 다시 계산된다.
+ * - 적요 수정은 저널에 쓴 순서(전표별 순번)대로만 메모리에 반영한다. 늦게 끝난 앞 수정이 뒤 수정을 덮지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.storage.engine", havingValue = "mmap")
+public class MappedFileJournalEntryStore implements JournalEntryStore {
+    private static final Logger log = LoggerFactory.getLogger(MappedFileJournalEntryStore.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final byte TYPE_ENTRY = 1;
+    private static final byte TYPE_DESCRIPTION = 2;
+    private static final byte TYPE_ABORT = 3;
+    private static final int LINE_BYTES = 8 + 1 + 8;
+    private static final int MAX_TEXT_BYTES = 0xFFFF;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final AccountRepository accountRepository;
+
+    // 세그먼트 목록(읽기는 락 없이, 추가는 writeLock 안에서)
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    // ===== 쓰기 상태 (writeLock) =====
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Segment active;
+    private int writePosition;
+    private long nextId = 1;
+    // 전표 id → 지금까지 저널에 쓴 적요 수정 레코드 수 (= 그 수정이 반영되면 될 버전)
+    private final Map<Long, Long> descriptionSeq = new HashMap<>();
+
+    // ===== group fsync 상태 (syncLock) =====
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private volatile long writtenUpTo;
+    private long durableUpTo;
+    private boolean syncing;
+
+    // ===== 메모리 인덱스 =====
+    // 전표 id → 파일 위치(세그먼트 번호 << 32 | 오프셋) + 전표일자 + 버전(적요 수정 레코드 수)
+    private final ConcurrentHashMap<Long, Located> byId = new ConcurrentHashMap<>();
+    // 목록 조회용 요약, (entryDate desc, id desc) 순서
+    private final ConcurrentSkipListMap<SummaryKey, JournalEntrySummaryResponse> summaries = new ConcurrentSkipListMap<>();
+    private final AtomicLong lineCount = new AtomicLong();
+
+    public MappedFileJournalEntryStore(@Value("${ledger.storage.mmap.dir:./journal}") Path directory,
+                                       @Value("${ledger.storage.mmap.segment-size:67108864}") int segmentSize,
+                                       AccountRepository accountRepository) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.accountRepository = accountRepository;
+        recover();
+    }
+
+    // ===================== 쓰기 =====================
+
+    @Override
+    public List<Long> appendAll(List<JournalEntryCreateRequest> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        List<Long> positions = new ArrayList<>(entries.size());
+        long end;
+
+        writeLock.lock();
+        try {
+            // 1. id 부여 + 인코딩(크기 초과면 아무것도 쓰기 전에 실패)
+            List<byte[]> records = new ArrayList<>(entries.size());
+            long id = nextId;
+            for (JournalEntryCreateRequest entry : entries) {
+                records.add(encodeEntry(id, entry));
+                ids.add(id++);
+            }
+            // 2. 매핑된 버퍼에 순서대로 복사
+            for (byte[] record : records) {
+                positions.add(write(record));
+            }
+            nextId = id;
+            end = position(active.index(), writePosition);
+            writtenUpTo = end;
+        } finally {
+            writeLock.unlock();
+        }
+
+        // 3. fsync가 끝난 뒤, 호출한 트랜잭션이 커밋되어야 조회에 보이게 한다
+        awaitDurable(end);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexAll(ids, positions, entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        abort(ids);
+                    }
+                }
+            });
+        } else {
+            indexAll(ids, positions, entries);
+        }
+        return ids;
+    }
+
+    private void indexAll(List<Long> ids, List<Long> positions, List<JournalEntryCreateRequest> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            index(ids.get(i), positions.get(i), entries.get(i));
+        }
+    }
+
+    /**
+     * 커밋되지 않은 전표들의 ABORT 레코드를 쓰고 디스크에 내린다(afterCompletion에서 호출, 예외를 던지지 않음)
+     * - 조회 인덱스에는 아직 올라가지 않았으므로 저널에만 남긴다.
+     */
+    private void abort(List<Long> ids) {
+        try {
+            long end;
+            writeLock.lock();
+            try {
+                write(encodeAbort(ids));
+                end = position(active.index(), writePosition);
+                writtenUpTo = end;
+            } finally {
+                writeLock.unlock();
+            }
+            awaitDurable(end);
+            log.info("Journal entries rolled back: {}", ids);
+        } catch (RuntimeException e) {
+            log.error("Failed to write journal abort record for {}. They will reappear after restart.", ids, e);
+        }
+    }
+
+    @Override
+    public boolean updateDescription(Long id, String description) {
+        Located located = byId.get(id);
+        if (located == null) {
+            return false;
+        }
+        long end;
+        long seq;
+        writeLock.lock();
+        try {
+            write(encodeDescription(id, description));
+            seq = descriptionSeq.merge(id, 1L, Long::sum);
+            end = position(active.index(), writePosition);
+            writtenUpTo = end;
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(end);
+        applyDescription(id, description, seq);
+        return true;
+    }
+
+    /**
+     * 적요 수정 seq번째(저널 순서)를 메모리에 반영
+     * - 이미 더 뒤의 수정이 반영되어 있으면(동시 수정이 먼저 끝남) 건너뛴다 → 메모리 상태 = 저널을 다시 읽은 상태
+     */
+    private void applyDescription(long id, String description, long seq) {
+        byId.computeIfPresent(id, (key, current) -> {
+            if (current.version() >= seq) {
+                return current;
+            }
+            summaries.computeIfPresent(new SummaryKey(current.entryDate(), id),
+                    (k, summary) -> withDescription(summary, description));
+            return current.withVersion(seq);
+        });
+    }
+
+    // writeLock 안에서 호출, 반환: 레코드 시작 위치
+    private long write(byte[] record) {
+        if (writePosition + record.length > active.buffer().capacity()) {
+            roll();
+        }
+        active.buffer().put(writePosition, record);
+        long position = position(active.index(), writePosition);
+        writePosition += record.length;
+        return position;
+    }
+
+    // 현재 세그먼트를 디스크에 내리고 다음 세그먼트로 넘어간다(writeLock 안에서 호출)
+    private void roll() {
+        active.buffer().force();
+        active = openSegment(active.index() + 1);
+        segments.add(active);
+        writePosition = 0;
+    }
+
+    /**
+     * position까지 디스크에 내려갈 때까지 대기 (group fsync)
+     * - 아무도 fsync 중이 아니면 내가 leader가 되어 "지금까지 쓰인 곳"까지 한 번에 force
+     * - 누가 fsync 중이면 끝날 때까지 기다렸다가, 아직 내 위치가 안 내려갔으면 다시 시도
+     */
+    private void awaitDurable(long position) {
+        syncLock.lock();
+        try {
+            while (durableUpTo < position) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                long from = durableUpTo;
+                long target = writtenUpTo;
+                boolean forced = false;
+                syncLock.unlock();
+                try {
+                    force(from, target);
+                    forced = true;
+                } finally {
+                    syncLock.lock();
+                    syncing = false;
+                    if (forced) {
+                        durableUpTo = Math.max(durableUpTo, target);
+                    }
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void force(long from, long to) {
+        int first = (int) (from >>> 32);
+        int last = (int) (to >>> 32);
+        for (int i = first; i <= last && i < segments.size(); i++) {
+            segments.get(i).buffer().force();
+        }
+    }
+
+    // ===================== 조회 =====================
+
+    @Override
+    public Optional<JournalEntryDetailResponse> findDetail(Long id) {
+        Located located = byId.get(id);
+        if (located == null) {
+            return Optional.empty();
+        }
+        StoredEntry stored = readEntry(located.position());
+        JournalEntrySummaryResponse summary = summaries.get(new SummaryKey(located.entryDate(), id));
+        String description = summary != null ? summary.description() : stored.entry().description();
+
+        // 계정과목 코드/이름은 DB에서 한 번에
+        Set<Long> accountIds = new HashSet<>();
+        for (JournalEntryCreateRequest.Line line : stored.entry().lines()) {
+            accountIds.add(line.accountId());
+        }
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllByIdCached(accountIds)) {
+            accounts.put(account.getId(), account);
+        }
+
+        List<JournalEntryDetailResponse.Line> lines = new ArrayList<>(stored.entry().lines().size());
+        for (JournalEntryCreateRequest.Line line : stored.entry().lines()) {
+            Account account = accounts.get(line.accountId());
+            lines.add(new JournalEntryDetailResponse.Line(
+                    line.dcType(),
+                    line.amount(),
+                    line.accountId(),
+                    account != null ? account.getCode() : null,
+                    account != null ? account.getName() : null
+            ));
+        }
+        return Optional.of(new JournalEntryDetailResponse(
+                id, stored.entry().entryDate(), description, located.version(), lines));
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        Located located = byId.get(id);
+        return located == null ? Optional.empty() : Optional.of(located.version());
+    }
+
+    @Override
+    public List<JournalEntrySummaryResponse> findSummaries(LocalDate from, LocalDate to,
+                                                           LocalDate afterDate, Long afterId,
+                                                           int limit) {
+        // 시작점: 기간 끝(to)과 커서 중 "더 뒤"에 있는 쪽
+        SummaryKey start = new SummaryKey(to, Long.MAX_VALUE);
+        boolean inclusive = true;
+        if (afterDate != null) {
+            SummaryKey after = new SummaryKey(afterDate, afterId);
+            if (after.compareTo(start) >= 0) {
+                start = after;
+                inclusive = false;
+            }
+        }
+
+        List<JournalEntrySummaryResponse> result = new ArrayList<>(limit);
+        for (JournalEntrySummaryResponse summary : summaries.tailMap(start, inclusive).values()) {
+            if (summary.entryDate().isBefore(from) || result.size() == limit) {
+                break;
+            }
+            result.add(summary);
+        }
+        return result;
+    }
+
+    @Override
+    public List<JournalEntrySummaryResponse> findSummariesByIds(Collection<Long> ids) {
+        List<JournalEntrySummaryResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Located located = byId.get(id);
+            JournalEntrySummaryResponse summary = located == null
+                    ? null : summaries.get(new SummaryKey(located.entryDate(), id));
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        result.sort(Comparator.comparing(JournalEntrySummaryResponse::id).reversed());
+        return result;
+    }
+
+    /**
+     * 계정별 원장: 기간 안의 전표를 날짜/id 오름차순으로 하나씩 읽으며 해당 계정 라인만 내보낸다.
+     * - 계정별 라인 인덱스가 없으므로 기간 안의 전표 레코드를 모두 읽는다(메모리는 전표 1건분만 사용)
+     */
+    @Override
+    public Stream<AccountLedgerLine> streamLedger(Long accountId, LocalDate from, LocalDate to) {
+        return summaries.subMap(new SummaryKey(to, Long.MAX_VALUE), true, new SummaryKey(from, Long.MIN_VALUE), true)
+                .descendingMap()
+                .values()
+                .stream()
+                .flatMap(summary -> {
+                    Located located = byId.get(summary.id());
+                    if (located == null) {
+                        return Stream.empty();
+                    }
+                    return readEntry(located.position()).entry().lines().stream()
+                            .filter(line -> accountId.equals(line.accountId()))
+                            .map(line -> new AccountLedgerLine(summary.id(), summary.entryDate(),
+                                    summary.description(), line.dcType(), line.amount()));
+                });
+    }
+
+    // append-only 저널 파일은 지난 기간만 떼어 낼 수 없다 → 501 (PeriodCloseService는 엔진을 먼저 확인해서 같은 예외를 낸다)
+    @Override
+    public ArchivedPeriod archiveThrough(LocalDate closedThrough) {
+        throw new FeatureNotSupportedException("Period close requires ledger.storage.engine=jpa");
+    }
+
+    @Override
+    public long lineCount() {
+        return lineCount.get();
+    }
+
+    @Override
+    public List<AccountLineTotals> sumByAccount() {
+        return sumByAccount(LocalDate.MIN, LocalDate.MAX);
+    }
+
+    @Override
+    public List<AccountLineTotals> sumByAccount(LocalDate from, LocalDate to) {
+        // accountId -> [차변, 대변, 라인 수]
+        Map<Long, long[]> totals = new TreeMap<>();
+        forEachEntry(stored -> {
+            LocalDate entryDate = stored.entry().entryDate();
+            if (entryDate.isBefore(from) || entryDate.isAfter(to)) {
+                return;
+            }
+            for (JournalEntryCreateRequest.Line line : stored.entry().lines()) {
+                long[] t = totals.computeIfAbsent(line.accountId(), k -> new long[3]);
+                t["DEBIT".equals(line.dcType()) ? 0 : 1] += line.amount();
+                t[2]++;
+            }
+        });
+        List<AccountLineTotals> result = new ArrayList<>(totals.size());
+        totals.forEach((accountId, t) -> result.add(new AccountLineTotals(accountId, t[0], t[1], t[2])));
+        return result;
+    }
+
+    @Override
+    public List<AccountDayTotals> sumByAccountAndDay() {
+        Map<AccountDay, long[]> totals = new HashMap<>();
+        forEachEntry(stored -> {
+            for (JournalEntryCreateRequest.Line line : stored.entry().lines()) {
+                long[] t = totals.computeIfAbsent(new AccountDay(line.accountId(), stored.entry().entryDate()),
+                        k -> new long[2]);
+                t["DEBIT".equals(line.dcType()) ? 0 : 1] += line.amount();
+            }
+        });
+        List<AccountDayTotals> result = new ArrayList<>(totals.size());
+        totals.forEach((key, t) -> result.add(new AccountDayTotals(key.accountId(), key.entryDate(), t[0], t[1])));
+        return result;
+    }
+
+    @Override
+    public void forEachSummary(Consumer<JournalEntrySummaryResponse> consumer) {
+        summaries.values().forEach(consumer);
+    }
+
+    // 목록 인덱스를 거꾸로(전표일자, id 오름차순) 따라가며 전표 레코드를 1건씩 읽는다
+    @Override
+    public void forEachLine(Consumer<JournalLineSnapshotRow> consumer) {
+        for (JournalEntrySummaryResponse summary : summaries.descendingMap().values()) {
+            Located located = byId.get(summary.id());
+            if (located == null) {
+                continue;
+            }
+            for (JournalEntryCreateRequest.Line line : readEntry(located.position()).entry().lines()) {
+                consumer.accept(new JournalLineSnapshotRow(
+                        summary.entryDate(), line.accountId(), line.dcType(), line.amount()));
+            }
+        }
+    }
+
+    // 인덱스에 올라간(= 디스크에 내려간) 전표 레코드 전체 순회, 기동 시 재계산용
+    private void forEachEntry(Consumer<StoredEntry> consumer) {
+        for (Located located : byId.values()) {
+            consumer.accept(readEntry(located.position()));
+        }
+    }
+
+    // ===================== 복구 =====================
+
+    /**
+     * 기동 시 세그먼트를 순서대로 읽어 메모리 인덱스 재구성
+     * - 중간 세그먼트가 깨져 있으면 데이터 유실이므로 기동을 멈춘다.
+     * - 마지막 세그먼트 끝의 깨진 레코드는 쓰다가 죽은 것이므로 지우고 이어 쓴다.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(p -> p.getFileName().toString().matches("segment-\\d{6}\\.log"))
+                        .sorted()
+                        .toList();
+            }
+            for (int i = 0; i < files.size(); i++) {
+                segments.add(openSegment(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal directory: " + directory, e);
+        }
+        if (segments.isEmpty()) {
+            segments.add(openSegment(0));
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            int end = scan(segment);
+            // 마지막 세그먼트는 끝까지, 나머지는 roll 지점 바로 뒤만 확인
+            int checkUntil = last ? segment.buffer().capacity() : end + HEADER_BYTES;
+            if (hasGarbage(segment, end, checkUntil)) {
+                if (!last) {
+                    throw new IllegalStateException("Corrupted journal segment: " + segment.path());
+                }
+                log.warn("Journal tail is torn at {}:{}. Truncating.", segment.path(), end);
+                zeroFill(segment, end);
+            }
+            if (last) {
+                active = segment;
+                writePosition = end;
+            }
+        }
+        writtenUpTo = position(active.index(), writePosition);
+        durableUpTo = writtenUpTo;
+        log.info("Journal recovered: {} segments, {} entries, {} lines", segments.size(), byId.size(), lineCount.get());
+    }
+
+    // 세그먼트를 처음부터 읽으며 정상 레코드를 인덱스에 반영, 반환: 마지막 정상 레코드의 다음 위치
+    private int scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer();
+        int pos = 0;
+        while (pos + HEADER_BYTES < buffer.capacity()) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || pos + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            if (buffer.getInt(pos + 4) != crc(buffer, pos + HEADER_BYTES, length)) {
+                break;
+            }
+            long position = position(segment.index(), pos);
+            byte type = buffer.get(pos + HEADER_BYTES);
+            if (type == TYPE_ENTRY) {
+                StoredEntry stored = readEntry(position);
+                index(stored.id(), position, stored.entry());
+                nextId = Math.max(nextId, stored.id() + 1);
+            } else if (type == TYPE_DESCRIPTION) {
+                recoverDescription(buffer, pos + HEADER_BYTES + 1);
+            } else if (type == TYPE_ABORT) {
+                recoverAbort(buffer, pos + HEADER_BYTES + 1);
+            }
+            pos += HEADER_BYTES + length;
+        }
+        return pos;
+    }
+
+    // 데이터 끝(end) 뒤에 0이 아닌 바이트가 남아 있으면 깨진 레코드
+    private boolean hasGarbage(Segment segment, int end, int until) {
+        MappedByteBuffer buffer = segment.buffer();
+        int limit = Math.min(buffer.capacity(), until);
+        for (int i = end; i < limit; i++) {
+            if (buffer.get(i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void zeroFill(Segment segment, int from) {
+        MappedByteBuffer buffer = segment.buffer();
+        for (int i = from; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+    }
+
+    private void recoverDescription(ByteBuffer buffer, int offset) {
+        long id = buffer.getLong(offset);
+        if (byId.containsKey(id)) {
+            applyDescription(id, readText(buffer, offset + 8), descriptionSeq.merge(id, 1L, Long::sum));
+        }
+    }
+
+    // 롤백된 전표를 인덱스에서 뺀다(ABORT는 항상 그 전표 레코드보다 뒤에 있다)
+    private void recoverAbort(ByteBuffer buffer, int offset) {
+        int count = buffer.getInt(offset);
+        for (int i = 0; i < count; i++) {
+            long id = buffer.getLong(offset + 4 + i * 8);
+            Located located = byId.remove(id);
+            if (located != null) {
+                summaries.remove(new SummaryKey(located.entryDate(), id));
+                lineCount.addAndGet(-readEntry(located.position()).entry().lines().size());
+                descriptionSeq.remove(id);
+            }
+        }
+    }
+
+    // ===================== 인코딩 / 디코딩 =====================
+
+    private byte[] encodeEntry(long id, JournalEntryCreateRequest entry) {
+        byte[] description = text(entry.description());
+        int bodyLength = 1 + 8 + 4 + 2 + description.length + 4 + entry.lines().size() * LINE_BYTES;
+        ByteBuffer record = newRecord(bodyLength, TYPE_ENTRY);
+        record.putLong(id);
+        record.putInt((int) entry.entryDate().toEpochDay());
+        record.putShort((short) description.length);
+        record.put(description);
+        record.putInt(entry.lines().size());
+        for (JournalEntryCreateRequest.Line line : entry.lines()) {
+            record.putLong(line.accountId());
+            record.put("DEBIT".equals(line.dcType()) ? (byte) 0 : (byte) 1);
+            record.putLong(line.amount());
+        }
+        return seal(record, bodyLength);
+    }
+
+    private byte[] encodeDescription(long id, String text) {
+        byte[] description = text(text);
+        int bodyLength = 1 + 8 + 2 + description.length;
+        ByteBuffer record = newRecord(bodyLength, TYPE_DESCRIPTION);
+        record.putLong(id);
+        record.putShort((short) description.length);
+        record.put(description);
+        return seal(record, bodyLength);
+    }
+
+    private byte[] encodeAbort(List<Long> ids) {
+        int bodyLength = 1 + 4 + ids.size() * 8;
+        ByteBuffer record = newRecord(bodyLength, TYPE_ABORT);
+        record.putInt(ids.size());
+        for (Long id : ids) {
+            record.putLong(id);
+        }
+        return seal(record, bodyLength);
+    }
+
+    private ByteBuffer newRecord(int bodyLength, byte type) {
+        if (HEADER_BYTES + bodyLength > segmentSize) {
+            throw new IllegalArgumentException("Journal entry is too large for a journal segment");
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bodyLength);
+        record.putInt(bodyLength);
+        record.putInt(0); // CRC 자리(seal에서 채움)
+        record.put(type);
+        return record;
+    }
+
+    private byte[] seal(ByteBuffer record, int bodyLength) {
+        record.putInt(4, crc(record, HEADER_BYTES, bodyLength));
+        return record.array();
+    }
+
+    private StoredEntry readEntry(long position) {
+        ByteBuffer buffer = segments.get((int) (position >>> 32)).buffer();
+        int p = (int) position + HEADER_BYTES + 1;
+        long id = buffer.getLong(p);
+        LocalDate entryDate = LocalDate.ofEpochDay(buffer.getInt(p + 8));
+        String description = readText(buffer, p + 12);
+        p += 12 + 2 + Short.toUnsignedInt(buffer.getShort(p + 12));
+        int count = buffer.getInt(p);
+        p += 4;
+        List<JournalEntryCreateRequest.Line> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++, p += LINE_BYTES) {
+            lines.add(new JournalEntryCreateRequest.Line(
+                    buffer.get(p + 8) == 0 ? "DEBIT" : "CREDIT",
+                    buffer.getLong(p + 9),
+                    buffer.getLong(p)
+            ));
+        }
+        return new StoredEntry(id, new JournalEntryCreateRequest(entryDate, description, lines));
+    }
+
+    private static String readText(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] text(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("description is too long");
+        }
+        return bytes;
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    // ===================== 인덱스 / 세그먼트 =====================
+
+    private void index(long id, long position, JournalEntryCreateRequest entry) {
+        long debit = 0L;
+        long credit = 0L;
+        for (JournalEntryCreateRequest.Line line : entry.lines()) {
+            if ("DEBIT".equals(line.dcType())) {
+                debit += line.amount();
+            } else {
+                credit += line.amount();
+            }
+        }
+        byId.put(id, new Located(position, entry.entryDate(), 0L));
+        summaries.put(new SummaryKey(entry.entryDate(), id),
+                new JournalEntrySummaryResponse(id, entry.entryDate(), entry.description(), debit, credit));
+        lineCount.addAndGet(entry.lines().size());
+    }
+
+    private static JournalEntrySummaryResponse withDescription(JournalEntrySummaryResponse summary, String description) {
+        return new JournalEntrySummaryResponse(summary.id(), summary.entryDate(), description,
+                summary.debitTotal(), summary.creditTotal());
+    }
+
+    private Segment openSegment(int index) {
+        Path path = directory.resolve(String.format("segment-%06d.log", index));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 기존 파일은 그 크기 그대로(설정이 바뀌어도 읽을 수 있게), 새 파일은 segmentSize로
+            long size = channel.size() > 0 ? channel.size() : segmentSize;
+            // 채널을 닫아도 매핑은 유지된다
+            return new Segment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment: " + path, e);
+        }
+    }
+
+    private static long position(int segmentIndex, int offset) {
+        return ((long) segmentIndex << 32) | offset;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer().force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record Segment(int index, Path path, MappedByteBuffer buffer) {}
+
+    private record Located(long position, LocalDate entryDate, long version) {
+        Located withVersion(long newVersion) {
+            return new Located(position, entryDate, newVersion);
+        }
+    }
+
+    private record StoredEntry(long id, JournalEntryCreateRequest entry) {}
+
+    private record AccountDay(Long accountId, LocalDate entryDate) {}
+
+    /**
+     * 목록 정렬 키: entryDate desc, id desc
+     * - tailMap(커서)로 "커서 다음"부터 바로 읽을 수 있다.
+     */
+    private record SummaryKey(LocalDate entryDate, long id) implements Comparable<SummaryKey> {
+        @Override
+        public int compareTo(SummaryKey other) {
+            int byDate = other.entryDate.compareTo(entryDate);
+            return byDate != 0 ? byDate : Long.compare(other.id, id);
+        }
+    }
+}
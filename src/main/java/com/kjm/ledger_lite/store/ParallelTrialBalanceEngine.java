@@ -0,0 +1,201 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기간 시산표 병렬 집계 엔진 - JPA 엔진 전용
+ *
+ * ✅ 방법
+ * - 전표 id 범위를 segment-size개씩 구간으로 나누고, threads개짜리 고정 풀에서 구간마다
+ *   읽기 전용 트랜잭션(= 커넥션 1개)으로 계정별 합계 쿼리 1번(전표 PK 범위 + 라인 FK)을 실행한다.
+ * - 구간 결과는 계정 id로 인덱싱한 primitive 배열(long[] 차변/대변/라인 수)로 옮기고,
+ *   구간 결과들을 fork/join으로 반씩 나눠 더한다(병합 트리).
+ *
+ * ✅ 주의
+ * - 구간마다 자기 트랜잭션으로 읽으므로 호출하는 쪽 트랜잭션에 참여하지 않는다. (커밋된 라인만 집계)
+ * - 그래서 구간 경계는 라인 id가 아니라 전표 id로 나눈다. 한 전표의 라인은 모두 한 구간에 들어가므로
+ *   집계 도중 커밋된 전표는 통째로 들어가거나 통째로 빠진다 → 차/대 총계가 항상 맞는다.
+ * - 시작할 때 읽은 최대 전표 id까지만 본다. 집계 도중 새로 커밋된 전표(마감의 개시 전표 포함)는
+ *   마지막 구간에 섞여 들지 않는다. 도중에 마감이 끝나면 아직 안 읽은 구간의 마감 전표는 빠진 채로 집계된다
+ *   (그래도 전표 단위라 차/대는 맞는다)
+ * - threads는 커넥션 풀 크기보다 작게 둔다(요청 처리용 커넥션을 남겨 두기 위해)
+ * - spring.threads.virtual.enabled=true면 풀의 스레드를 가상 스레드로 만든다(개수는 그대로 threads개, DB 동시 읽기 상한 유지)
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class ParallelTrialBalanceEngine {
+
+    private final JournalLineRepository journalLineRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int segmentSize;
+    private final ExecutorService executor;
+
+    public ParallelTrialBalanceEngine(JournalLineRepository journalLineRepository,
+                                      JournalEntryRepository journalEntryRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${ledger.trial-balance.segment-size:100000}") int segmentSize,
+                                      @Value("${ledger.trial-balance.threads:4}") int threads,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (segmentSize < 1 || threads < 1) {
+            throw new IllegalStateException("ledger.trial-balance segment-size and threads must be positive");
+        }
+        this.journalLineRepository = journalLineRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.segmentSize = segmentSize;
+
+        if (virtualThreads) {
+            this.executor = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("trial-balance-", 1).factory());
+        } else {
+            AtomicInteger threadNo = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "trial-balance-" + threadNo.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * 전표일자 from ~ to(둘 다 포함) 라인의 계정과목별 차/대 합계와 라인 수 (계정 id 순)
+     */
+    public List<AccountLineTotals> sumByAccount(LocalDate from, LocalDate to) {
+        // 전표 id 범위(최대값 = 이번 집계의 상한)
+        Long[] range = readOnlyTransaction.execute(status ->
+                new Long[]{journalEntryRepository.findMinId(), journalEntryRepository.findMaxId()});
+        if (range == null || range[0] == null) {
+            return List.of();
+        }
+
+        List<Future<SegmentTotals>> futures = new ArrayList<>();
+        for (long start = range[0]; start <= range[1]; start += segmentSize) {
+            long fromId = start;
+            long toId = Math.min(start + segmentSize - 1, range[1]);
+            futures.add(executor.submit(() -> readOnlyTransaction.execute(status ->
+                    SegmentTotals.of(journalLineRepository.sumByAccountInEntryRange(fromId, toId, from, to)))));
+        }
+
+        List<SegmentTotals> segments = new ArrayList<>(futures.size());
+        try {
+            for (Future<SegmentTotals> future : futures) {
+                segments.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trial balance interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Trial balance failed", e.getCause());
+        }
+        return ForkJoinPool.commonPool().invoke(new MergeTask(segments, 0, segments.size())).toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 구간 1개의 계정별 합계 (index = 계정 id)
+     */
+    static final class SegmentTotals {
+        final long[] debit;
+        final long[] credit;
+        final long[] lineCount;
+
+        SegmentTotals(int size) {
+            this.debit = new long[size];
+            this.credit = new long[size];
+            this.lineCount = new long[size];
+        }
+
+        static SegmentTotals of(List<AccountLineTotals> rows) {
+            int size = 0;
+            for (AccountLineTotals row : rows) {
+                size = Math.max(size, Math.toIntExact(row.accountId()) + 1);
+            }
+            SegmentTotals totals = new SegmentTotals(size);
+            for (AccountLineTotals row : rows) {
+                int i = row.accountId().intValue();
+                totals.debit[i] += row.debitTotal();
+                totals.credit[i] += row.creditTotal();
+                totals.lineCount[i] += row.lineCount();
+            }
+            return totals;
+        }
+
+        // other를 더한 결과 (배열이 더 긴 쪽에 더한다)
+        SegmentTotals plus(SegmentTotals other) {
+            SegmentTotals target = debit.length >= other.debit.length ? this : other;
+            SegmentTotals source = target == this ? other : this;
+            for (int i = 0; i < source.debit.length; i++) {
+                target.debit[i] += source.debit[i];
+                target.credit[i] += source.credit[i];
+                target.lineCount[i] += source.lineCount[i];
+            }
+            return target;
+        }
+
+        List<AccountLineTotals> toList() {
+            List<AccountLineTotals> rows = new ArrayList<>();
+            for (int i = 0; i < debit.length; i++) {
+                if (lineCount[i] > 0) {
+                    rows.add(new AccountLineTotals((long) i, debit[i], credit[i], lineCount[i]));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * 구간 결과 [from, to)를 반으로 나눠 각각 합친 뒤 더한다 (fork/join 병합 트리)
+     */
+    static final class MergeTask extends RecursiveTask<SegmentTotals> {
+        private final List<SegmentTotals> segments;
+        private final int from;
+        private final int to;
+
+        MergeTask(List<SegmentTotals> segments, int from, int to) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SegmentTotals compute() {
+            if (to - from == 0) {
+                return new SegmentTotals(0);
+            }
+            if (to - from == 1) {
+                return segments.get(from);
+            }
+            int middle = (from + to) >>> 1;
+            MergeTask left = new MergeTask(segments, from, middle);
+            left.fork();
+            SegmentTotals right = new MergeTask(segments, middle, to).compute();
+            return left.join().plus(right);
+        }
+    }
+}
@@ -3,3 +3,35 @@
 
 MERGE INTO account (code, name) KEY(code) VALUES ('1000', 'CASH');
 MERGE INTO account (code, name) KEY(code) VALUES ('1111', 'PRODUCT');
+
+-- 전표/라인 id를 IDENTITY -> 시퀀스(pooled, allocationSize=50)로 바꾸면서
+--    기존 파일 DB에 이미 있는 id와 겹치지 않도록 시퀀스를 max(id) 뒤로 옮긴다.
+--    pooled 옵티마이저는 (시퀀스값 - 49)부터 id를 쓰기 때문에 50만큼 여유를 더 둔다.
+--    (재시작할 때마다 실행되므로 id에 빈 번호가 생길 수 있지만 중복은 생기지 않음)
+ALTER SEQUENCE journal_entry_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM journal_entry);
+ALTER SEQUENCE journal_line_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM journal_line);
+
+-- 계정별 잔액 집계(account_balance)의 stripe 행(0~7)을 계정마다 미리 만들어 둔다.
+--    이미 있는 행은 건드리지 않으므로(NOT EXISTS) 재시작해도 집계값이 유지된다.
+INSERT INTO account_balance (account_id, stripe, debit_total, credit_total, line_count)
+SELECT a.id, s.x, 0, 0, 0
+FROM account a CROSS JOIN SYSTEM_RANGE(0, 7) s
+WHERE NOT EXISTS (
+    SELECT 1 FROM account_balance b WHERE b.account_id = a.id AND b.stripe = s.x
+);
+
+-- 전표 날짜(entry_date)를 문자열(VARCHAR) -> DATE로 옮긴다.
+--    ddl-auto=update는 기존 컬럼 타입을 바꾸지 않으므로 여기서 직접 바꾼다.
+--    (이미 DATE면 아무 일도 일어나지 않음, ISO 형식이 아닌 값이 있으면 여기서 실패한다)
+ALTER TABLE journal_entry ALTER COLUMN entry_date SET DATA TYPE DATE;
+
+-- 목록/기간 조회(entry_date desc, id desc)와 계정별 라인 조회(account_id)용 인덱스
+CREATE INDEX IF NOT EXISTS idx_journal_entry_date_id ON journal_entry(entry_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_journal_line_account_id ON journal_line(account_id);
+
+-- 전표 변경 버전(@Version) 컬럼: ddl-auto=update로 추가되면 기존 행은 NULL이므로 0으로 채운다.
+UPDATE journal_entry SET version = 0 WHERE version IS NULL;
+
+-- 전표 요약(journal_entry_summary) 목록/기간 조회용 인덱스
+--    요약 행이 전표와 어긋나 있으면(기능 도입 전 데이터 등) 기동 시 JournalEntrySummaryRebuilder가 다시 채운다.
+CREATE INDEX IF NOT EXISTS idx_journal_entry_summary_date_id ON journal_entry_summary(entry_date DESC, id DESC);
@@ -221,7 +221,8 @@ function refreshAccountSelects() {
 async function loadAccounts() {
   showMessage("계정과목 목록 로딩 중...");
 
-  const res = await fetch("/api/accounts", { method: "GET" });
+  // cache: "no-cache" → 브라우저 캐시가 있으면 If-None-Match로 재검증(안 바뀌었으면 304, 본문은 캐시에서)
+  const res = await fetch("/api/accounts", { method: "GET", cache: "no-cache" });
   const data = await handleResponse(res);
 
   accounts = Array.isArray(data) ? data : [];
@@ -454,7 +455,7 @@ async function getJournalEntry() {
     return;
   }
 
-  const res = await fetch(`/api/journal-entries/${id}`, { method: "GET" });
+  const res = await fetch(`/api/journal-entries/${id}`, { method: "GET", cache: "no-cache" });
   const data = await handleResponse(res);
 
   if (entryBox) {
@@ -0,0 +1,133 @@
+package com.kjm.ledger_lite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VirtualThreadLoadTest (부하 테스트, ./gradlew loadTest)
+ *
+ * ✅ 목적
+ * - 가상 스레드 모드(spring.threads.virtual.enabled=true)로 띄운 앱에 동시 클라이언트 concurrency개가
+ *   전표 등록(POST) → 단건 조회(GET)를 requests번씩 보내고, 모두 성공하면서 p99가 정한 상한(p99-ms) 안인지 검증
+ * - 요청 스레드 수 제한 없이 Hikari 풀(10개)이 DB 동시 작업을 제한하는 구성에서,
+ *   동시 요청 수를 늘려도 같은 p99 상한을 지키는지 concurrency만 바꿔 가며 확인한다.
+ *
+ * ✅ 메모
+ * - @Tag("load"): 기본 test 태스크에서는 빠지고 loadTest 태스크에서만 돈다(시간이 걸리므로)
+ * - 값은 시스템 프로퍼티 ledger.load.concurrency / requests / p99-ms (loadTest 태스크가 -P 옵션으로 넘김)
+ * - 결과(동시 수, 요청 수, 처리량, p50/p99/max)는 로그(Load report: ...)로 남긴다.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private final int concurrency = Integer.getInteger("ledger.load.concurrency", 400);
+    private final int requests = Integer.getInteger("ledger.load.requests", 20);
+    private final long p99Ms = Long.getLong("ledger.load.p99-ms", 2000L);
+
+    @Test
+    @DisplayName("가상 스레드 모드: 동시 클라이언트 전원 성공 + p99 상한 이내")
+    void concurrentPostsAndGets_stayWithinP99() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LedgerLiteApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loaddb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.sql.init.mode=always",
+                "--spring.threads.virtual.enabled=true",
+                "--ledger.warmup.enabled=true");
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            Long cashId = context.getBean(AccountRepository.class).findByCode("1000").orElseThrow().getId();
+            Long productId = context.getBean(AccountRepository.class).findByCode("1111").orElseThrow().getId();
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            // 클라이언트 1개 = POST/GET requests번, 요청마다 지연(ns) 기록
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> results = new ArrayList<>(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                int client = c;
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[requests * 2];
+                    start.await();
+                    for (int i = 0; i < requests; i++) {
+                        String body = """
+                                {"entryDate":"%s","description":"load %d-%d","lines":[
+                                  {"dcType":"DEBIT","amount":1000,"accountId":%d},
+                                  {"dcType":"CREDIT","amount":1000,"accountId":%d}]}
+                                """.formatted(LocalDate.now(), client, i, productId, cashId);
+                        long t0 = System.nanoTime();
+                        HttpResponse<String> created = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journal-entries"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                        long t1 = System.nanoTime();
+                        assertEquals(201, created.statusCode(), created.body());
+                        long id = objectMapper.readTree(created.body()).get("id").asLong();
+
+                        HttpResponse<String> detail = http.send(HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/journal-entries/" + id)).GET().build(), HttpResponse.BodyHandlers.ofString());
+                        long t2 = System.nanoTime();
+                        assertEquals(200, detail.statusCode(), detail.body());
+                        latencies[i * 2] = t1 - t0;
+                        latencies[i * 2 + 1] = t2 - t1;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            long[] all = new long[concurrency * requests * 2];
+            int n = 0;
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get(5, TimeUnit.MINUTES);
+                System.arraycopy(latencies, 0, all, n, latencies.length);
+                n += latencies.length;
+            }
+            long elapsedNanos = System.nanoTime() - started;
+
+            Arrays.sort(all);
+            long p50 = TimeUnit.NANOSECONDS.toMillis(percentile(all, 0.50));
+            long p99 = TimeUnit.NANOSECONDS.toMillis(percentile(all, 0.99));
+            long max = TimeUnit.NANOSECONDS.toMillis(all[all.length - 1]);
+            log.info("Load report: concurrency {}, requests {}, throughput {} req/s, p50 {} ms, p99 {} ms, max {} ms (p99 budget {} ms)",
+                    concurrency, all.length, all.length * 1_000_000_000L / elapsedNanos, p50, p99, max, p99Ms);
+            assertTrue(p99 <= p99Ms, "p99 " + p99 + " ms exceeds budget " + p99Ms + " ms");
+        }
+    }
+
+    // 정렬된 배열의 백분위 값 (nearest-rank)
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,88 @@
+package com.kjm.ledger_lite.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * MetricsConfigTest
+ *
+ * ✅ 목적
+ * - 전표 등록/거절 후 /actuator/prometheus에 업무 메트릭과 Hibernate 통계가 노출되는지 검증
+ * - @AutoConfigureObservability: 테스트에서는 기본으로 꺼져 있는 메트릭 export를 켠다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+
+@Transactional
+class MetricsConfigTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private AccountRepository accountRepository;
+
+    private String entryBody(long debitAmount, long creditAmount) throws Exception {
+        Account cash = accountRepository.findByCode("1000").orElseThrow();
+        Account product = accountRepository.findByCode("1111").orElseThrow();
+        return objectMapper.writeValueAsString(Map.of(
+                "entryDate", "2025-12-16",
+                "description", "metrics entry",
+                "lines", List.of(
+                        Map.of("dcType", "DEBIT", "amount", debitAmount, "accountId", product.getId()),
+                        Map.of("dcType", "CREDIT", "amount", creditAmount, "accountId", cash.getId())
+                )
+        ));
+    }
+
+    @Test
+    @DisplayName("Prometheus 엔드포인트: 서비스 타이머, 라인 수, 거절 카운터, SQL 문장 수, Hibernate 통계 노출")
+    void prometheus_exposesLedgerAndHibernateMetrics() throws Exception {
+        mockMvc.perform(post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(entryBody(10000, 10000)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(entryBody(10000, 9000)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("ledger_service_seconds_count{")))
+                .andExpect(content().string(Matchers.containsString("method=\"create\"")))
+                .andExpect(content().string(Matchers.containsString("ledger_journal_entry_lines")))
+                .andExpect(content().string(Matchers.containsString("ledger_journal_entry_rejected_total{")))
+                .andExpect(content().string(Matchers.containsString("reason=\"unbalanced\"")))
+                .andExpect(content().string(Matchers.containsString("ledger_http_sql_statements_count{")))
+                .andExpect(content().string(Matchers.containsString("hibernate_statements")));
+    }
+}
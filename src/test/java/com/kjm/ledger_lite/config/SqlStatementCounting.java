@@ -0,0 +1,31 @@
+package com.kjm.ledger_lite.config;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * 테스트용: 요청 1건이 실행한 SQL 문장 수 세기 (N+1 가드)
+ *
+ * ✅ 방법
+ * - 앞에서 만든 데이터가 1차 캐시에 남아 있으면 select가 생략되므로 flush + clear로 비운 뒤 센다.
+ * - 테스트 트랜잭션(@Transactional) 안이라 커밋이 없으므로, 요청 뒤에 flush해서 쓰기 SQL까지 센다.
+ * - MockMvc는 같은 스레드에서 요청을 처리하므로 SqlStatementCounter(스레드별 카운트)로 셀 수 있다.
+ */
+public final class SqlStatementCounting {
+
+    private SqlStatementCounting() {}
+
+    public static long countStatements(MockMvc mockMvc, EntityManager entityManager,
+                                       RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(request).andExpect(expectedStatus);
+        entityManager.flush();
+
+        return SqlStatementCounter.count();
+    }
+}
@@ -0,0 +1,104 @@
+package com.kjm.ledger_lite.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.LedgerLiteApplication;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * StartupWarmupRunnerTest
+ *
+ * ✅ 목적
+ * - 예열을 켜고 실제로 기동(내장 Tomcat, 임의 포트)해서 기동 시간과 첫 요청(create/get/list) 지연을 재고 로그로 남긴다.
+ * - run()이 반환된 시점(= readiness UP)에는 예열이 모두 끝나 있고, 예열 전표는 하나도 남지 않는지 검증
+ *
+ * ✅ 메모
+ * - 기동 시간을 재야 하므로 @SpringBootTest 대신 SpringApplicationBuilder로 직접 띄운다.
+ *   설정은 명령행 인자로 넘겨 application.properties보다 우선하게 하고, 이 테스트만 쓰는 메모리 DB(warmupdb)를 쓴다.
+ * - 시간은 환경마다 달라서 값으로 검증하지 않고 보고만 한다.
+ */
+class StartupWarmupRunnerTest {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmupRunnerTest.class);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("예열이 readiness 전에 끝나고 데이터를 남기지 않는다 + 기동 시간/첫 요청 지연 보고")
+    void warmup_finishesBeforeReadiness() throws Exception {
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LedgerLiteApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:warmupdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.sql.init.mode=always",
+                "--ledger.warmup.enabled=true",
+                "--ledger.warmup.iterations=50")) {
+            long startupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+            // ✅ 1. readiness UP 시점에 예열 완료, 예열 전표는 롤백되어 목록이 비어 있다
+            assertEquals(50, context.getBean(StartupWarmupRunner.class).completedIterations());
+            HttpResponse<String> readiness = send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness")).GET());
+            assertEquals(200, readiness.statusCode());
+            assertEquals("UP", objectMapper.readTree(readiness.body()).get("status").asText());
+            assertEquals(0, objectMapper.readTree(send(HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/journal-entries")).GET()).body()).get("items").size());
+
+            // ✅ 2. 첫 요청 지연
+            Long cashId = context.getBean(AccountRepository.class).findByCode("1000").orElseThrow().getId();
+            Long productId = context.getBean(AccountRepository.class).findByCode("1111").orElseThrow().getId();
+            String body = """
+                    {"entryDate":"%s","description":"first request","lines":[
+                      {"dcType":"DEBIT","amount":1000,"accountId":%d},
+                      {"dcType":"CREDIT","amount":1000,"accountId":%d}]}
+                    """.formatted(LocalDate.now(), productId, cashId);
+
+            long t0 = System.nanoTime();
+            HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journal-entries"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            long t1 = System.nanoTime();
+            assertEquals(201, created.statusCode());
+            JsonNode id = objectMapper.readTree(created.body()).get("id");
+
+            HttpResponse<String> detail = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journal-entries/" + id)).GET());
+            long t2 = System.nanoTime();
+            assertEquals(200, detail.statusCode());
+
+            HttpResponse<String> list = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journal-entries?limit=20")).GET());
+            long t3 = System.nanoTime();
+            assertEquals(200, list.statusCode());
+            assertEquals(1, objectMapper.readTree(list.body()).get("items").size());
+
+            log.info("Startup report: startup {} ms (warm-up included), first create {} µs, first get {} µs, first list {} µs",
+                    startupMs,
+                    TimeUnit.NANOSECONDS.toMicros(t1 - t0),
+                    TimeUnit.NANOSECONDS.toMicros(t2 - t1),
+                    TimeUnit.NANOSECONDS.toMicros(t3 - t2));
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
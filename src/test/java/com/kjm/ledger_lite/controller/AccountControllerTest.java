@@ -1,17 +1,27 @@
 package com.kjm.ledger_lite.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+
+import static com.kjm.ledger_lite.config.SqlStatementCounting.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +64,8 @@ class AccountControllerTest {
 
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private EntityManager entityManager;
 
     @Test
     @DisplayName("계정과목 생성 정상: 201 Created")
@@ -110,4 +122,204 @@ class AccountControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray());
     }
+
+    @Test
+    @DisplayName("계정과목 목록 조건부 조회: ETag가 같으면 304(본문/SQL 없음), 다르면 200")
+    void list_accounts_ifNoneMatch_returns304_without_query() throws Exception {
+        String etag = mockMvc.perform(get("/api/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        long statements = countStatements(mockMvc, entityManager, get("/api/accounts").header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotModified());
+        assertEquals(0, statements, "GET /api/accounts (304) statements: " + statements);
+
+        mockMvc.perform(get("/api/accounts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/accounts").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @DisplayName("계정 잔액/시산표: 전표 등록이 같은 트랜잭션에서 잔액 집계에 반영된다")
+    void balance_and_trialBalance_reflect_posted_entry() throws Exception {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+
+        // ✅ 등록 전 잔액
+        JsonNode before = objectMapper.readTree(mockMvc.perform(get("/api/accounts/{id}/balance", cashId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // ✅ 현금으로 상품 구입(차: 상품 / 대: 현금 7000)
+        String body = objectMapper.writeValueAsString(Map.of(
+                "entryDate", "2025-12-17",
+                "description", "Balance test",
+                "lines", List.of(
+                        Map.of("dcType", "DEBIT", "amount", 7000, "accountId", productId),
+                        Map.of("dcType", "CREDIT", "amount", 7000, "accountId", cashId)
+                )
+        ));
+        mockMvc.perform(post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // ✅ 현금 계정: 대변 +7000, 잔액 -7000, 라인 +1
+        mockMvc.perform(get("/api/accounts/{id}/balance", cashId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountCode").value("1000"))
+                .andExpect(jsonPath("$.creditTotal").value(before.get("creditTotal").asLong() + 7000))
+                .andExpect(jsonPath("$.balance").value(before.get("balance").asLong() - 7000))
+                .andExpect(jsonPath("$.lineCount").value(before.get("lineCount").asLong() + 1));
+
+        // ✅ 시산표: 차변 총계 = 대변 총계
+        String trial = mockMvc.perform(get("/api/accounts/trial-balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").isArray())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode trialJson = objectMapper.readTree(trial);
+        assertEquals(trialJson.get("debitTotal").asLong(), trialJson.get("creditTotal").asLong());
+    }
+
+    @Test
+    @DisplayName("없는 계정 잔액 조회: 404 Not Found")
+    void balance_unknownAccount_returns404() throws Exception {
+        mockMvc.perform(get("/api/accounts/{id}/balance", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account not found: 999999"));
+    }
+
+    @Test
+    @DisplayName("쿼리 수 예산: 계정과목 생성/목록/잔액/시산표가 정해진 SQL 문장 수를 넘지 않는다(N+1 방지)")
+    void statementBudgets_accountEndpoints() throws Exception {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+
+        // ✅ 생성: 코드 중복 확인 1 + 계정 insert 1 + 잔액 stripe 행 insert(배치 1)
+        long create = countStatements(mockMvc, entityManager, post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("code", "4000", "name", "BUDGET"))),
+                status().isCreated());
+        assertTrue(create <= 3, "POST /api/accounts statements: " + create);
+
+        long list = countStatements(mockMvc, entityManager, get("/api/accounts"), status().isOk());
+        assertTrue(list <= 1, "GET /api/accounts statements: " + list);
+
+        long balance = countStatements(mockMvc, entityManager, get("/api/accounts/{id}/balance", cashId), status().isOk());
+        assertTrue(balance <= 1, "GET /api/accounts/{id}/balance statements: " + balance);
+
+        long trial = countStatements(mockMvc, entityManager, get("/api/accounts/trial-balance"), status().isOk());
+        assertTrue(trial <= 1, "GET /api/accounts/trial-balance statements: " + trial);
+
+        // ✅ 실시간 누계는 메모리 엔진에서만 읽는다
+        long live = countStatements(mockMvc, entityManager, get("/api/accounts/live-balances"), status().isOk());
+        assertEquals(0, live, "GET /api/accounts/live-balances statements: " + live);
+    }
+
+    @Test
+    @DisplayName("계정별 원장: 전표일자 순 라인 + 누적 잔액을 JSON으로 스트리밍, 기간 조건/검증")
+    void ledger_streamsLinesWithRunningBalance() throws Exception {
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("code", "5100", "name", "LEDGER"))))
+                .andExpect(status().isCreated());
+        Long ledgerId = accountRepository.findByCode("5100").orElseThrow().getId();
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+
+        // ✅ 등록 순서와 전표일자 순서를 다르게: 3월 차변 50, 1월 차변 1000, 2월 대변 300
+        Object[][] entries = {
+                {"2025-03-10", "DEBIT", 50}, {"2025-01-10", "DEBIT", 1000}, {"2025-02-10", "CREDIT", 300}};
+        for (Object[] e : entries) {
+            String other = "DEBIT".equals(e[1]) ? "CREDIT" : "DEBIT";
+            mockMvc.perform(post("/api/journal-entries")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of(
+                                    "entryDate", e[0],
+                                    "description", "ledger " + e[0],
+                                    "lines", List.of(
+                                            Map.of("dcType", e[1], "amount", e[2], "accountId", ledgerId),
+                                            Map.of("dcType", other, "amount", e[2], "accountId", cashId))))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/accounts/{id}/ledger", ledgerId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.accountCode").value("5100"))
+                .andExpect(jsonPath("$.openingBalance").value(0))
+                .andExpect(jsonPath("$.lines[*].entryDate", Matchers.contains("2025-01-10", "2025-02-10", "2025-03-10")))
+                .andExpect(jsonPath("$.lines[*].balance", Matchers.contains(1000, 700, 750)))
+                .andExpect(jsonPath("$.debitTotal").value(1050))
+                .andExpect(jsonPath("$.creditTotal").value(300))
+                .andExpect(jsonPath("$.closingBalance").value(750));
+
+        // ✅ 기간 조건: 2월 라인만, 누적 잔액은 기초 잔액(기준일 인덱스)부터
+        String february = mockMvc.perform(get("/api/accounts/{id}/ledger", ledgerId)
+                        .param("from", "2025-02-01")
+                        .param("to", "2025-02-28"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(1))
+                .andExpect(jsonPath("$.lines[0].credit").value(300))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode februaryJson = objectMapper.readTree(february);
+        assertEquals(februaryJson.get("openingBalance").asLong() - 300, februaryJson.get("closingBalance").asLong());
+
+        mockMvc.perform(get("/api/accounts/{id}/ledger", ledgerId)
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-02-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must not be after to"));
+        mockMvc.perform(get("/api/accounts/{id}/ledger", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account not found: 999999"));
+
+        // ✅ 원장 쿼리 1번(+ 계정 조회는 캐시)
+        long ledger = countStatements(mockMvc, entityManager, get("/api/accounts/{id}/ledger", ledgerId), status().isOk());
+        assertTrue(ledger <= 2, "GET /api/accounts/{id}/ledger statements: " + ledger);
+    }
+
+    @Test
+    @DisplayName("기간 시산표: 기간 검증(400), 차변 총계 = 대변 총계")
+    void reportTrialBalance_validatesPeriod() throws Exception {
+        mockMvc.perform(get("/api/reports/trial-balance")
+                        .param("from", "2025-12-31")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must not be after to"));
+
+        String body = mockMvc.perform(get("/api/reports/trial-balance")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").isArray())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(json.get("debitTotal").asLong(), json.get("creditTotal").asLong());
+    }
+
+    @Test
+    @DisplayName("계정 코드 계층별 합계: 기동 시 적재한 계정이 분류(코드 앞자리)로 묶이고, DB를 읽지 않는다")
+    void rollup_groupsAccountsByCodePrefix_withoutQueries() throws Exception {
+        // ✅ 시드 계정 1000, 1111 → level 1 분류 "1"
+        mockMvc.perform(get("/api/reports/rollup").param("level", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.level").value(1))
+                .andExpect(jsonPath("$.groups[?(@.codePrefix == '1')].accountCount",
+                        Matchers.contains(Matchers.greaterThanOrEqualTo(2))));
+        mockMvc.perform(get("/api/reports/rollup").param("level", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[*].codePrefix", Matchers.hasItems("10", "11")));
+
+        mockMvc.perform(get("/api/reports/rollup").param("level", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("level must be at least 1"));
+
+        long rollup = countStatements(mockMvc, entityManager, get("/api/reports/rollup"), status().isOk());
+        assertEquals(0, rollup, "GET /api/reports/rollup statements: " + rollup);
+    }
 }
@@ -4,12 +4,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kjm.ledger_lite.domain.Account;
 import com.kjm.ledger_lite.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,6 +23,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Map;
 
+import static com.kjm.ledger_lite.config.SqlStatementCounting.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -54,6 +62,7 @@ class JournalEntryControllerTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private EntityManager entityManager;
 
     // -------------------------
     // ✅ Helper: seed 계정(code)으로 id 얻기
@@ -184,6 +193,59 @@ class JournalEntryControllerTest {
                 .andExpect(jsonPath("$.lines[0].accountName").exists());
     }
 
+    @Test
+    @DisplayName("전표 조건부 조회: 같은 ETag면 304(상세 조회 없음), 적요 수정 후에는 ETag가 바뀌어 200")
+    void get_journalEntry_ifNoneMatch_returns304_until_modified() throws Exception {
+        long id = createOneAndReturnId("2025-12-17", "Buy product with cash", 10000);
+
+        String etag = mockMvc.perform(get("/api/journal-entries/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // ✅ 304: 버전 컬럼 조회 1번뿐, 본문 없음
+        long statements = countStatements(mockMvc, entityManager, get("/api/journal-entries/{id}", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotModified());
+        assertTrue(statements <= 1, "GET /api/journal-entries/{id} (304) statements: " + statements);
+        mockMvc.perform(get("/api/journal-entries/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // ✅ 적요 수정 → 버전 +1 → 새 ETag
+        mockMvc.perform(patch("/api/journal-entries/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "Changed"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/api/journal-entries/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.description").value("Changed"));
+
+        // ✅ 없는 전표는 If-None-Match가 있어도 404
+        mockMvc.perform(get("/api/journal-entries/{id}", 999999).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("없는 전표 단건 조회/적요 수정: 404 Not Found")
+    void get_and_patch_unknownJournalEntry_returns404() throws Exception {
+        mockMvc.perform(get("/api/journal-entries/{id}", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("JournalEntry not found: 999999"));
+
+        mockMvc.perform(patch("/api/journal-entries/{id}", 999999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "Nope"))))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("전표 목록(요약) 조회 정상: 200 + 배열 + 요약 필드(debitTotal/creditTotal) 포함")
     void list_journalEntries_summary_returns200_and_summaryFields() throws Exception {
@@ -194,15 +256,130 @@ class JournalEntryControllerTest {
         mockMvc.perform(get("/api/journal-entries"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.items").isArray())
                 // 최소 2건 이상 존재(우리가 방금 2건 생성했으니까)
-                .andExpect(jsonPath("$.length()").value(Matchers.greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.items.length()").value(Matchers.greaterThanOrEqualTo(2)))
                 // 요약 DTO 필드 존재 여부(프로젝트 구현 형태에 맞춘 “형태 검증”)
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].entryDate").exists())
-                .andExpect(jsonPath("$[0].description").exists())
-                .andExpect(jsonPath("$[0].debitTotal").exists())
-                .andExpect(jsonPath("$[0].creditTotal").exists());
+                .andExpect(jsonPath("$.items[0].id").exists())
+                .andExpect(jsonPath("$.items[0].entryDate").exists())
+                .andExpect(jsonPath("$.items[0].description").exists())
+                .andExpect(jsonPath("$.items[0].debitTotal").exists())
+                .andExpect(jsonPath("$.items[0].creditTotal").exists());
+    }
+
+    @Test
+    @DisplayName("전표 목록 커서 페이지네이션: limit만큼 내려주고 nextCursor로 다음 페이지를 이어서 조회한다")
+    void list_journalEntries_cursorPagination_followsNextCursor() throws Exception {
+        // ✅ 다른 데이터보다 앞에 오도록 먼 미래 날짜로 3건 생성
+        long first = createOneAndReturnId("2099-01-01", "Page entry 1", 1000);
+        long second = createOneAndReturnId("2099-01-02", "Page entry 2", 2000);
+        long third = createOneAndReturnId("2099-01-03", "Page entry 3", 3000);
+
+        // ✅ 1) 첫 페이지: 최신 날짜 순으로 2건 + nextCursor
+        String response = mockMvc.perform(get("/api/journal-entries").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(third))
+                .andExpect(jsonPath("$.items[1].id").value(second))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        // ✅ 2) 다음 페이지: 커서 이후 첫 전표부터 이어진다
+        mockMvc.perform(get("/api/journal-entries")
+                        .param("limit", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(first));
+    }
+
+    @Test
+    @DisplayName("전표 목록 잘못된 커서/limit: 400 Bad Request")
+    void list_journalEntries_invalidCursorOrLimit_returns400() throws Exception {
+        mockMvc.perform(get("/api/journal-entries").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+
+        mockMvc.perform(get("/api/journal-entries").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("전표 목록 기간 조회: from ~ to(둘 다 포함) 기간의 전표만 내려준다")
+    void list_journalEntries_dateRange_returnsOnlyEntriesInRange() throws Exception {
+        long before = createOneAndReturnId("2098-02-28", "Range before", 1000);
+        long inFirst = createOneAndReturnId("2098-03-01", "Range first", 2000);
+        long inLast = createOneAndReturnId("2098-03-31", "Range last", 3000);
+        long after = createOneAndReturnId("2098-04-01", "Range after", 4000);
+
+        mockMvc.perform(get("/api/journal-entries")
+                        .param("from", "2098-03-01")
+                        .param("to", "2098-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(inLast))
+                .andExpect(jsonPath("$.items[1].id").value(inFirst))
+                .andExpect(jsonPath("$.items[*].id", Matchers.not(Matchers.hasItem((int) before))))
+                .andExpect(jsonPath("$.items[*].id", Matchers.not(Matchers.hasItem((int) after))));
+    }
+
+    @Test
+    @DisplayName("잘못된 날짜: 전표 생성/기간 조회 모두 400 Bad Request")
+    void invalidDate_returns400() throws Exception {
+        mockMvc.perform(post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(buildValidCreateBody("2025-13-40", "Bad date", 1000)))
+                .andExpect(status().isBadRequest());
+
+        // 날짜로는 맞지만 허용 범위(0001-01-01 ~ 9999-12-31) 밖
+        for (String outOfRange : List.of("+10000-01-01", "0000-12-31")) {
+            mockMvc.perform(post("/api/journal-entries")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(buildValidCreateBody(outOfRange, "Out of range", 1000)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("entryDate must be between 0001-01-01 and 9999-12-31"));
+        }
+
+        mockMvc.perform(get("/api/journal-entries")
+                        .param("from", "2025-03-31")
+                        .param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must not be after to"));
+
+        mockMvc.perform(get("/api/journal-entries").param("from", "2025-13-40"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid parameter: from"));
+    }
+
+    @Test
+    @DisplayName("쿼리 수 예산: 전표 등록/단건/목록/적요수정이 정해진 SQL 문장 수를 넘지 않는다(N+1 방지)")
+    void statementBudgets_journalEntryEndpoints() throws Exception {
+        long id = createOneAndReturnId("2025-12-19", "Budget entry", 5000);
+
+        // ✅ 등록: 계정 조회(캐시 miss 시 1) + 시퀀스(최대 2) + 전표/라인/요약 insert(배치 3) + 잔액 갱신(계정 2개 → 2)
+        long create = countStatements(mockMvc, entityManager, post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(buildValidCreateBody("2025-12-19", "Budget entry 2", 5000)),
+                status().isCreated());
+        assertTrue(create <= 8, "POST /api/journal-entries statements: " + create);
+
+        // ✅ 단건: 전표 + 라인 + 계정과목을 DTO 프로젝션 한 번으로(라인/계정 수만큼 select가 늘면 실패)
+        long detail = countStatements(mockMvc, entityManager, get("/api/journal-entries/{id}", id), status().isOk());
+        assertTrue(detail <= 1, "GET /api/journal-entries/{id} statements: " + detail);
+
+        // ✅ 목록: 요약 테이블 한 페이지 select 1 (라인 join/집계 없음)
+        long list = countStatements(mockMvc, entityManager, get("/api/journal-entries"), status().isOk());
+        assertTrue(list <= 1, "GET /api/journal-entries statements: " + list);
+
+        // ✅ 적요 수정: JPQL update 2(전표 + 요약) + 응답용 상세 프로젝션 1
+        long patch = countStatements(mockMvc, entityManager, patch("/api/journal-entries/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "Budget updated"))),
+                status().isOk());
+        assertTrue(patch <= 3, "PATCH /api/journal-entries/{id} statements: " + patch);
     }
 
     @Test
@@ -229,4 +406,137 @@ class JournalEntryControllerTest {
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.description").value("New description"));
     }
+
+    @Test
+    @DisplayName("전표 요약 테이블: 등록한 합계와 수정한 적요가 목록에 그대로 보인다")
+    void list_readsSummaryTable_updatedByCreateAndPatch() throws Exception {
+        // ✅ 다른 데이터보다 앞에 오도록 먼 미래 날짜
+        long id = createOneAndReturnId("2098-05-05", "Summary before", 7000);
+
+        mockMvc.perform(patch("/api/journal-entries/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "Summary after"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/journal-entries").param("from", "2098-05-05").param("to", "2098-05-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(id))
+                .andExpect(jsonPath("$.items[0].description").value("Summary after"))
+                .andExpect(jsonPath("$.items[0].debitTotal").value(7000))
+                .andExpect(jsonPath("$.items[0].creditTotal").value(7000));
+    }
+
+    @Test
+    @DisplayName("적요 검색: 단어가 없는 검색어/잘못된 limit은 400, 없는 단어는 0건(SQL 0번)")
+    void search_validatesQuery_andMissingTermSkipsDatabase() throws Exception {
+        mockMvc.perform(get("/api/journal-entries/search").param("q", " - / "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("q must contain at least one word"));
+
+        mockMvc.perform(get("/api/journal-entries/search").param("q", "rent").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        // ✅ 역색인에 없는 단어면 저장소를 읽지 않는다
+        long statements = countStatements(mockMvc, entityManager, get("/api/journal-entries/search").param("q", "nosuchvendorzzz"),
+                status().isOk());
+        assertEquals(0, statements, "GET /api/journal-entries/search statements: " + statements);
+        mockMvc.perform(get("/api/journal-entries/search").param("q", "nosuchvendorzzz"))
+                .andExpect(jsonPath("$.totalHits").value(0))
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    @DisplayName("2차 캐시: 앱 캐시(AccountCache)에 없는 계정과목도 2차 캐시에 있으면 전표 등록 시 DB에서 다시 읽지 않는다")
+    void create_afterWarmUp_doesNotSelectAccounts() throws Exception {
+        // ✅ AccountCache를 거치지 않고 계정과목을 만들어 앱 캐시에는 없게 한다
+        Long debitId = accountRepository.save(new Account("1190", "PREPAID")).getId();
+        Long creditId = accountRepository.save(new Account("2190", "ACCRUED")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        // ✅ 워밍업: 한 번 읽으면 계정과목이 2차 캐시에 들어간다
+        accountRepository.findAllByIdCached(List.of(debitId, creditId));
+        String body = objectMapper.writeValueAsString(Map.of(
+                "entryDate", "2025-12-18",
+                "description", "Warmed",
+                "lines", List.of(
+                        Map.of("dcType", "DEBIT", "amount", 2000, "accountId", debitId),
+                        Map.of("dcType", "CREDIT", "amount", 2000, "accountId", creditId)
+                )
+        ));
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/journal-entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        EntityStatistics account = statistics.getEntityStatistics(Account.class.getName());
+        assertEquals(0, account.getLoadCount(), "Account rows loaded from DB");
+        assertTrue(account.getCacheHitCount() > 0, "Account second-level cache hits");
+    }
+
+    @Test
+    @DisplayName("전표 일괄 등록(NDJSON): 줄마다 결과를 내려주고, 잘못된 줄만 REJECTED 처리한다")
+    void bulkImport_ndjson_returnsPerLineResults() throws Exception {
+        Long cashId = findAccountIdByCode("1000");
+
+        // ✅ 1~2줄: 정상, 3줄: 빈 줄(무시), 4줄: 차/대 불일치, 5줄: JSON 문법 오류, 6줄: 허용 범위 밖 날짜
+        String mismatch = objectMapper.writeValueAsString(Map.of(
+                "entryDate", "2025-12-17",
+                "description", "Bulk mismatch",
+                "lines", List.of(
+                        Map.of("dcType", "DEBIT", "amount", 10000, "accountId", cashId),
+                        Map.of("dcType", "CREDIT", "amount", 9000, "accountId", cashId)
+                )
+        ));
+        String ndjson = String.join("\n",
+                buildValidCreateBody("2025-12-17", "Bulk entry 1", 10000),
+                buildValidCreateBody("2025-12-18", "Bulk entry 2", 20000),
+                "",
+                mismatch,
+                "{not json",
+                buildValidCreateBody("+10000-01-01", "Bulk far future", 1000)
+        );
+
+        String response = mockMvc.perform(post("/api/journal-entries/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<JsonNode> results = response.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+
+        assertEquals(5, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("CREATED", results.get(1).get("status").asText());
+        assertEquals("REJECTED", results.get(2).get("status").asText());
+        assertEquals(4, results.get(2).get("line").asLong());
+        assertEquals("Debit sum must equal credit sum",
+                results.get(2).get("message").asText());
+        assertEquals("REJECTED", results.get(3).get("status").asText());
+        assertEquals("REJECTED", results.get(4).get("status").asText());
+        assertEquals("entryDate must be between 0001-01-01 and 9999-12-31",
+                results.get(4).get("message").asText());
+
+        // ✅ 저장된 전표는 단건 조회로 확인 가능
+        long createdId = results.get(0).get("id").asLong();
+        mockMvc.perform(get("/api/journal-entries/{id}", createdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Bulk entry 1"));
+    }
 }
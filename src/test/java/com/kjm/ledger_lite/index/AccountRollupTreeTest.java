@@ -0,0 +1,91 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.service.AccountCache;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AccountRollupTreeTest
+ *
+ * ✅ 목적
+ * - 기동 시 적재한 계정별 합계가 코드 계층(level)별로 맞게 묶이는지 검증
+ * - 전표 커밋 이벤트가 계정 → 루트 경로에만 더해지고, 기동 후 생긴 계정도 트리에 붙는지 검증
+ */
+class AccountRollupTreeTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final JournalEntryStore journalEntryStore = mock(JournalEntryStore.class);
+    private final AccountCache accountCache = mock(AccountCache.class);
+    private final AccountRollupTree tree = new AccountRollupTree(accountRepository, journalEntryStore, accountCache);
+
+    private static Account account(long id, String code) {
+        Account account = new Account(code, "account-" + code);
+        ReflectionTestUtils.setField(account, "id", id);
+        return account;
+    }
+
+    private static JournalEntryPostedEvent entry(long debitAccountId, long creditAccountId, long amount) {
+        return new JournalEntryPostedEvent(1L, LocalDate.of(2025, 1, 1), "entry", List.of(
+                new JournalEntryPostedEvent.Line(debitAccountId, "DEBIT", amount),
+                new JournalEntryPostedEvent.Line(creditAccountId, "CREDIT", amount)
+        ));
+    }
+
+    @BeforeEach
+    void load() {
+        // 1000 현금, 1111 상품, 1120 매출채권, 4000 매출
+        when(accountRepository.findAll()).thenReturn(List.of(
+                account(1L, "1000"), account(2L, "1111"), account(3L, "1120"), account(4L, "4000")));
+        when(journalEntryStore.sumByAccount()).thenReturn(List.of(
+                new AccountLineTotals(1L, 10_000, 3_000, 2),
+                new AccountLineTotals(4L, 0, 7_000, 1)));
+        tree.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("level별 묶음: 코드 앞자리 분류마다 하위 계정 합계, 코드 순")
+    void rollup_groupsByCodePrefix() {
+        List<AccountRollupTree.Row> level1 = tree.rollup(1);
+        assertEquals(List.of(
+                new AccountRollupTree.Row("1", 3, 10_000, 3_000),
+                new AccountRollupTree.Row("4", 1, 0, 7_000)), level1);
+
+        List<AccountRollupTree.Row> level2 = tree.rollup(2);
+        assertEquals(List.of("10", "11", "40"), level2.stream().map(AccountRollupTree.Row::codePrefix).toList());
+        assertEquals(2, level2.get(1).accountCount());
+
+        // 코드 길이보다 깊은 level은 계정 자신
+        assertEquals(4, tree.rollup(9).size());
+        assertArrayEquals(new long[]{10_000, 10_000}, tree.totals());
+    }
+
+    @Test
+    @DisplayName("커밋 이벤트: 경로상의 분류에만 더해지고, 기동 후 생긴 계정은 AccountCache로 찾아 붙인다")
+    void onPosted_updatesLeafToRootPath() {
+        tree.onPosted(entry(2L, 4L, 500));
+        assertEquals(new AccountRollupTree.Row("11", 2, 500, 0), tree.rollup(2).get(1));
+        assertEquals(new AccountRollupTree.Row("4", 1, 0, 7_500), tree.rollup(1).get(1));
+        assertEquals(new AccountRollupTree.Row("10", 1, 10_000, 3_000), tree.rollup(2).get(0));
+
+        when(accountCache.getAll(List.of(5L))).thenReturn(Map.of(5L, account(5L, "2100")));
+        tree.onPosted(entry(1L, 5L, 800));
+        assertEquals(new AccountRollupTree.Row("2", 1, 0, 800), tree.rollup(1).get(1));
+        assertArrayEquals(new long[]{11_300, 11_300}, tree.totals());
+    }
+}
@@ -0,0 +1,108 @@
+package com.kjm.ledger_lite.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * DayBucketFenwickTreeTest
+ *
+ * ✅ 목적
+ * - 기준일 잔액 인덱스의 핵심 자료구조가 "단순 누적합"과 같은 결과를 내는지 검증
+ * - 과거/미래 날짜가 들어와 배열이 커지는(재구성) 경우도 포함
+ * - 기간 마감용 foldThrough가 마감일 이후 누적합은 그대로 두고 이전 날짜만 0으로 만드는지 검증
+ * - 아주 멀리 떨어진 날짜는 배열을 키우지 않고 거절하는지(무한 루프/int 넘침 회귀) 검증
+ */
+class DayBucketFenwickTreeTest {
+
+    @Test
+    @DisplayName("기준일 누적합: 기준일 당일은 포함, 이전 날짜는 0")
+    void prefixSum_includesAsOfDay() {
+        DayBucketFenwickTree tree = new DayBucketFenwickTree();
+        long day = LocalDate.of(2025, 3, 17).toEpochDay();
+
+        tree.add(day, 10000);
+        tree.add(day + 1, 5000);
+
+        assertEquals(0, tree.prefixSum(day - 1));
+        assertEquals(10000, tree.prefixSum(day));
+        assertEquals(15000, tree.prefixSum(day + 365));
+        assertEquals(5000, tree.rangeSum(day + 1, day + 1));
+    }
+
+    @Test
+    @DisplayName("무작위 날짜 추가/조회: 범위를 넘나들며 커져도 단순 누적합과 같다")
+    void randomAddsAndQueries_matchNaiveSums() {
+        Random random = new Random(42);
+        DayBucketFenwickTree tree = new DayBucketFenwickTree();
+        TreeMap<Long, Long> naive = new TreeMap<>();
+        long base = LocalDate.of(2025, 1, 1).toEpochDay();
+
+        for (int i = 0; i < 2000; i++) {
+            long day = base + random.nextInt(4000) - 2000;
+            long amount = random.nextInt(100_000) - 30_000;
+            tree.add(day, amount);
+            naive.merge(day, amount, Long::sum);
+
+            long from = base + random.nextInt(5000) - 2500;
+            long to = from + random.nextInt(400);
+            assertEquals(sum(naive, Long.MIN_VALUE, to), tree.prefixSum(to));
+            assertEquals(sum(naive, from, to), tree.rangeSum(from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("foldThrough: 마감일 이하 버킷이 마감일 하나로 합쳐지고 이후 누적합은 그대로")
+    void foldThrough_movesEarlierBucketsToClosingDay() {
+        DayBucketFenwickTree tree = new DayBucketFenwickTree();
+        long base = LocalDate.of(2025, 1, 1).toEpochDay();
+        for (int i = 0; i < 200; i++) {
+            tree.add(base + i, 100 + i);
+        }
+        long closing = base + 89;
+        long[] before = new long[300];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = tree.prefixSum(base + i);
+        }
+
+        tree.foldThrough(closing);
+        assertEquals(0, tree.prefixSum(closing - 1));
+        for (int i = 89; i < before.length; i++) {
+            assertEquals(before[i], tree.prefixSum(base + i));
+        }
+        // 범위 밖(뒤쪽) 마감일이면 배열을 넓혀서 합친다
+        tree.foldThrough(base + 5000);
+        assertEquals(0, tree.prefixSum(base + 4999));
+        assertEquals(before[299], tree.prefixSum(base + 5000));
+    }
+
+    @Test
+    @DisplayName("멀리 떨어진 날짜: 허용 범위 양 끝은 담고, 그보다 먼 날짜는 거절하며 기존 값은 그대로")
+    void farApartDates_coveredUpToMaxSpanThenRejected() {
+        DayBucketFenwickTree tree = new DayBucketFenwickTree();
+        long day = LocalDate.of(2025, 1, 1).toEpochDay();
+        tree.add(day, 1000);
+
+        long far = LocalDate.parse("+3000000-01-01").toEpochDay();
+        assertThrows(IllegalArgumentException.class, () -> tree.add(far, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(-far, 1));
+        assertEquals(1000, tree.prefixSum(day));
+        assertEquals(1000, tree.prefixSum(far));
+
+        tree.add(LocalDate.of(1, 1, 1).toEpochDay(), 10);
+        tree.add(LocalDate.of(9999, 12, 31).toEpochDay(), 100);
+        assertEquals(10, tree.prefixSum(day - 1));
+        assertEquals(1010, tree.prefixSum(day));
+        assertEquals(1110, tree.prefixSum(LocalDate.of(9999, 12, 31).toEpochDay()));
+    }
+
+    private static long sum(TreeMap<Long, Long> naive, long from, long to) {
+        return naive.subMap(from, true, to, true).values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,71 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.service.JournalEntryDescriptionChangedEvent;
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * JournalEntrySearchIndexTest
+ *
+ * ✅ 목적
+ * - 적요 단어 쪼개기(한글, 송장번호, 대소문자)와 여러 단어 AND 검색 결과를 검증
+ * - 적요가 바뀐 전표가 옛 단어로는 더 이상 검색되지 않는지 검증
+ * - 저장소는 기동 시 적재에만 쓰므로 mock으로 둔다(이벤트로만 채움)
+ */
+class JournalEntrySearchIndexTest {
+
+    private final JournalEntrySearchIndex index = new JournalEntrySearchIndex(mock(JournalEntryStore.class));
+
+    private void post(long id, String description) {
+        index.onPosted(new JournalEntryPostedEvent(id, LocalDate.of(2025, 1, 1), description, List.of()));
+    }
+
+    @Test
+    @DisplayName("단어 쪼개기: 글자/숫자 덩어리만, 소문자로, 중복 없이")
+    void tokenize_splitsOnNonWordCharacters() {
+        assertEquals(List.of("inv", "2025", "001", "대한상사", "매입"),
+                JournalEntrySearchIndex.tokenize("INV-2025-001 대한상사 매입, 대한상사"));
+        assertEquals(List.of(), JournalEntrySearchIndex.tokenize("  -- / "));
+    }
+
+    @Test
+    @DisplayName("여러 단어는 AND: 모두 포함한 전표만, 최근 등록 순으로 limit건")
+    void search_intersectsAllTerms() {
+        post(1, "대한상사 INV-2025-001 매입");
+        post(2, "대한상사 INV-2025-002 매입");
+        post(3, "민국물산 INV-2025-001 매입");
+        post(4, "대한상사 운반비");
+
+        JournalEntrySearchIndex.Hits hits = index.search(JournalEntrySearchIndex.tokenize("대한상사 매입"), 50);
+        assertEquals(2, hits.totalHits());
+        assertEquals(List.of(2L, 1L), hits.ids());
+
+        assertEquals(List.of(1L), index.search(JournalEntrySearchIndex.tokenize("inv-2025-001 대한상사"), 50).ids());
+        assertEquals(0, index.search(JournalEntrySearchIndex.tokenize("대한상사 없는단어"), 50).totalHits());
+
+        JournalEntrySearchIndex.Hits limited = index.search(JournalEntrySearchIndex.tokenize("대한상사"), 2);
+        assertEquals(3, limited.totalHits());
+        assertEquals(List.of(4L, 2L), limited.ids());
+    }
+
+    @Test
+    @DisplayName("적요 수정: 새 단어로는 검색되고, 옛 단어로는 검색되지 않는다")
+    void descriptionChange_replacesTerms() {
+        post(10, "대한상사 선급금");
+        post(11, "대한상사 선급금");
+
+        index.onDescriptionChanged(new JournalEntryDescriptionChangedEvent(10L, "민국물산 선급금"));
+
+        assertEquals(List.of(11L), index.search(JournalEntrySearchIndex.tokenize("대한상사"), 50).ids());
+        assertEquals(List.of(10L), index.search(JournalEntrySearchIndex.tokenize("민국물산 선급금"), 50).ids());
+        assertEquals(List.of(11L, 10L), index.search(JournalEntrySearchIndex.tokenize("선급금"), 50).ids());
+    }
+}
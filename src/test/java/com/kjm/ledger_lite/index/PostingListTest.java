@@ -0,0 +1,94 @@
+package com.kjm.ledger_lite.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PostingListTest
+ *
+ * ✅ 목적
+ * - 압축 posting list가 "정렬된 집합(TreeSet)"과 같은 결과를 내는지 검증
+ * - 순서가 뒤섞인 추가(AFTER_COMMIT 순서 ≠ id 순서), 중복 추가, 블록 경계를 넘는 재압축 포함
+ * - 증가하는 id는 블록을 뒤에 붙이기만 하고, 중간 값은 해당 블록 이후만 다시 압축해도 결과가 같은지 검증
+ */
+class PostingListTest {
+
+    private static long[] toArray(TreeSet<Long> set) {
+        return set.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    @DisplayName("무작위 추가/조회: 여러 블록으로 압축된 뒤에도 TreeSet과 같다")
+    void randomAdds_matchTreeSet() {
+        Random random = new Random(42);
+        PostingList list = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            // 대부분은 거의 증가하는 id, 가끔 과거 id(순서 뒤섞임/중복)
+            long id = random.nextInt(4) == 0 ? random.nextInt(10_000) : 10_000L + i * 3L + random.nextInt(2);
+            assertEquals(expected.add(id), list.add(id), "add " + id);
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertArrayEquals(toArray(expected), list.toArray());
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(30_000);
+            assertEquals(expected.contains(id), list.contains(id), "contains " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("블록 경계를 넘나드는 역순/중간 삽입: 일괄 생성 목록 뒤에 붙이고 사이사이 끼워 넣어도 TreeSet과 같다")
+    void outOfOrderAddsAcrossBlocks_matchTreeSet() {
+        PostingList list = PostingList.of(new long[]{10, 20, 30}, 3); // 덜 찬 블록 뒤에 새 블록이 붙는 경우
+        TreeSet<Long> expected = new TreeSet<>(List.of(10L, 20L, 30L));
+
+        // 1. 증가하는 id 5블록 분량 → 뒤에 붙이기
+        for (long id = 1_000; id < 1_000 + PostingList.BLOCK_SIZE * 5L * 2; id += 2) {
+            assertEquals(expected.add(id), list.add(id));
+        }
+        // 2. 역순으로 홀수 id를 끼워 넣는다: 꼬리가 찰 때마다 앞쪽 블록부터 다시 압축
+        for (long id = 1_000 + PostingList.BLOCK_SIZE * 5L * 2 - 1; id > 0; id -= 7) {
+            assertEquals(expected.add(id), list.add(id), "add " + id);
+        }
+        // 3. 맨 앞(첫 블록보다 작은 id)과 맨 뒤 섞어서
+        for (int i = 0; i < PostingList.BLOCK_SIZE * 3; i++) {
+            long id = i % 2 == 0 ? 5 - i / 2 - 1_000L : 100_000L + i;
+            assertEquals(expected.add(id), list.add(id), "add " + id);
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertArrayEquals(toArray(expected), list.toArray());
+        for (long id = -1_500; id < 100_500; id++) {
+            assertEquals(expected.contains(id), list.contains(id), "contains " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 생성(of)은 하나씩 추가한 것과 같고, 연속된 id는 원래 크기(8바이트/건)보다 훨씬 작게 저장된다")
+    void of_compressesSortedIds() {
+        long[] ids = new long[1_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1_000_000L + i * 2L;
+        }
+
+        PostingList list = PostingList.of(ids, ids.length);
+
+        assertArrayEquals(ids, list.toArray());
+        assertTrue(list.contains(1_000_000L));
+        assertTrue(list.contains(1_001_998L));
+        assertFalse(list.contains(1_000_001L));
+        assertFalse(list.contains(999_999L));
+        assertTrue(list.compressedBytes() < ids.length * 8L / 4, "bytes: " + list.compressedBytes());
+    }
+}
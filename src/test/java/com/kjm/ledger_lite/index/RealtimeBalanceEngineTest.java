@@ -0,0 +1,79 @@
+package com.kjm.ledger_lite.index;
+
+import com.kjm.ledger_lite.service.JournalEntryPostedEvent;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * RealtimeBalanceEngineTest
+ *
+ * ✅ 목적
+ * - 여러 스레드가 같은 계정(hot)과 서로 다른 계정에 동시에 더해도 누계가 하나도 빠지지 않는지 검증
+ * - 계정 수가 chunk 크기를 넘어 slot 테이블/누계 배열이 커지는 경우도 포함
+ */
+class RealtimeBalanceEngineTest {
+
+    private final RealtimeBalanceEngine engine = new RealtimeBalanceEngine(mock(JournalEntryStore.class));
+
+    @Test
+    @DisplayName("커밋 이벤트: 차변/대변이 계정별로 더해지고 전표 수가 올라간다")
+    void onPosted_addsDebitAndCredit() {
+        engine.onPosted(new JournalEntryPostedEvent(1L, LocalDate.of(2025, 1, 1), "sale", List.of(
+                new JournalEntryPostedEvent.Line(10L, "DEBIT", 7000),
+                new JournalEntryPostedEvent.Line(20L, "CREDIT", 7000)
+        )));
+
+        assertArrayEquals(new long[]{7000, 0}, engine.totals(10L));
+        assertArrayEquals(new long[]{0, 7000}, engine.totals(20L));
+        assertArrayEquals(new long[]{0, 0}, engine.totals(30L));
+        assertEquals(1, engine.postedEntries());
+    }
+
+    @Test
+    @DisplayName("동시 전기: 8개 스레드가 hot 계정 + 여러 계정에 더해도 합계가 정확하고, 스냅샷은 id 순서")
+    void concurrentPosts_areNotLost() throws Exception {
+        int threads = 8;
+        int postsPerThread = 50_000;
+        int accounts = RealtimeBalanceEngine.CHUNK_SLOTS * 2 + 10; // chunk가 늘어나는 경우 포함
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < postsPerThread; i++) {
+                    engine.post(1L, true, 1);                   // 모든 스레드가 같은 계정(hot)
+                    engine.post(2 + (i % accounts), false, 1);  // 여러 계정에 분산
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals((long) threads * postsPerThread, engine.totals(1L)[0]);
+
+        long[][] snapshot = engine.snapshot();
+        assertEquals(accounts + 1, snapshot.length);
+        long creditTotal = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            assertEquals(i + 1, snapshot[i][0]);
+            creditTotal += snapshot[i][2];
+        }
+        assertEquals((long) threads * postsPerThread, creditTotal);
+    }
+}
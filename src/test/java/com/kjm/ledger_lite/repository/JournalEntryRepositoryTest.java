@@ -0,0 +1,75 @@
+package com.kjm.ledger_lite.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JournalEntryRepositoryTest
+ *
+ * ✅ 목적
+ * - 목록/기간 조회(전표, 전표 요약)와 계정별 라인 조회가 인덱스를 타는지(H2 EXPLAIN 실행계획) 검증
+ * - 인덱스가 빠지거나 entry_date가 다시 문자열로 돌아가면 여기서 깨진다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+
+@Transactional
+class JournalEntryRepositoryTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    @Test
+    @DisplayName("기간 + 키셋 조회는 (entry_date, id) 인덱스를 사용한다")
+    void dateRangeQuery_usesEntryDateIdIndex() {
+        String plan = explain("""
+                SELECT id FROM journal_entry
+                WHERE entry_date BETWEEN DATE '2025-01-01' AND DATE '2025-03-31'
+                ORDER BY entry_date DESC, id DESC
+                LIMIT 51
+                """);
+
+        assertTrue(plan.toUpperCase().contains("IDX_JOURNAL_ENTRY_DATE_ID"), plan);
+    }
+
+    @Test
+    @DisplayName("전표 목록(요약 테이블) 기간 + 키셋 조회는 (entry_date, id) 인덱스를 사용한다")
+    void summaryPageQuery_usesSummaryDateIdIndex() {
+        String plan = explain("""
+                SELECT id, debit_total, credit_total FROM journal_entry_summary
+                WHERE entry_date BETWEEN DATE '2025-01-01' AND DATE '2025-03-31'
+                ORDER BY entry_date DESC, id DESC
+                LIMIT 51
+                """);
+
+        assertTrue(plan.toUpperCase().contains("IDX_JOURNAL_ENTRY_SUMMARY_DATE_ID"), plan);
+    }
+
+    @Test
+    @DisplayName("계정별 라인 조회는 테이블 전체 스캔을 하지 않는다")
+    void linesByAccount_doesNotScanWholeTable() {
+        String plan = explain("SELECT id, amount FROM journal_line WHERE account_id = 1");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountBalanceRepository;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * AccountBalanceServiceTest
+ *
+ * ✅ 목적
+ * - stripe 행이 없는 계정(initAccount를 거치지 않고 들어온 계정)도 첫 전표에서 행이 만들어져 잔액에 반영되는지 검증
+ * - 라인 수 합계는 같고 금액만 어긋난 집계 테이블을 기동 시 정합성 확인(run)이 찾아서 다시 계산하는지 검증
+ *
+ * ✅ 메모
+ * - 집계 테이블을 직접 고쳐야 하므로 이 테스트만 쓰는 메모리 DB(balancedb)를 쓴다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:balancedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+class AccountBalanceServiceTest {
+
+    @Autowired private AccountBalanceService accountBalanceService;
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountBalanceRepository accountBalanceRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("stripe 행 없는 계정의 첫 전표 → 행 생성 / 금액만 어긋난 집계 → run()이 다시 계산")
+    void missingRowsAndAmountDrift_areRepaired() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        // AccountService를 거치지 않고 넣은 계정: stripe 행이 없다
+        Long feeId = tx.execute(status -> accountRepository.save(new Account("5999", "FEE")).getId());
+
+        for (int i = 1; i <= 3; i++) {
+            journalEntryService.create(new JournalEntryCreateRequest(LocalDate.of(2025, 12, i), "fee " + i, List.of(
+                    new JournalEntryCreateRequest.Line("DEBIT", 1000L * i, feeId),
+                    new JournalEntryCreateRequest.Line("CREDIT", 1000L * i, cashId)
+            )));
+        }
+        AccountBalanceResponse fee = accountBalanceService.getBalance(feeId);
+        assertEquals(6000L, fee.debitTotal());
+        assertEquals(3L, fee.lineCount());
+
+        // 라인 수는 그대로, 금액만 어긋나게(수동으로 고친 데이터 흉내)
+        tx.executeWithoutResult(status -> accountBalanceRepository.addDelta(feeId, 0, 500L, 0L, 0L));
+        assertNotEquals(accountBalanceService.trialBalance(null, null).debitTotal(),
+                accountBalanceService.trialBalance().debitTotal());
+
+        accountBalanceService.run(null);
+        assertEquals(6000L, accountBalanceService.getBalance(feeId).debitTotal());
+        assertEquals(accountBalanceService.trialBalance(null, null).debitTotal(),
+                accountBalanceService.trialBalance().debitTotal());
+        assertEquals(accountBalanceService.trialBalance(null, null).creditTotal(),
+                accountBalanceService.trialBalance().creditTotal());
+    }
+}
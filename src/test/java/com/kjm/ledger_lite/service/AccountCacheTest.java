@@ -0,0 +1,111 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.domain.Account;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AccountCacheTest
+ *
+ * ✅ 목적
+ * - 캐시에 없는 id만 모아서 findAllByIdCached를 한 번만 부르고, hit/miss가 메트릭으로 잡히는지 검증
+ * - maxSize를 넘으면 가장 오래 안 쓴 계정부터 빠지는지(LRU) 검증
+ * - DB에 없던 id는 캐시에 남지 않아, 나중에 생성된 계정도 캐시를 비우지 않고 처음 쓸 때 조회되는지 검증
+ * - 계정과목 조회는 AccountRepository mock으로 대신한다(요청한 id 중 99는 DB에 없는 것으로 본다)
+ */
+class AccountCacheTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findAllByIdCached(anyCollection()))
+                .thenAnswer(invocation -> accounts(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("없는 id만 모아 한 번 조회, 다음부터는 hit + 메트릭 반영")
+    void misses_loadedWithSingleRepositoryCall() {
+        AccountCache cache = new AccountCache(accountRepository, registry, 100);
+
+        Map<Long, Account> first = cache.getAll(List.of(1L, 2L, 3L, 1L, 99L));
+        assertEquals(List.of(1L, 2L, 3L), first.keySet().stream().sorted().toList());
+        verify(accountRepository, times(1)).findAllByIdCached(List.of(1L, 2L, 3L, 99L));
+
+        // 캐시에 있는 것만 → DB 조회 없음, 섞여 있으면 없는 것만 조회
+        cache.getAll(List.of(3L, 2L, 1L));
+        cache.getAll(List.of(1L, 4L));
+        verify(accountRepository, times(1)).findAllByIdCached(List.of(4L));
+        verify(accountRepository, times(2)).findAllByIdCached(anyCollection());
+
+        assertEquals(4, cache.hitCount());
+        assertEquals(5, cache.missCount());
+        assertEquals(4.0, registry.get("ledger.account-cache.hits").functionCounter().count());
+        assertEquals(5.0, registry.get("ledger.account-cache.misses").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("maxSize를 넘으면 가장 오래 안 쓴 계정부터 빠진다(LRU)")
+    void overMaxSize_evictsLeastRecentlyUsed() {
+        AccountCache cache = new AccountCache(accountRepository, registry, 2);
+        cache.getAll(List.of(1L));
+        cache.getAll(List.of(2L));
+        cache.getAll(List.of(1L)); // 1을 최근 사용으로 → 가장 오래 안 쓴 건 2
+        cache.getAll(List.of(3L));
+        assertEquals(2, cache.size());
+
+        long missesBefore = cache.missCount();
+        cache.getAll(List.of(1L, 3L));
+        assertEquals(missesBefore, cache.missCount());
+        cache.getAll(List.of(2L));
+        assertEquals(missesBefore + 1, cache.missCount());
+        verify(accountRepository, times(2)).findAllByIdCached(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("DB에 없던 id는 캐시에 남지 않아, 나중에 생성되면 비우지 않아도 처음 쓸 때 조회된다")
+    void missingId_notCached_loadedOnceCreated() {
+        AccountCache cache = new AccountCache(accountRepository, registry, 100);
+        assertEquals(List.of(1L), cache.getAll(List.of(1L, 99L)).keySet().stream().toList());
+        assertEquals(1, cache.size());
+
+        // 99가 새로 생성된 뒤: 1은 캐시 hit, 99만 다시 조회되어 캐시에 들어간다
+        when(accountRepository.findAllByIdCached(List.of(99L))).thenReturn(List.of(account(99L)));
+        assertEquals(List.of(1L, 99L), cache.getAll(List.of(1L, 99L)).keySet().stream().sorted().toList());
+        verify(accountRepository, times(1)).findAllByIdCached(List.of(99L));
+        assertEquals(2, cache.size());
+
+        cache.getAll(List.of(99L));
+        verify(accountRepository, times(1)).findAllByIdCached(List.of(99L));
+    }
+
+    // 요청한 id의 계정과목(99는 DB에 없음)
+    private static List<Account> accounts(Collection<Long> ids) {
+        return ids.stream()
+                .filter(id -> id != 99L)
+                .map(AccountCacheTest::account)
+                .toList();
+    }
+
+    private static Account account(Long id) {
+        Account account = new Account(String.valueOf(1000 + id), "account " + id);
+        ReflectionTestUtils.setField(account, "id", id);
+        return account;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kjm.ledger_lite.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.controller.dto.JournalEntryBulkImportResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JournalEntryBulkImportServiceTest
+ *
+ * ✅ 목적
+ * - 청크 저장 중 DB 오류가 아닌 런타임 예외가 나도 스트림이 끊기지 않고,
+ *   그 청크의 줄만 REJECTED(내부 메시지 없이)로 내려준 뒤 다음 청크를 계속 처리하는지 검증
+ * - 저장은 JournalEntryService mock으로 대신한다(첫 청크는 예외, 다음 청크는 모두 CREATED)
+ */
+class JournalEntryBulkImportServiceTest {
+
+    private final JournalEntryService journalEntryService = mock(JournalEntryService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JournalEntryBulkImportService service = new JournalEntryBulkImportService(
+            journalEntryService, objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    @DisplayName("청크에서 런타임 예외: 그 청크 줄만 REJECTED, 다음 청크는 계속 저장")
+    void unexpectedChunkFailure_rejectsChunkAndContinues() throws Exception {
+        when(journalEntryService.importChunk(anyMap()))
+                .thenThrow(new IllegalStateException("internal detail"))
+                .thenAnswer(invocation -> {
+                    Map<Long, ?> chunk = invocation.getArgument(0);
+                    return chunk.keySet().stream().map(line -> JournalEntryBulkImportResult.created(line, line)).toList();
+                });
+
+        int total = JournalEntryBulkImportService.CHUNK_SIZE + 3;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= total; i++) {
+            ndjson.append("""
+                    {"entryDate":"2025-12-16","description":"bulk %d","lines":[{"dcType":"DEBIT","amount":100,"accountId":1},{"dcType":"CREDIT","amount":100,"accountId":2}]}
+                    """.formatted(i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.importNdjson(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), out);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        assertEquals(total, results.size());
+        for (int i = 0; i < total; i++) {
+            JsonNode result = results.get(i);
+            assertEquals(i + 1, result.get("line").asLong());
+            if (i < JournalEntryBulkImportService.CHUNK_SIZE) {
+                assertEquals("REJECTED", result.get("status").asText());
+                assertEquals("Chunk rolled back: unexpected error", result.get("message").asText());
+            } else {
+                assertEquals("CREATED", result.get("status").asText());
+                assertNull(result.get("message").textValue());
+            }
+        }
+    }
+}
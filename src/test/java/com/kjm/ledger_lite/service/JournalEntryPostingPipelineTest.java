@@ -0,0 +1,197 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.exceiption.PostingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JournalEntryPostingPipelineTest
+ *
+ * ✅ 목적
+ * - group-commit 모드에서 동시에 들어온 요청들이 배치로 묶여 커밋되고, 각자 자기 id를 받는지 검증
+ * - 대기열이 가득 차면 기다리지 않고 PostingOverloadedException(503)으로 거절하는지 검증
+ * - 배치 커밋이 실패하면 1건씩 다시 커밋해서, 실패 원인인 요청만 예외를 받는지 검증
+ * - writer 스레드가 죽으면 기다리던 요청은 실패하고, 이후 요청은 바로 503인지 검증
+ * - 저장은 JournalEntryService mock으로 대신한다(DB 없이 파이프라인 동작만 본다)
+ */
+class JournalEntryPostingPipelineTest {
+
+    private final JournalEntryService journalEntryService = mock(JournalEntryService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private JournalEntryPostingPipeline pipeline;
+
+    private void start(int capacity, int batchSize, long maxWaitMs) {
+        pipeline = new JournalEntryPostingPipeline(journalEntryService, registry,
+                JournalEntryPostingPipeline.MODE_GROUP_COMMIT, capacity, batchSize, maxWaitMs, 5000);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        callers.shutdownNow();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private static JournalEntryCreateRequest entry(String description) {
+        return new JournalEntryCreateRequest(LocalDate.of(2025, 1, 1), description, List.of(
+                new JournalEntryCreateRequest.Line("DEBIT", 1000L, 1L),
+                new JournalEntryCreateRequest.Line("CREDIT", 1000L, 2L)
+        ));
+    }
+
+    @Test
+    @DisplayName("동시 요청 8건은 배치로 묶여 커밋되고, 각 요청은 서로 다른 id를 받는다")
+    void concurrentPosts_areCommittedInBatches() throws Exception {
+        AtomicLong nextId = new AtomicLong(1);
+        when(journalEntryService.postValidated(anyList())).thenAnswer(invocation -> {
+            List<?> reqs = invocation.getArgument(0);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < reqs.size(); i++) {
+                ids.add(nextId.getAndIncrement());
+            }
+            return ids;
+        });
+        start(64, 8, 200);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            JournalEntryCreateRequest req = entry("entry " + i);
+            futures.add(callers.submit(() -> {
+                ready.await();
+                return pipeline.post(req);
+            }));
+        }
+        ready.countDown();
+
+        HashSet<Long> ids = new HashSet<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(8, ids.size());
+        // 8건이 8번 따로 커밋되지 않았다(최소 한 번은 2건 이상이 한 트랜잭션)
+        verify(journalEntryService, atMost(7)).postValidated(anyList());
+        assertEquals(8, (long) registry.get("ledger.posting.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 PostingOverloadedException으로 거절한다")
+    void fullQueue_rejectsImmediately() throws Exception {
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong nextId = new AtomicLong(1);
+        when(journalEntryService.postValidated(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await();
+            return List.of(nextId.getAndIncrement());
+        });
+        start(1, 1, 0);
+
+        // 1건: writer가 꺼내서 커밋 중(멈춤), 2건: 대기열에 남음 → 대기열 가득
+        Future<Long> first = callers.submit(() -> pipeline.post(entry("first")));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        Future<Long> second = callers.submit(() -> pipeline.post(entry("second")));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("ledger.posting.queue.size").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(PostingOverloadedException.class, () -> pipeline.post(entry("third")));
+
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("배치에 잘못된 1건이 섞여 있으면 1건씩 다시 커밋해서 그 요청만 실패한다")
+    void failedBatch_isRetriedOneByOne() throws Exception {
+        AtomicLong nextId = new AtomicLong(1);
+        when(journalEntryService.postValidated(anyList())).thenAnswer(invocation -> {
+            List<JournalEntryCreateRequest> reqs = invocation.getArgument(0);
+            if (reqs.stream().anyMatch(req -> "bad".equals(req.description()))) {
+                throw new IllegalArgumentException("Period is closed through 2025-01-01");
+            }
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < reqs.size(); i++) {
+                ids.add(nextId.getAndIncrement());
+            }
+            return ids;
+        });
+        start(64, 8, 200);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Long>> good = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            JournalEntryCreateRequest req = entry("good " + i);
+            good.add(callers.submit(() -> {
+                ready.await();
+                return pipeline.post(req);
+            }));
+        }
+        Future<Long> bad = callers.submit(() -> {
+            ready.await();
+            return pipeline.post(entry("bad"));
+        });
+        ready.countDown();
+
+        HashSet<Long> ids = new HashSet<>();
+        for (Future<Long> future : good) {
+            ids.add(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(6, ids.size());
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failed.getCause());
+    }
+
+    @Test
+    @DisplayName("writer 스레드가 오류로 죽으면 기다리던 요청은 그 오류를 받고, 이후 요청은 바로 503")
+    void writerDeath_failsWaitingAndLaterPosts() {
+        when(journalEntryService.postValidated(anyList())).thenThrow(new AssertionError("writer bug"));
+        start(16, 4, 0);
+
+        assertThrows(AssertionError.class, () -> pipeline.post(entry("in flight")));
+        assertThrows(PostingOverloadedException.class, () -> pipeline.post(entry("after")));
+    }
+
+    @Test
+    @DisplayName("배치 커밋이 실패하면 요청 스레드가 같은 예외를 받는다")
+    void failedBatch_propagatesToCaller() {
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(journalEntryService.postValidated(anyList())).thenThrow(failure);
+        start(16, 4, 0);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> pipeline.post(entry("fails")));
+        assertSame(failure, thrown);
+    }
+}
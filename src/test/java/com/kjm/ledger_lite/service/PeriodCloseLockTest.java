@@ -0,0 +1,106 @@
+package com.kjm.ledger_lite.service;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.PeriodCloseResponse;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PeriodCloseLockTest
+ *
+ * ✅ 목적
+ * - 검증을 통과한 등록 트랜잭션이 진행 중이면, 마감이 그 트랜잭션이 끝날 때까지 기다리는지 검증
+ *   (기다리지 않으면 마감 기간의 전표가 hot 테이블에 남거나, 마감 뒤에 마감된 날짜로 커밋된다)
+ * - 마감이 커밋된 뒤에는 같은 기간 등록이 400인지 검증
+ *
+ * ✅ 메모
+ * - 트랜잭션을 스레드 2개로 겹쳐야 하므로 테스트 트랜잭션으로 감싸지 않고 이 테스트만 쓰는 메모리 DB(periodlockdb)를 쓴다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:periodlockdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+class PeriodCloseLockTest {
+
+    @Autowired private PeriodCloseService periodCloseService;
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JournalEntryRepository journalEntryRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("마감은 진행 중인 등록 트랜잭션이 끝날 때까지 기다리고, 그 뒤 같은 기간 등록은 400")
+    void close_waitsForInFlightPosting() throws Exception {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        JournalEntryCreateRequest req = new JournalEntryCreateRequest(LocalDate.of(2024, 6, 10), "in flight", List.of(
+                new JournalEntryCreateRequest.Line("DEBIT", 700L, productId),
+                new JournalEntryCreateRequest.Line("CREDIT", 700L, cashId)
+        ));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // ✅ 1. 등록 트랜잭션: 검증 + 저장까지 끝내고 커밋 직전에서 멈춘다
+            Future<Long> posting = pool.submit(() -> tx.execute(status -> {
+                journalEntryService.validate(req);
+                Long id = journalEntryService.postValidated(List.of(req)).get(0);
+                posted.countDown();
+                await(release);
+                return id;
+            }));
+            assertTrue(posted.await(10, TimeUnit.SECONDS));
+
+            // ✅ 2. 마감은 등록이 커밋될 때까지 기다린다
+            Future<PeriodCloseResponse> closing = pool.submit(() -> periodCloseService.close(LocalDate.of(2024, 6, 30)));
+            assertThrows(TimeoutException.class, () -> closing.get(300, TimeUnit.MILLISECONDS));
+            release.countDown();
+            Long id = posting.get(10, TimeUnit.SECONDS);
+
+            // ✅ 3. 커밋된 등록까지 보관 테이블로 옮겨지고, 이후 같은 기간 등록은 400
+            assertEquals(1L, closing.get(10, TimeUnit.SECONDS).archivedEntries());
+            assertTrue(journalEntryRepository.findById(id).isEmpty());
+            assertEquals("in flight", journalEntryService.get(id).description());
+            assertThrows(IllegalArgumentException.class, () -> journalEntryService.create(req));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
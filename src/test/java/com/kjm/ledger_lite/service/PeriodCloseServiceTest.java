@@ -0,0 +1,169 @@
+package com.kjm.ledger_lite.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntryDetailResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryUpdateRequest;
+import com.kjm.ledger_lite.controller.dto.PeriodCloseResponse;
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
+import com.kjm.ledger_lite.index.AccountBalanceAsOfIndex;
+import com.kjm.ledger_lite.repository.AccountBalanceRepository;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.repository.JournalEntryRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import com.kjm.ledger_lite.store.JournalEntryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * PeriodCloseServiceTest
+ *
+ * ✅ 목적
+ * - 마감하면 그 기간의 전표/라인이 hot 테이블에서 빠지고 개시 전표 1건만 남는지 검증
+ * - 마감 전후로 잔액/시산표(차/대 합계, 라인 수 합계)가 그대로인지 검증
+ * - 마감한 전표도 id로 조회되고, 마감된 날짜로는 등록/수정이 400인지 검증
+ * - 두 번째 마감은 앞의 개시 전표까지 옮겨 새 개시 전표로 합치는지 검증
+ * - 마감 직후 메모리 인덱스(기준일 잔액/검색)가 재기동 후와 같고, 원장 마감 잔액이 마감 전과 같은지 검증
+ *
+ * ✅ 메모
+ * - 마감일 기준(closedThrough)은 커밋 후(AFTER_COMMIT)에 반영되므로 테스트 트랜잭션(@Transactional)으로 감싸지 않는다.
+ *   대신 이 테스트만 쓰는 메모리 DB(perioddb)를 쓴다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:perioddb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+class PeriodCloseServiceTest {
+
+    @Autowired private PeriodCloseService periodCloseService;
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private AccountBalanceService accountBalanceService;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountBalanceRepository accountBalanceRepository;
+    @Autowired private JournalEntryRepository journalEntryRepository;
+    @Autowired private JournalLineRepository journalLineRepository;
+    @Autowired private AccountBalanceAsOfIndex accountBalanceAsOfIndex;
+    @Autowired private AccountLedgerService accountLedgerService;
+    @Autowired private JournalEntryStore journalEntryStore;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("마감: hot 테이블은 개시 전표만 남고, 잔액/시산표는 그대로, 마감된 날짜는 등록 불가")
+    void close_archivesPeriodAndKeepsBalances() throws IOException {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        // 2025년 1월 ~ 6월 매월 1건씩 (전표당 2줄)
+        List<Long> ids = new ArrayList<>();
+        for (int month = 1; month <= 6; month++) {
+            ids.add(journalEntryService.create(new JournalEntryCreateRequest(
+                    LocalDate.of(2025, month, 10), "period " + month, List.of(
+                    new JournalEntryCreateRequest.Line("DEBIT", 1000L * month, productId),
+                    new JournalEntryCreateRequest.Line("CREDIT", 1000L * month, cashId)
+            ))));
+        }
+        TrialBalanceResponse before = accountBalanceService.trialBalance();
+        long[] asOfBefore = accountBalanceAsOfIndex.totals(productId, null, LocalDate.of(2025, 4, 30));
+        JsonNode ledgerBefore = ledger(productId, LocalDate.of(2025, 2, 1));
+        assertEquals(6, journalEntryService.search("period", 200).totalHits());
+        long entriesBefore = journalEntryRepository.count();
+        long linesBefore = journalLineRepository.count();
+
+        // ✅ 1. 3월 말까지 마감: 1 ~ 3월 전표(3건, 6줄) → 보관, 개시 전표 1건(2줄)
+        PeriodCloseResponse first = periodCloseService.close(LocalDate.of(2025, 3, 31));
+        assertEquals(3L, first.archivedEntries());
+        assertEquals(6L, first.archivedLines());
+        assertEquals(entriesBefore - 3 + 1, journalEntryRepository.count());
+        assertEquals(linesBefore - 6 + 2, journalLineRepository.count());
+        assertEquals(journalLineRepository.count(), accountBalanceRepository.sumLineCount());
+        assertBalancesUnchanged(before, accountBalanceService.trialBalance());
+        assertEquals(before.debitTotal(),
+                accountBalanceService.trialBalance(null, null).debitTotal());
+
+        // 메모리 인덱스: 마감일 이후 기준일 잔액/원장 마감 잔액은 그대로, 재기동해서 다시 읽은 인덱스와도 같다
+        assertArrayEquals(asOfBefore, accountBalanceAsOfIndex.totals(productId, null, LocalDate.of(2025, 4, 30)));
+        AccountBalanceAsOfIndex reloaded = new AccountBalanceAsOfIndex(journalEntryStore);
+        reloaded.afterSingletonsInstantiated();
+        for (LocalDate day = LocalDate.of(2025, 1, 1); day.isBefore(LocalDate.of(2025, 7, 1)); day = day.plusDays(1)) {
+            assertArrayEquals(reloaded.totals(productId, null, day), accountBalanceAsOfIndex.totals(productId, null, day));
+            assertArrayEquals(reloaded.totals(cashId, null, day), accountBalanceAsOfIndex.totals(cashId, null, day));
+        }
+        JsonNode ledgerAfter = ledger(productId, LocalDate.of(2025, 2, 1));
+        assertEquals(ledgerBefore.get("closingBalance").asLong(), ledgerAfter.get("closingBalance").asLong());
+        assertEquals(0L, ledgerAfter.get("openingBalance").asLong());
+        // 검색: 보관으로 옮긴 전표는 빠지고 개시 전표가 들어간다
+        assertEquals(3, journalEntryService.search("period", 200).totalHits());
+        assertEquals(List.of(first.openingEntryId()), journalEntryService.search("opening", 200).items().stream()
+                .map(JournalEntrySummaryResponse::id).toList());
+
+        JournalEntryDetailResponse opening = journalEntryService.get(first.openingEntryId());
+        assertEquals(LocalDate.of(2025, 3, 31), opening.entryDate());
+        assertEquals(2, opening.lines().size());
+
+        // 마감한 전표도 id로 조회된다(보관 테이블)
+        JournalEntryDetailResponse archived = journalEntryService.get(ids.get(0));
+        assertEquals("period 1", archived.description());
+        assertEquals(2, archived.lines().size());
+        journalEntryService.getVersion(ids.get(0));
+
+        // ✅ 2. 마감된 날짜로 등록/수정, 같은 날짜 재마감은 400
+        assertThrows(IllegalArgumentException.class, () -> journalEntryService.create(new JournalEntryCreateRequest(
+                LocalDate.of(2025, 3, 31), "late", List.of(
+                new JournalEntryCreateRequest.Line("DEBIT", 500L, productId),
+                new JournalEntryCreateRequest.Line("CREDIT", 500L, cashId)
+        ))));
+        assertThrows(IllegalArgumentException.class,
+                () -> journalEntryService.updateDescription(ids.get(0), new JournalEntryUpdateRequest("changed")));
+        assertThrows(IllegalArgumentException.class, () -> periodCloseService.close(LocalDate.of(2025, 3, 31)));
+
+        // ✅ 3. 5월 말까지 마감: 4 ~ 5월 전표 + 앞의 개시 전표가 새 개시 전표 1건으로 합쳐진다
+        PeriodCloseResponse second = periodCloseService.close(LocalDate.of(2025, 5, 31));
+        assertEquals(3L, second.archivedEntries());
+        assertEquals(entriesBefore - 5 + 1, journalEntryRepository.count());
+        assertEquals(journalLineRepository.count(), accountBalanceRepository.sumLineCount());
+        assertBalancesUnchanged(before, accountBalanceService.trialBalance());
+        assertEquals(LocalDate.of(2025, 3, 31), journalEntryService.get(first.openingEntryId()).entryDate());
+
+        // 옮길 전표가 없는 기간도 마감은 되고, 개시 전표는 만들지 않는다
+        assertNull(periodCloseService.close(LocalDate.of(2025, 6, 1)).openingEntryId());
+    }
+
+    // 원장 JSON (to 생략 = 끝까지)
+    private JsonNode ledger(Long accountId, LocalDate from) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountLedgerService.writeLedger(accountId, from, null, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    // 계정별 차/대 합계는 마감 전과 같아야 한다(라인 수는 개시 전표 기준으로 줄어듦)
+    private static void assertBalancesUnchanged(TrialBalanceResponse expected, TrialBalanceResponse actual) {
+        assertEquals(expected.debitTotal(), actual.debitTotal());
+        assertEquals(expected.creditTotal(), actual.creditTotal());
+        assertEquals(
+                expected.accounts().stream().map(a -> List.of(a.accountId(), a.debitTotal(), a.creditTotal())).toList(),
+                actual.accounts().stream().map(a -> List.of(a.accountId(), a.debitTotal(), a.creditTotal())).toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.kjm.ledger_lite.snapshot;
+
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ColumnarLineFileTest
+ *
+ * ✅ 목적
+ * - 열 단위 라인 파일에 쓴 값이 그대로 읽히는지(varint/사전/bit packing 왕복) 검증
+ * - 기간/계정 조건으로 row group을 통계 → 사전 순으로 건너뛰는지(predicate pushdown) 검증
+ * - 본문이 깨진 파일은 CRC로 거절하는지 검증
+ */
+class ColumnarLineFileTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final long BIG = 1_000_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private final List<long[]> written = new ArrayList<>();
+
+    // row group 4행씩: [1/1 ~ 1/4 계정 1, 2], [1/5 ~ 1/8 계정 1, 2], [1/9 ~ 1/10 계정 1, 3]
+    @BeforeEach
+    void write() {
+        file = dir.resolve("lines.lcol");
+        try (ColumnarLineWriter writer = new ColumnarLineWriter(file, 4)) {
+            for (int i = 0; i < 8; i++) {
+                add(writer, i, i % 2 == 0 ? 1L : 2L, i % 2 == 0 ? "DEBIT" : "CREDIT", 100L * (i / 2 + 1));
+            }
+            add(writer, 8, 1L, "DEBIT", BIG);
+            add(writer, 9, 3L, "CREDIT", BIG - 1);
+            add(writer, 9, 3L, "CREDIT", 1L);
+            assertEquals(11, writer.rowCount());
+        }
+    }
+
+    private void add(ColumnarLineWriter writer, int day, long accountId, String dcType, long amount) {
+        writer.add(JAN_1.plusDays(day), accountId, dcType, amount);
+        written.add(new long[]{JAN_1.plusDays(day).toEpochDay(), accountId, "DEBIT".equals(dcType) ? 1 : 0, amount});
+    }
+
+    @Test
+    @DisplayName("쓴 순서 그대로 날짜/계정/차대/금액이 읽히고, 계정별 합계가 맞다")
+    void scan_roundTripsAllColumns() {
+        List<long[]> read = new ArrayList<>();
+        ColumnarLineScanner.ScanStats stats = ColumnarLineScanner.scan(file, ColumnarLineScanner.ScanFilter.all(),
+                (epochDay, accountId, debit, amount) -> read.add(new long[]{epochDay, accountId, debit ? 1 : 0, amount}));
+
+        assertEquals(new ColumnarLineScanner.ScanStats(3, 0, 11), stats);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(List.of(written.get(i)[0], written.get(i)[1], written.get(i)[2], written.get(i)[3]),
+                    List.of(read.get(i)[0], read.get(i)[1], read.get(i)[2], read.get(i)[3]));
+        }
+
+        assertEquals(List.of(
+                new AccountLineTotals(1L, BIG + 1_000, 0, 5),
+                new AccountLineTotals(2L, 0, 1_000, 4),
+                new AccountLineTotals(3L, 0, BIG, 2)
+        ), ColumnarLineScanner.sumByAccount(file, ColumnarLineScanner.ScanFilter.all()));
+    }
+
+    @Test
+    @DisplayName("기간 조건: 일자 범위가 겹치지 않는 row group은 본문을 읽지 않는다")
+    void scan_skipsRowGroupsByDateStats() {
+        ColumnarLineScanner.ScanFilter filter = new ColumnarLineScanner.ScanFilter(
+                JAN_1.plusDays(4), JAN_1.plusDays(7), null);
+
+        assertEquals(new ColumnarLineScanner.ScanStats(3, 2, 4),
+                ColumnarLineScanner.scan(file, filter, (epochDay, accountId, debit, amount) -> {}));
+        assertEquals(List.of(
+                new AccountLineTotals(1L, 700, 0, 2),
+                new AccountLineTotals(2L, 0, 700, 2)
+        ), ColumnarLineScanner.sumByAccount(file, filter));
+    }
+
+    @Test
+    @DisplayName("계정 조건: 최소/최대 계정 id, 계정 사전 순으로 건너뛰고 남은 행만 확인한다")
+    void scan_skipsRowGroupsByAccount() {
+        // 마지막 row group은 계정 1 ~ 3 범위라 통계로는 못 거르고, 사전(1, 3)을 보고 건너뛴다
+        assertEquals(new ColumnarLineScanner.ScanStats(3, 1, 4), ColumnarLineScanner.scan(file,
+                new ColumnarLineScanner.ScanFilter(null, null, Set.of(2L)), (epochDay, accountId, debit, amount) -> {}));
+
+        assertEquals(new ColumnarLineScanner.ScanStats(3, 1, 3), ColumnarLineScanner.scan(file,
+                new ColumnarLineScanner.ScanFilter(JAN_1.plusDays(2), null, Set.of(2L)), (epochDay, accountId, debit, amount) -> {}));
+
+        assertEquals(new ColumnarLineScanner.ScanStats(3, 3, 0), ColumnarLineScanner.scan(file,
+                new ColumnarLineScanner.ScanFilter(null, null, Set.of(5L)), (epochDay, accountId, debit, amount) -> {}));
+    }
+
+    @Test
+    @DisplayName("본문 1바이트가 바뀌면 CRC 불일치로 거절, from > to 조건은 400 대상(IllegalArgumentException)")
+    void scan_rejectsCorruptedFileAndInvalidPeriod() throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long offset = 8 + ColumnarLineWriter.GROUP_HEADER_BYTES;
+            raf.seek(offset);
+            int b = raf.read();
+            raf.seek(offset);
+            raf.write(b ^ 0xFF);
+        }
+        assertThrows(IllegalStateException.class,
+                () -> ColumnarLineScanner.sumByAccount(file, ColumnarLineScanner.ScanFilter.all()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnarLineScanner.ScanFilter(JAN_1.plusDays(1), JAN_1, null));
+    }
+}
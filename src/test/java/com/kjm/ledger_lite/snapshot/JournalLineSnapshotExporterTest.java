@@ -0,0 +1,85 @@
+package com.kjm.ledger_lite.snapshot;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import com.kjm.ledger_lite.service.JournalEntryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JournalLineSnapshotExporterTest
+ *
+ * ✅ 목적
+ * - 저장소의 라인 전체가 스냅샷 파일로 빠짐없이 내보내지고,
+ *   파일만 읽은 계정별 합계가 DB group by 결과와 같은지 검증
+ *
+ * ✅ 메모
+ * - export()는 호출한 스레드에서 돌므로 테스트 트랜잭션 안의 전표도 보인다(끝나면 롤백)
+ * - 파일은 build/ 아래 테스트 전용 디렉터리에 쓴다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshotdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "ledger.snapshot.dir=build/test-snapshots",
+        "ledger.snapshot.row-group-size=4"
+})
+@Transactional
+class JournalLineSnapshotExporterTest {
+
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private JournalLineSnapshotExporter journalLineSnapshotExporter;
+    @Autowired private JournalLineRepository journalLineRepository;
+    @Autowired private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("내보낸 파일의 계정별 합계 = DB 집계, 기간 조건은 파일 통계로 거른다")
+    void export_writesAllLines() {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        for (int month = 1; month <= 6; month++) {
+            journalEntryService.create(new JournalEntryCreateRequest(
+                    LocalDate.of(2025, month, 10), "snapshot " + month, List.of(
+                    new JournalEntryCreateRequest.Line("DEBIT", 1000L * month, productId),
+                    new JournalEntryCreateRequest.Line("CREDIT", 1000L * month, cashId)
+            )));
+        }
+
+        Path file = journalLineSnapshotExporter.export();
+        assertEquals(file, journalLineSnapshotExporter.latest().orElseThrow());
+
+        List<AccountLineTotals> expected = journalLineRepository.sumByAccount().stream()
+                .sorted(Comparator.comparing(AccountLineTotals::accountId))
+                .toList();
+        assertEquals(expected, ColumnarLineScanner.sumByAccount(file, ColumnarLineScanner.ScanFilter.all()));
+
+        // ✅ 3월 ~ 4월, 상품 계정만
+        ColumnarLineScanner.ScanFilter filter = new ColumnarLineScanner.ScanFilter(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 30), Set.of(productId));
+        assertEquals(List.of(new AccountLineTotals(productId, 7_000L, 0L, 2L)),
+                ColumnarLineScanner.sumByAccount(file, filter));
+        ColumnarLineScanner.ScanStats stats = ColumnarLineScanner.scan(file, filter, (epochDay, accountId, debit, amount) -> {});
+        assertTrue(stats.rowGroupsSkipped() > 0);
+    }
+}
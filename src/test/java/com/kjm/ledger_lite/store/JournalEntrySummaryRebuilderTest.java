@@ -0,0 +1,96 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.service.JournalEntryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JournalEntrySummaryRebuilderTest
+ *
+ * ✅ 목적
+ * - 요약 행이 빠졌을 때 빠진 것만 채우기(기동 시 자동 경로)가 기존 행을 지우지 않고 목록을 원래대로 되돌리는지 검증
+ * - 요약 테이블이 지워지거나 틀어져도 JournalLine 기준 재생성(여러 구간 / 여러 스레드) 후
+ *   목록이 원래와 똑같이 나오는지 검증
+ *
+ * ✅ 메모
+ * - 재생성은 구간마다 별도 트랜잭션(다른 스레드)으로 돌기 때문에 테스트 트랜잭션(@Transactional)으로 감싸지 않는다.
+ *   대신 이 테스트만 쓰는 메모리 DB(summarydb)를 써서 다른 테스트 데이터와 섞이지 않게 한다.
+ * - chunk-size=2, threads=3으로 전표 7건을 4개 구간으로 나눠 병렬로 채운다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summarydb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "ledger.journal-summary.rebuild.chunk-size=2",
+        "ledger.journal-summary.rebuild.threads=3"
+})
+class JournalEntrySummaryRebuilderTest {
+
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private JournalEntrySummaryRebuilder journalEntrySummaryRebuilder;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("요약 행이 빠지거나 틀어져도 재생성하면 목록이 저장 시점과 같아진다")
+    void rebuild_restoresSummariesFromLines() {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        for (int i = 0; i < 7; i++) {
+            long amount = 1000L * (i + 1);
+            journalEntryService.create(new JournalEntryCreateRequest(
+                    LocalDate.of(2025, 3, 1).plusDays(i), "rebuild " + i, List.of(
+                    new JournalEntryCreateRequest.Line("DEBIT", amount, productId),
+                    new JournalEntryCreateRequest.Line("DEBIT", 500L, productId),
+                    new JournalEntryCreateRequest.Line("CREDIT", amount + 500L, cashId)
+            )));
+        }
+        List<JournalEntrySummaryResponse> expected = journalEntryService.listSummaries(200, null, null, null).items();
+        assertEquals(7, expected.size());
+        assertTrue(journalEntrySummaryRebuilder.inSync());
+
+        // ✅ 1. 요약 2건 삭제 → 빠진 2건만 채운다(나머지 5건은 지워지지 않음)
+        jdbcTemplate.update("DELETE FROM journal_entry_summary WHERE id IN (?, ?)",
+                expected.get(0).id(), expected.get(3).id());
+        assertFalse(journalEntrySummaryRebuilder.inSync());
+        jdbcTemplate.update("UPDATE journal_entry_summary SET description = 'kept' WHERE id = ?", expected.get(1).id());
+        assertEquals(2L, journalEntrySummaryRebuilder.fillMissing());
+        assertTrue(journalEntrySummaryRebuilder.inSync());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM journal_entry_summary WHERE description = 'kept'", Integer.class));
+        jdbcTemplate.update("UPDATE journal_entry_summary SET description = ? WHERE id = ?",
+                expected.get(1).description(), expected.get(1).id());
+        assertEquals(expected, journalEntryService.listSummaries(200, null, null, null).items());
+
+        // ✅ 2. 요약 2건 삭제 + 나머지 합계를 망가뜨린다 → 전체 재생성
+        jdbcTemplate.update("DELETE FROM journal_entry_summary WHERE id IN (?, ?)",
+                expected.get(0).id(), expected.get(3).id());
+        jdbcTemplate.update("UPDATE journal_entry_summary SET debit_total = 0, description = 'broken'");
+        assertFalse(journalEntrySummaryRebuilder.inSync());
+
+        assertEquals(7L, journalEntrySummaryRebuilder.rebuild());
+
+        assertTrue(journalEntrySummaryRebuilder.inSync());
+        assertEquals(expected, journalEntryService.listSummaries(200, null, null, null).items());
+    }
+}
@@ -0,0 +1,241 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.JournalEntrySummaryResponse;
+import com.kjm.ledger_lite.exceiption.FeatureNotSupportedException;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * MappedFileJournalEntryStoreTest
+ *
+ * ✅ 목적
+ * - 메모리 매핑 저널 엔진이 세그먼트를 넘겨 가며 쓰고, 다시 열었을 때 같은 상태로 복구되는지 검증
+ * - 마지막 레코드가 깨진 경우(쓰다가 죽음) 그 레코드만 버리고 이어 쓰는지 검증
+ * - 트랜잭션이 롤백되면 쓴 전표가 조회에도, 다시 연 뒤에도 보이지 않는지 검증
+ * - 기간 마감용 보관 이동은 FeatureNotSupportedException(501)인지 검증
+ * - 계정과목 이름은 DB에서 읽으므로 AccountRepository는 mock(빈 결과)으로 둔다.
+ */
+class MappedFileJournalEntryStoreTest {
+
+    // 작은 세그먼트로 roll이 여러 번 일어나게 한다
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+
+    private MappedFileJournalEntryStore open() {
+        return new MappedFileJournalEntryStore(dir, SEGMENT_SIZE, accountRepository);
+    }
+
+    private static JournalEntryCreateRequest entry(LocalDate date, String description, long amount) {
+        return new JournalEntryCreateRequest(date, description, List.of(
+                new JournalEntryCreateRequest.Line("DEBIT", amount, 1L),
+                new JournalEntryCreateRequest.Line("CREDIT", amount, 2L)
+        ));
+    }
+
+    @Test
+    @DisplayName("저장 후 다시 열면 전표/적요 수정(버전)/라인 수가 그대로 복구되고 id가 이어진다")
+    void reopen_recoversEntriesAndDescriptions() {
+        MappedFileJournalEntryStore store = open();
+        for (int i = 0; i < 200; i++) {
+            store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1).plusDays(i % 30), "entry " + i, 100 + i)));
+        }
+        assertTrue(store.updateDescription(5L, "changed"));
+        assertFalse(store.updateDescription(9999L, "missing"));
+        store.close();
+
+        MappedFileJournalEntryStore reopened = open();
+        assertEquals(400, reopened.lineCount());
+        assertEquals("changed", reopened.findDetail(5L).orElseThrow().description());
+        assertEquals(1, reopened.findDetail(5L).orElseThrow().version());
+        assertEquals(0L, reopened.findVersion(6L).orElseThrow());
+        assertEquals(2, reopened.findDetail(5L).orElseThrow().lines().size());
+        assertEquals(201L, reopened.appendAll(List.of(entry(LocalDate.of(2025, 2, 1), "next", 1))).get(0));
+    }
+
+    @Test
+    @DisplayName("요약 목록: 커서로 끝까지 넘기면 (날짜 desc, id desc) 순서로 전부, 기간 조건은 양 끝 포함")
+    void findSummaries_keysetPagingAndDateRange() {
+        MappedFileJournalEntryStore store = open();
+        for (int i = 0; i < 50; i++) {
+            store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1).plusDays(i % 10), "entry " + i, 100)));
+        }
+
+        List<JournalEntrySummaryResponse> all = new ArrayList<>();
+        LocalDate afterDate = null;
+        Long afterId = null;
+        while (true) {
+            List<JournalEntrySummaryResponse> page = store.findSummaries(
+                    LocalDate.MIN, LocalDate.MAX, afterDate, afterId, 7);
+            all.addAll(page);
+            if (page.size() < 7) {
+                break;
+            }
+            afterDate = page.get(6).entryDate();
+            afterId = page.get(6).id();
+        }
+        assertEquals(50, all.size());
+        List<JournalEntrySummaryResponse> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparing(JournalEntrySummaryResponse::entryDate)
+                .thenComparing(JournalEntrySummaryResponse::id).reversed());
+        assertEquals(sorted, all);
+
+        List<JournalEntrySummaryResponse> range = store.findSummaries(
+                LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 4), null, null, 100);
+        assertEquals(10, range.size());
+    }
+
+    @Test
+    @DisplayName("기간 마감(보관 이동)은 지원하지 않는다: 501로 매핑되는 FeatureNotSupportedException")
+    void archiveThrough_isNotSupported() {
+        MappedFileJournalEntryStore store = open();
+        assertThrows(FeatureNotSupportedException.class, () -> store.archiveThrough(LocalDate.of(2025, 1, 31)));
+        store.close();
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 깨져 있으면 그 레코드만 버리고 같은 자리부터 이어 쓴다")
+    void tornTail_isTruncatedOnRecovery() throws Exception {
+        MappedFileJournalEntryStore store = open();
+        store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1), "kept", 100)));
+        long tornId = store.appendAll(List.of(entry(LocalDate.of(2025, 1, 2), "torn", 200))).get(0);
+        store.close();
+
+        // 마지막 세그먼트의 마지막 데이터 바이트를 뒤집어 CRC가 안 맞게 만든다
+        Path last;
+        try (Stream<Path> files = Files.list(dir)) {
+            last = files.max(Comparator.naturalOrder()).orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(last);
+        int end = bytes.length - 1;
+        while (bytes[end] == 0) {
+            end--;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            file.seek(end);
+            file.write(bytes[end] ^ 0x5A);
+        }
+
+        MappedFileJournalEntryStore recovered = open();
+        assertTrue(recovered.findDetail(tornId).isEmpty());
+        assertEquals(2, recovered.lineCount());
+        assertEquals(tornId, recovered.appendAll(List.of(entry(LocalDate.of(2025, 1, 3), "again", 300))).get(0));
+        recovered.close();
+
+        assertEquals("again", open().findDetail(tornId).orElseThrow().description());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 롤백: 쓴 전표는 커밋 전에도 후에도 안 보이고, 다시 열어도 복구되지 않는다")
+    void rollback_entryIsGoneAfterRecovery() {
+        MappedFileJournalEntryStore store = open();
+        long keptId = store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1), "kept", 100))).get(0);
+
+        // appendAll 뒤에 트랜잭션이 롤백되는 상황(잔액 집계 갱신 실패 등)을 흉내 낸다
+        TransactionSynchronizationManager.initSynchronization();
+        List<Long> rolledBack;
+        try {
+            rolledBack = store.appendAll(List.of(
+                    entry(LocalDate.of(2025, 1, 2), "rolled back 1", 200),
+                    entry(LocalDate.of(2025, 1, 3), "rolled back 2", 300)));
+            assertTrue(store.findDetail(rolledBack.get(0)).isEmpty());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(store.findDetail(rolledBack.get(1)).isEmpty());
+        assertEquals(2, store.lineCount());
+        store.close();
+
+        MappedFileJournalEntryStore reopened = open();
+        for (Long id : rolledBack) {
+            assertTrue(reopened.findDetail(id).isEmpty());
+        }
+        assertEquals(2, reopened.lineCount());
+        assertEquals(List.of(keptId), reopened.findSummaries(LocalDate.MIN, LocalDate.MAX, null, null, 10)
+                .stream().map(JournalEntrySummaryResponse::id).toList());
+        // 롤백된 id는 다시 쓰지 않는다
+        assertEquals(rolledBack.get(1) + 1, reopened.appendAll(List.of(entry(LocalDate.of(2025, 1, 4), "next", 1))).get(0));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 커밋: afterCommit에서야 조회에 보인다")
+    void commit_entryVisibleAfterCommit() {
+        MappedFileJournalEntryStore store = open();
+        TransactionSynchronizationManager.initSynchronization();
+        long id;
+        try {
+            id = store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1), "committed", 100))).get(0);
+            assertTrue(store.findDetail(id).isEmpty());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals("committed", store.findDetail(id).orElseThrow().description());
+        store.close();
+        assertEquals("committed", open().findDetail(id).orElseThrow().description());
+    }
+
+    @Test
+    @DisplayName("적요 동시 수정: 메모리 상태가 저널 순서(마지막 수정)와 같고 버전은 수정 횟수만큼만 오른다")
+    void concurrentDescriptionUpdates_applyInJournalOrder() throws Exception {
+        MappedFileJournalEntryStore store = open();
+        long id = store.appendAll(List.of(entry(LocalDate.of(2025, 1, 1), "original", 100))).get(0);
+
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    store.updateDescription(id, "t" + thread + "-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        String inMemory = store.findDetail(id).orElseThrow().description();
+        assertEquals((long) threads * perThread, store.findVersion(id).orElseThrow());
+        assertEquals(inMemory, store.findSummaries(LocalDate.MIN, LocalDate.MAX, null, null, 1).get(0).description());
+        store.close();
+
+        MappedFileJournalEntryStore reopened = open();
+        assertEquals(inMemory, reopened.findDetail(id).orElseThrow().description());
+        assertEquals((long) threads * perThread, reopened.findVersion(id).orElseThrow());
+    }
+}
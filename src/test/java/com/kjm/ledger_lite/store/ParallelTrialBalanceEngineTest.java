@@ -0,0 +1,143 @@
+package com.kjm.ledger_lite.store;
+
+import com.kjm.ledger_lite.controller.dto.AccountBalanceResponse;
+import com.kjm.ledger_lite.controller.dto.JournalEntryCreateRequest;
+import com.kjm.ledger_lite.controller.dto.TrialBalanceResponse;
+import com.kjm.ledger_lite.repository.AccountLineTotals;
+import com.kjm.ledger_lite.repository.AccountRepository;
+import com.kjm.ledger_lite.repository.JournalLineRepository;
+import com.kjm.ledger_lite.service.AccountBalanceService;
+import com.kjm.ledger_lite.service.JournalEntryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ParallelTrialBalanceEngineTest
+ *
+ * ✅ 목적
+ * - 전표 id 구간을 여러 스레드로 나눠 집계하고 fork/join으로 합친 결과가
+ *   한 번에 집계(group by)한 결과와 같은지, 기간 조건이 맞게 걸리는지 검증
+ * - 집계 도중 전표가 계속 커밋돼도 전표가 반쪽만 잡히지 않아 차/대 총계가 항상 같은지 검증
+ *
+ * ✅ 메모
+ * - 구간마다 별도 트랜잭션(다른 스레드)으로 읽기 때문에 테스트 트랜잭션(@Transactional)으로 감싸지 않는다.
+ *   대신 이 테스트만 쓰는 메모리 DB(trialbalancedb)를 써서 다른 테스트 데이터와 섞이지 않게 한다.
+ * - segment-size=3, threads=3으로 전표 6건(라인 18줄)을 여러 구간으로 나눠 병렬로 읽는다.
+ * - 동시 등록 테스트는 2026년 날짜만 써서 2025년 기간 검증과 섞이지 않게 한다.
+ */
+@SpringBootTest
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:trialbalancedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "ledger.trial-balance.segment-size=3",
+        "ledger.trial-balance.threads=3"
+})
+class ParallelTrialBalanceEngineTest {
+
+    @Autowired private JournalEntryService journalEntryService;
+    @Autowired private ParallelTrialBalanceEngine parallelTrialBalanceEngine;
+    @Autowired private JournalLineRepository journalLineRepository;
+    @Autowired private AccountBalanceService accountBalanceService;
+    @Autowired private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("구간별 병렬 집계 = 전체 group by, 기간 조건은 전표일자 기준(둘 다 포함)")
+    void sumByAccount_matchesSingleQuery_andFiltersPeriod() {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        // 1월 1일 ~ 6월 1일 매월 1건씩, 전표당 3줄
+        for (int month = 1; month <= 6; month++) {
+            long amount = 1000L * month;
+            journalEntryService.create(new JournalEntryCreateRequest(
+                    LocalDate.of(2025, month, 1), "trial " + month, List.of(
+                    new JournalEntryCreateRequest.Line("DEBIT", amount, productId),
+                    new JournalEntryCreateRequest.Line("DEBIT", 100L, productId),
+                    new JournalEntryCreateRequest.Line("CREDIT", amount + 100L, cashId)
+            )));
+        }
+
+        List<AccountLineTotals> expected = journalLineRepository.sumByAccount().stream()
+                .sorted(Comparator.comparing(AccountLineTotals::accountId))
+                .toList();
+        assertEquals(expected,
+                parallelTrialBalanceEngine.sumByAccount(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+
+        // ✅ 2월 1일 ~ 4월 1일: 2, 3, 4월 전표
+        List<AccountLineTotals> period = parallelTrialBalanceEngine.sumByAccount(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1));
+        AccountLineTotals cash = period.stream().filter(t -> t.accountId().equals(cashId)).findFirst().orElseThrow();
+        AccountLineTotals product = period.stream().filter(t -> t.accountId().equals(productId)).findFirst().orElseThrow();
+        assertEquals(new AccountLineTotals(cashId, 0L, 9_300L, 3L), cash);
+        assertEquals(new AccountLineTotals(productId, 9_300L, 0L, 6L), product);
+
+        TrialBalanceResponse trial = accountBalanceService.trialBalance(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1));
+        assertEquals(List.of("1000", "1111"), trial.accounts().stream().map(AccountBalanceResponse::accountCode).toList());
+        assertEquals(9_300L, trial.debitTotal());
+        assertEquals(trial.debitTotal(), trial.creditTotal());
+
+        assertEquals(List.of(), parallelTrialBalanceEngine.sumByAccount(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("집계 도중 전표가 커밋돼도 차변 총계 = 대변 총계")
+    void concurrentPostings_totalsStayBalanced() throws Exception {
+        Long cashId = accountRepository.findByCode("1000").orElseThrow().getId();
+        Long productId = accountRepository.findByCode("1111").orElseThrow().getId();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+
+        ExecutorService poster = Executors.newSingleThreadExecutor();
+        try {
+            // 전표당 4줄(차변 2줄이 서로 다른 구간에 걸치기 쉬움)
+            Future<?> posting = poster.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    long amount = 100L + i;
+                    journalEntryService.create(new JournalEntryCreateRequest(
+                            LocalDate.of(2026, 1 + i % 12, 1), "concurrent " + i, List.of(
+                            new JournalEntryCreateRequest.Line("DEBIT", amount, productId),
+                            new JournalEntryCreateRequest.Line("DEBIT", 7L, cashId),
+                            new JournalEntryCreateRequest.Line("CREDIT", 7L, productId),
+                            new JournalEntryCreateRequest.Line("CREDIT", amount, cashId)
+                    )));
+                }
+            });
+            int reports = 0;
+            while (!posting.isDone() || reports == 0) {
+                long debit = 0L;
+                long credit = 0L;
+                for (AccountLineTotals t : parallelTrialBalanceEngine.sumByAccount(from, to)) {
+                    debit += t.debitTotal();
+                    credit += t.creditTotal();
+                }
+                assertEquals(debit, credit, "report #" + reports);
+                reports++;
+            }
+            posting.get(1, TimeUnit.MINUTES);
+        } finally {
+            poster.shutdownNow();
+        }
+
+        // 다 끝난 뒤에는 200건 전부
+        long lines = parallelTrialBalanceEngine.sumByAccount(from, to).stream().mapToLong(AccountLineTotals::lineCount).sum();
+        assertEquals(800L, lines);
+    }
+}